@@ -0,0 +1,88 @@
+package ui.ft.ccit.faculty.transaksi.datagen;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Generator data sintetis skala produksi untuk skema db/penjualan.sql (lihat PenjualanData).
+// Jalankan lewat profile maven: mvn verify -Pdatagen -Ddatagen.args="--replace --transaksi=1500000 --items=12"
+// Argumen (semua opsional):
+//   --seed=42                  seed yang sama = data yang sama
+//   --jenis, --pemasok, --karyawan, --pelanggan, --barang, --transaksi   jumlah baris
+//   --items=10                 rata-rata item per transaksi (detail_transaksi = transaksi x items)
+//   --grosir=0.15              porsi pelanggan jenis G
+//   --zipf=1.0                 kemiringan popularitas barang (0 = rata)
+//   --from=2023-01-01 --to=2025-12-31   rentang tgl_transaksi
+//   --mode=batch|load-data|tsv  INSERT batch, LOAD DATA LOCAL INFILE, atau hanya tulis file TSV ke --out
+//   --url, --user, --password  koneksi (default sama dengan profile local)
+//   --replace                  wajib kalau tabel sudah berisi (mis. data contoh): seluruh isinya diganti
+// Setelah load, restart aplikasi: cache jumlah baris / versi tabel tidak tahu ada perubahan di luar API.
+public class DataGenerator {
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        PenjualanData data = new PenjualanData(options);
+        long start = System.nanoTime();
+
+        if (options.mode.equals("tsv")) {
+            try (TsvSink sink = new TsvSink(Path.of(options.out))) {
+                data.generate(sink);
+            }
+            System.out.printf("[datagen] file TSV + load.sql di %s%n", Path.of(options.out).toAbsolutePath());
+        } else {
+            String url = options.url;
+            if (options.mode.equals("load-data") && !url.contains("allowLoadLocalInfile")) {
+                url = url + (url.contains("?") ? "&" : "?") + "allowLoadLocalInfile=true";
+            }
+            try (Connection connection = DriverManager.getConnection(url, options.user, options.password)) {
+                prepare(connection, options.replace);
+                try (RowSink sink = options.mode.equals("batch")
+                        ? new JdbcBatchSink(connection, options.batchSize)
+                        : new LoadDataSink(connection, options.chunkRows)) {
+                    data.generate(sink);
+                }
+                finish(connection);
+            }
+        }
+        System.out.printf("[datagen] selesai dalam %.1f s (seed %d)%n", (System.nanoTime() - start) / 1e9, options.seed);
+    }
+
+    // cek/kosongkan tabel; FK dan unique check dimatikan selama load karena data sudah konsisten
+    // dari generator (semua referensi menunjuk baris yang dibuat di run yang sama)
+    private static void prepare(Connection connection, boolean replace) throws SQLException {
+        Table[] tables = Table.values();
+        try (Statement st = connection.createStatement()) {
+            if (!replace) {
+                for (Table table : tables) {
+                    try (ResultSet rs = st.executeQuery("SELECT 1 FROM " + table.sqlName() + " LIMIT 1")) {
+                        if (rs.next()) {
+                            throw new IllegalStateException("tabel " + table.sqlName()
+                                    + " sudah berisi data; tambahkan --replace untuk mengganti seluruh isi tabel");
+                        }
+                    }
+                }
+            }
+            st.execute("SET FOREIGN_KEY_CHECKS = 0");
+            st.execute("SET UNIQUE_CHECKS = 0");
+            for (int i = tables.length - 1; i >= 0; i--) {
+                st.execute("TRUNCATE TABLE " + tables[i].sqlName());
+            }
+        }
+        connection.setAutoCommit(false);
+    }
+
+    // statistik index diperbarui supaya rencana query di benchmark sesuai volume baru
+    private static void finish(Connection connection) throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement st = connection.createStatement()) {
+            st.execute("SET UNIQUE_CHECKS = 1");
+            st.execute("SET FOREIGN_KEY_CHECKS = 1");
+            for (Table table : Table.values()) {
+                st.execute("ANALYZE TABLE " + table.sqlName());
+            }
+        }
+    }
+}
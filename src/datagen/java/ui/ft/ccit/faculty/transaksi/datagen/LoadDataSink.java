@@ -0,0 +1,78 @@
+package ui.ft.ccit.faculty.transaksi.datagen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Mode load-data: baris ditulis ke file TSV sementara, setiap --chunk-rows baris dimuat dengan
+// LOAD DATA LOCAL INFILE (jalur paling cepat MySQL: tanpa parsing SQL per baris). Butuh
+// allowLoadLocalInfile=true di URL (ditambahkan otomatis) dan local_infile=ON di server.
+// Satu chunk = satu transaksi, jadi undo log tetap kecil dan file sementara tidak sebesar tabel.
+class LoadDataSink implements RowSink {
+
+    private final Connection connection;
+    private final int chunkRows;
+    private Table table;
+    private Path file;
+    private Writer writer;
+    private int pending;
+
+    LoadDataSink(Connection connection, int chunkRows) {
+        this.connection = connection;
+        this.chunkRows = chunkRows;
+    }
+
+    @Override
+    public void begin(Table table) throws IOException {
+        this.table = table;
+        open();
+    }
+
+    @Override
+    public void row(Object... values) throws IOException, SQLException {
+        TsvSink.write(writer, values);
+        if (++pending == chunkRows) {
+            load();
+            open();
+        }
+    }
+
+    @Override
+    public void end() throws IOException, SQLException {
+        load();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void open() throws IOException {
+        file = Files.createTempFile("datagen-" + table.sqlName() + "-", ".tsv");
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        pending = 0;
+    }
+
+    private void load() throws IOException, SQLException {
+        writer.close();
+        writer = null;
+        try {
+            if (pending > 0) {
+                try (Statement st = connection.createStatement()) {
+                    st.execute(TsvSink.loadData(table, file.toAbsolutePath().toString()));
+                }
+                connection.commit();
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
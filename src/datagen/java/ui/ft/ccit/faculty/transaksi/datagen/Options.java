@@ -0,0 +1,97 @@
+package ui.ft.ccit.faculty.transaksi.datagen;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+// Argumen command line --nama=nilai. Semua ID di skema char(4):
+// - master: prefix huruf + 3 digit base36 (B001..BZZZ), maksimal 46.655 baris per tabel
+// - kode_transaksi: 4 digit base36 penuh kalau jumlahnya melewati itu, maksimal 1.679.616 transaksi
+// Jumlah detail_transaksi = transaksi x rata-rata item per transaksi (--items), mis. 1,6 juta x 20 = 33 juta.
+class Options {
+
+    static final int MAX_MASTER = 36 * 36 * 36 - 1;
+    static final int MAX_TRANSAKSI = 36 * 36 * 36 * 36;
+
+    long seed = 42;
+    int jenis = 16;
+    int pemasok = 500;
+    int karyawan = 400;
+    int pelanggan = 40_000;
+    int barang = 20_000;
+    int transaksi = 1_000_000;
+    double items = 10;
+    double grosir = 0.15;
+    double zipf = 1.0;
+    LocalDate from = LocalDate.of(2023, 1, 1);
+    LocalDate to = LocalDate.of(2025, 12, 31);
+
+    // batch | load-data | tsv
+    String mode = "batch";
+    String url = "jdbc:mysql://localhost:3306/penjualan?useSSL=false&serverTimezone=Asia/Jakarta"
+            + "&rewriteBatchedStatements=true";
+    String user = "root";
+    String password = "";
+    boolean replace;
+    int batchSize = 5_000;
+    int chunkRows = 1_000_000;
+    String out = "target/datagen";
+
+    static Options parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("argumen harus --nama=nilai: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+
+        Options o = new Options();
+        o.seed = Long.parseLong(values.getOrDefault("seed", String.valueOf(o.seed)));
+        o.jenis = Integer.parseInt(values.getOrDefault("jenis", String.valueOf(o.jenis)));
+        o.pemasok = Integer.parseInt(values.getOrDefault("pemasok", String.valueOf(o.pemasok)));
+        o.karyawan = Integer.parseInt(values.getOrDefault("karyawan", String.valueOf(o.karyawan)));
+        o.pelanggan = Integer.parseInt(values.getOrDefault("pelanggan", String.valueOf(o.pelanggan)));
+        o.barang = Integer.parseInt(values.getOrDefault("barang", String.valueOf(o.barang)));
+        o.transaksi = Integer.parseInt(values.getOrDefault("transaksi", String.valueOf(o.transaksi)));
+        o.items = Double.parseDouble(values.getOrDefault("items", String.valueOf(o.items)));
+        o.grosir = Double.parseDouble(values.getOrDefault("grosir", String.valueOf(o.grosir)));
+        o.zipf = Double.parseDouble(values.getOrDefault("zipf", String.valueOf(o.zipf)));
+        o.from = LocalDate.parse(values.getOrDefault("from", o.from.toString()));
+        o.to = LocalDate.parse(values.getOrDefault("to", o.to.toString()));
+        o.mode = values.getOrDefault("mode", o.mode);
+        o.url = values.getOrDefault("url", o.url);
+        o.user = values.getOrDefault("user", o.user);
+        o.password = values.getOrDefault("password", o.password);
+        o.replace = Boolean.parseBoolean(values.getOrDefault("replace", "false"));
+        o.batchSize = Integer.parseInt(values.getOrDefault("batch-size", String.valueOf(o.batchSize)));
+        o.chunkRows = Integer.parseInt(values.getOrDefault("chunk-rows", String.valueOf(o.chunkRows)));
+        o.out = values.getOrDefault("out", o.out);
+        o.validate();
+        return o;
+    }
+
+    private void validate() {
+        // id_jenis_brg tinyint signed
+        check(jenis >= 1 && jenis <= 127, "jenis harus 1..127");
+        check(pemasok >= 1 && pemasok <= MAX_MASTER, "pemasok harus 1.." + MAX_MASTER);
+        check(karyawan >= 1 && karyawan <= MAX_MASTER, "karyawan harus 1.." + MAX_MASTER);
+        check(pelanggan >= 1 && pelanggan <= MAX_MASTER, "pelanggan harus 1.." + MAX_MASTER);
+        check(barang >= 1 && barang <= MAX_MASTER, "barang harus 1.." + MAX_MASTER);
+        check(transaksi >= 1 && transaksi <= MAX_TRANSAKSI, "transaksi harus 1.." + MAX_TRANSAKSI);
+        check(items >= 1, "items minimal 1");
+        check(grosir >= 0 && grosir <= 1, "grosir harus 0..1");
+        check(zipf >= 0, "zipf tidak boleh negatif");
+        check(!to.isBefore(from), "to tidak boleh sebelum from");
+        check(batchSize >= 1 && chunkRows >= 1, "batch-size dan chunk-rows minimal 1");
+        check(mode.equals("batch") || mode.equals("load-data") || mode.equals("tsv"),
+                "mode harus batch, load-data atau tsv");
+    }
+
+    private static void check(boolean ok, String message) {
+        if (!ok) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package ui.ft.ccit.faculty.transaksi.datagen;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Isi sintetis untuk enam tabel penjualan (+ jenis_barang), deterministik per seed:
+// - setiap tabel punya stream acak sendiri (seed + nomor tabel), jadi mengubah jumlah transaksi tidak
+//   mengubah isi master data, dan seed yang sama selalu menghasilkan baris yang sama persis
+// - popularitas barang mengikuti Zipf (sedikit barang laris, ekor panjang); ranking diacak per seed
+// - tgl_transaksi musiman: faktor bulan, akhir pekan, tanggal gajian, dua minggu menjelang Lebaran,
+//   jam ramai siang/sore, dan pertumbuhan per tahun. kode_transaksi naik mengikuti waktu
+// - pelanggan G (porsi --grosir) lebih sering belanja, keranjangnya lebih besar, jumlah per item lebih banyak
+// Semua foreign key menunjuk baris yang dibuat di run yang sama. Baris langsung dikirim ke RowSink;
+// yang disimpan di memori hanya bobot sampling dan satu flag per transaksi.
+class PenjualanData {
+
+    static final String[] KATEGORI = {
+            "Snack", "Minuman", "Sembako", "Bumbu Dapur", "Susu & Bayi", "Perawatan Diri", "Alat Pembersih",
+            "Frozen Food", "Roti & Kue", "Alat Tulis", "Obat-obatan", "Elektronik", "Peralatan Dapur",
+            "Mainan", "Pakaian", "Rokok" };
+
+    // harga tipikal per kategori (rupiah), sebaran harga barang lognormal di sekitarnya
+    static final double[] HARGA_KATEGORI = {
+            3_000, 5_000, 15_000, 6_000, 35_000, 18_000, 12_000,
+            30_000, 10_000, 5_000, 12_000, 150_000, 45_000,
+            60_000, 80_000, 28_000 };
+
+    static final String[][] PRODUK = {
+            { "Keripik", "Kacang", "Biskuit", "Wafer" },
+            { "Teh", "Kopi", "Jus", "Soda" },
+            { "Beras", "Gula", "Minyak", "Tepung" },
+            { "Kecap", "Saus", "Garam", "Sambal" },
+            { "Susu", "Popok", "Bubur", "Tisu Bayi" },
+            { "Sabun", "Sampo", "Pasta Gigi", "Lotion" },
+            { "Sapu", "Kain Pel", "Deterjen", "Pembersih" },
+            { "Nugget", "Sosis", "Bakso", "Dimsum" },
+            { "Roti", "Bolu", "Donat", "Kue" },
+            { "Pulpen", "Buku", "Pensil", "Spidol" },
+            { "Vitamin", "Minyak Angin", "Plester", "Obat Batuk" },
+            { "Lampu", "Baterai", "Kabel", "Setrika" },
+            { "Panci", "Wajan", "Piring", "Gelas" },
+            { "Boneka", "Puzzle", "Mobil Mainan", "Bola" },
+            { "Kaos", "Kemeja", "Celana", "Kaos Kaki" },
+            { "Kretek", "Filter", "Mild", "Cerutu" } };
+
+    static final String[] MEREK = {
+            "Sedap", "Prima", "Mulia", "Rasa", "Segar", "Indah", "Bintang", "Garuda", "Nusa", "Ceria", "Alam", "Kita" };
+
+    static final String[] NAMA_L = {
+            "Budi", "Agus", "Andi", "Joko", "Rudi", "Hendra", "Dedi", "Eko", "Bambang", "Yusuf",
+            "Rizky", "Fajar", "Anton", "Dimas", "Arif", "Teguh", "Wahyu", "Irfan", "Bayu", "Hadi" };
+
+    static final String[] NAMA_P = {
+            "Siti", "Dewi", "Sri", "Rina", "Ani", "Wati", "Putri", "Nur", "Fitri", "Lestari",
+            "Indah", "Ayu", "Maya", "Ratna", "Yuni", "Dian", "Intan", "Merry", "Sari", "Wulan" };
+
+    static final String[] NAMA_BELAKANG = {
+            "Santoso", "Wijaya", "Saputra", "Hidayat", "Kusuma", "Pratama", "Lubis", "Siregar", "Nasution",
+            "Setiawan", "Gunawan", "Halim", "Susanto", "Purba", "Tanjung", "Hakim", "Rahman", "Utomo", "Salim" };
+
+    static final String[] JALAN = {
+            "Sudirman", "Thamrin", "Gatot Subroto", "Diponegoro", "Hayam Wuruk", "Gajah Mada", "Kebon Jeruk",
+            "Kebon Sirih", "Sukarno Hatta", "Kaliurang", "Ahmad Yani", "Pemuda", "Veteran", "Merdeka",
+            "Pahlawan", "Cendana", "Melati", "Mawar", "Kenanga", "Flamboyan" };
+
+    static final String[] KOTA = {
+            "Jakarta", "Bandung", "Surabaya", "Yogyakarta", "Semarang", "Medan", "Depok", "Bekasi",
+            "Tangerang", "Bogor", "Malang", "Makassar", "Denpasar", "Palembang" };
+
+    static final String[] PEMASOK_DEPAN = {
+            "Sumber", "Indo", "Mitra", "Sinar", "Cahaya", "Maju", "Jaya", "Karya", "Anugrah", "Berkah" };
+
+    static final String[] PEMASOK_BELAKANG = {
+            "Makmur", "Abadi", "Sentosa", "Niaga", "Pangan", "Utama", "Lestari", "Sejahtera", "Mandiri" };
+
+    // Januari..Desember: sepi setelah tahun baru, ramai liburan sekolah dan akhir tahun
+    static final double[] FAKTOR_BULAN = { 0.9, 0.85, 0.95, 1.0, 1.0, 1.05, 1.1, 0.95, 0.95, 1.0, 1.05, 1.35 };
+
+    // jam buka 08.00-21.59
+    static final int JAM_BUKA = 8;
+    static final double[] FAKTOR_JAM = { 0.4, 0.7, 1.0, 1.1, 1.2, 0.9, 0.8, 0.9, 1.0, 1.3, 1.5, 1.4, 1.0, 0.6 };
+
+    // Idul Fitri (1 Syawal) versi pemerintah; 2026 ke atas perkiraan
+    static final LocalDate[] LEBARAN = {
+            LocalDate.of(2018, 6, 15), LocalDate.of(2019, 6, 5), LocalDate.of(2020, 5, 24),
+            LocalDate.of(2021, 5, 13), LocalDate.of(2022, 5, 2), LocalDate.of(2023, 4, 22),
+            LocalDate.of(2024, 4, 10), LocalDate.of(2025, 3, 31), LocalDate.of(2026, 3, 20),
+            LocalDate.of(2027, 3, 10), LocalDate.of(2028, 2, 27), LocalDate.of(2029, 2, 14),
+            LocalDate.of(2030, 2, 5) };
+
+    // keranjang terbesar yang dibuat (satu barang paling banyak sekali per transaksi, PK detail)
+    static final int MAX_ITEM = 60;
+
+    private final Options options;
+    private final boolean fullKode;
+
+    // diisi saat generate master, dipakai transaksi/detail
+    private boolean[] pelangganGrosir;
+    private boolean[] transaksiGrosir;
+    private long rows;
+
+    PenjualanData(Options options) {
+        this.options = options;
+        this.fullKode = options.transaksi > Options.MAX_MASTER;
+    }
+
+    void generate(RowSink sink) throws IOException, SQLException {
+        for (Table table : Table.values()) {
+            long start = System.nanoTime();
+            rows = 0;
+            sink.begin(table);
+            SplittableRandom rnd = random(table);
+            switch (table) {
+                case JENIS_BARANG -> jenisBarang(sink);
+                case PEMASOK -> pemasok(sink, rnd);
+                case KARYAWAN -> karyawan(sink, rnd);
+                case PELANGGAN -> pelanggan(sink, rnd);
+                case BARANG -> barang(sink, rnd);
+                case TRANSAKSI -> transaksi(sink, rnd);
+                case DETAIL_TRANSAKSI -> detailTransaksi(sink, rnd);
+            }
+            sink.end();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("[datagen] %-16s %,12d baris %8.1f s %,12.0f baris/s%n",
+                    table.sqlName(), rows, seconds, rows / Math.max(seconds, 1e-9));
+        }
+    }
+
+    private void emit(RowSink sink, Object... values) throws IOException, SQLException {
+        sink.row(values);
+        rows++;
+    }
+
+    private SplittableRandom random(Table table) {
+        return new SplittableRandom(options.seed * 0x9E3779B97F4A7C15L + table.ordinal());
+    }
+
+    private void jenisBarang(RowSink sink) throws IOException, SQLException {
+        for (int i = 0; i < options.jenis; i++) {
+            String nama = KATEGORI[i % KATEGORI.length];
+            if (i >= KATEGORI.length) {
+                nama = nama + " " + (i / KATEGORI.length + 1);
+            }
+            emit(sink, i + 1, clip(nama, 20));
+        }
+    }
+
+    private void pemasok(RowSink sink, SplittableRandom rnd) throws IOException, SQLException {
+        for (int i = 0; i < options.pemasok; i++) {
+            String depan = pick(rnd, PEMASOK_DEPAN);
+            String belakang = pick(rnd, PEMASOK_BELAKANG);
+            String nama = (rnd.nextInt(3) == 0 ? "CV " : "PT ") + depan + " " + belakang;
+            String email = rnd.nextInt(5) == 0 ? null
+                    : (depan + belakang).toLowerCase() + (i + 1) + "@mail.co.id";
+            emit(sink, masterId('S', i), clip(nama, 20), alamat(rnd), telepon(rnd), email);
+        }
+    }
+
+    private void karyawan(RowSink sink, SplittableRandom rnd) throws IOException, SQLException {
+        for (int i = 0; i < options.karyawan; i++) {
+            boolean lakiLaki = rnd.nextBoolean();
+            String telepon = rnd.nextInt(20) == 0 ? null : telepon(rnd);
+            double gaji = 3_500_000 + rnd.nextInt(171) * 50_000;
+            emit(sink, masterId('K', i), nama(rnd, lakiLaki), lakiLaki ? "L" : "P", alamat(rnd), telepon,
+                    tanggal(rnd, LocalDate.of(1970, 1, 1), LocalDate.of(2005, 12, 31)), gaji);
+        }
+    }
+
+    private void pelanggan(RowSink sink, SplittableRandom rnd) throws IOException, SQLException {
+        pelangganGrosir = new boolean[options.pelanggan];
+        for (int i = 0; i < options.pelanggan; i++) {
+            boolean lakiLaki = rnd.nextBoolean();
+            boolean grosir = rnd.nextDouble() < options.grosir;
+            pelangganGrosir[i] = grosir;
+            String telepon = rnd.nextInt(10) == 0 ? null : telepon(rnd);
+            emit(sink, masterId('P', i), nama(rnd, lakiLaki), lakiLaki ? "L" : "P", alamat(rnd), telepon,
+                    tanggal(rnd, LocalDate.of(1955, 1, 1), LocalDate.of(2007, 12, 31)), grosir ? "G" : "S");
+        }
+    }
+
+    private void barang(RowSink sink, SplittableRandom rnd) throws IOException, SQLException {
+        // beberapa pemasok besar memasok sebagian besar barang
+        Weighted pemasok = new Weighted(zipf(options.pemasok, 0.8, rnd));
+        for (int i = 0; i < options.barang; i++) {
+            int jenis = rnd.nextInt(options.jenis);
+            int kategori = jenis % KATEGORI.length;
+            String[] produk = PRODUK[kategori];
+            String nama = pick(rnd, produk) + " " + pick(rnd, MEREK);
+            int varian = rnd.nextInt(10);
+            if (varian > 0) {
+                nama = nama + " " + varian;
+            }
+            double harga = Math.max(500, Math.round(HARGA_KATEGORI[kategori] * Math.exp(0.5 * rnd.nextGaussian()) / 50) * 50);
+            short stok = (short) (rnd.nextInt(30) == 0 ? 0 : rnd.nextInt(1000));
+            double persenLaba = 2 + rnd.nextInt(14);
+            int d = rnd.nextInt(10);
+            double diskon = d < 7 ? 0 : d < 9 ? 5 : 10;
+            emit(sink, masterId('B', i), clip(nama, 20), stok, harga, persenLaba, diskon, jenis + 1,
+                    masterId('S', pemasok.next(rnd)));
+        }
+    }
+
+    private void transaksi(RowSink sink, SplittableRandom rnd) throws IOException, SQLException {
+        // pelanggan aktif ~ Zipf ringan, pelanggan G tiga kali lebih sering belanja
+        double[] aktivitas = zipf(options.pelanggan, 0.6, rnd);
+        for (int i = 0; i < aktivitas.length; i++) {
+            if (pelangganGrosir[i]) {
+                aktivitas[i] *= 3;
+            }
+        }
+        Weighted pelanggan = new Weighted(aktivitas);
+        Weighted jam = new Weighted(FAKTOR_JAM);
+
+        // jumlah transaksi per hari dibagi proporsional terhadap bobot hari (pembulatan kumulatif,
+        // totalnya pasti sama dengan --transaksi)
+        int days = (int) ChronoUnit.DAYS.between(options.from, options.to) + 1;
+        double[] bobot = new double[days];
+        double total = 0;
+        for (int d = 0; d < days; d++) {
+            bobot[d] = bobotHari(options.from.plusDays(d));
+            total += bobot[d];
+        }
+
+        transaksiGrosir = new boolean[options.transaksi];
+        int n = 0;
+        double cumulative = 0;
+        long allocated = 0;
+        for (int d = 0; d < days; d++) {
+            cumulative += bobot[d];
+            long target = Math.round(options.transaksi * cumulative / total);
+            int count = (int) (target - allocated);
+            allocated = target;
+
+            // detik dalam hari, diurutkan supaya kode_transaksi naik mengikuti waktu
+            int[] waktu = new int[count];
+            for (int i = 0; i < count; i++) {
+                waktu[i] = (JAM_BUKA + jam.next(rnd)) * 3600 + rnd.nextInt(3600);
+            }
+            Arrays.sort(waktu);
+
+            LocalDateTime hari = options.from.plusDays(d).atStartOfDay();
+            for (int detik : waktu) {
+                int p = pelanggan.next(rnd);
+                transaksiGrosir[n] = pelangganGrosir[p];
+                emit(sink, kodeTransaksi(n), hari.plusSeconds(detik), masterId('P', p),
+                        masterId('K', rnd.nextInt(options.karyawan)));
+                n++;
+            }
+        }
+    }
+
+    private void detailTransaksi(RowSink sink, SplittableRandom rnd) throws IOException, SQLException {
+        Weighted barang = new Weighted(zipf(options.barang, options.zipf, rnd));
+
+        // rata-rata keranjang G 1,5x S; rata-rata S dihitung supaya rata-rata gabungan = --items
+        int grosir = 0;
+        for (boolean g : transaksiGrosir) {
+            if (g) {
+                grosir++;
+            }
+        }
+        double porsiGrosir = (double) grosir / transaksiGrosir.length;
+        double itemS = options.items / (1 + 0.5 * porsiGrosir);
+        int maxItem = Math.min(MAX_ITEM, options.barang);
+
+        int[] keranjang = new int[maxItem];
+        for (int n = 0; n < transaksiGrosir.length; n++) {
+            boolean g = transaksiGrosir[n];
+            int k = Math.min(maxItem, geometric(rnd, g ? itemS * 1.5 : itemS));
+            String kode = kodeTransaksi(n);
+            for (int i = 0; i < k; i++) {
+                int b;
+                do {
+                    b = barang.next(rnd);
+                } while (contains(keranjang, i, b));
+                keranjang[i] = b;
+                int jumlah = g ? Math.min(500, geometric(rnd, 8)) : Math.min(24, geometric(rnd, 1.6));
+                emit(sink, kode, masterId('B', b), (short) jumlah);
+            }
+        }
+    }
+
+    private double bobotHari(LocalDate date) {
+        double w = FAKTOR_BULAN[date.getMonthValue() - 1];
+        DayOfWeek dow = date.getDayOfWeek();
+        if (dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY) {
+            w *= 1.35;
+        } else if (dow == DayOfWeek.FRIDAY) {
+            w *= 1.1;
+        }
+        // gajian
+        if (date.getDayOfMonth() >= 25 || date.getDayOfMonth() <= 2) {
+            w *= 1.2;
+        }
+        for (LocalDate lebaran : LEBARAN) {
+            long sebelum = ChronoUnit.DAYS.between(date, lebaran);
+            if (sebelum >= 1 && sebelum <= 14) {
+                w *= 1.8;
+            } else if (sebelum <= 0 && sebelum >= -2) {
+                w *= 0.4;
+            }
+        }
+        // pertumbuhan 15% per tahun sejak awal rentang
+        return w * (1 + 0.15 * ChronoUnit.DAYS.between(options.from, date) / 365.0);
+    }
+
+    // master: prefix + 3 digit base36 mulai 001 (seperti data contoh B001, P001)
+    static String masterId(char prefix, int index) {
+        return prefix + base36(index + 1, 3);
+    }
+
+    // transaksi: J001.. kalau muat, selain itu 4 digit base36 penuh (0000..ZZZZ)
+    String kodeTransaksi(int index) {
+        return fullKode ? base36(index, 4) : 'J' + base36(index + 1, 3);
+    }
+
+    static String base36(int value, int width) {
+        String s = Integer.toString(value, 36).toUpperCase();
+        return "0".repeat(width - s.length()) + s;
+    }
+
+    private static String nama(SplittableRandom rnd, boolean lakiLaki) {
+        return clip(pick(rnd, lakiLaki ? NAMA_L : NAMA_P) + " " + pick(rnd, NAMA_BELAKANG), 20);
+    }
+
+    private static String alamat(SplittableRandom rnd) {
+        return clip("Jl. " + pick(rnd, JALAN) + " No." + (1 + rnd.nextInt(199)) + ", " + pick(rnd, KOTA), 50);
+    }
+
+    private static String telepon(SplittableRandom rnd) {
+        StringBuilder sb = new StringBuilder("08");
+        int digits = 9 + rnd.nextInt(3);
+        for (int i = 0; i < digits; i++) {
+            sb.append((char) ('0' + rnd.nextInt(10)));
+        }
+        return sb.toString();
+    }
+
+    private static LocalDate tanggal(SplittableRandom rnd, LocalDate from, LocalDate to) {
+        return from.plusDays(rnd.nextLong(ChronoUnit.DAYS.between(from, to) + 1));
+    }
+
+    private static String pick(SplittableRandom rnd, String[] values) {
+        return values[rnd.nextInt(values.length)];
+    }
+
+    private static String clip(String value, int max) {
+        return value.length() <= max ? value : value.substring(0, max).trim();
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 1, 2, 3, ... dengan rata-rata mean (distribusi geometrik)
+    static int geometric(SplittableRandom rnd, double mean) {
+        if (mean <= 1) {
+            return 1;
+        }
+        double p = 1 / mean;
+        return 1 + (int) Math.floor(Math.log(1 - rnd.nextDouble()) / Math.log(1 - p));
+    }
+
+    // bobot Zipf 1/rank^s; rank diacak supaya barang laris tidak selalu B001, B002, ...
+    static double[] zipf(int n, double s, SplittableRandom rnd) {
+        int[] rank = new int[n];
+        for (int i = 0; i < n; i++) {
+            rank[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int tmp = rank[i];
+            rank[i] = rank[j];
+            rank[j] = tmp;
+        }
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            weights[rank[i]] = 1 / Math.pow(i + 1, s);
+        }
+        return weights;
+    }
+
+    // sampling indeks sebanding bobot: binary search di distribusi kumulatif
+    static final class Weighted {
+        private final double[] cdf;
+
+        Weighted(double[] weights) {
+            cdf = new double[weights.length];
+            double sum = 0;
+            for (int i = 0; i < weights.length; i++) {
+                sum += weights[i];
+                cdf[i] = sum;
+            }
+        }
+
+        int next(SplittableRandom rnd) {
+            double u = rnd.nextDouble() * cdf[cdf.length - 1];
+            int i = Arrays.binarySearch(cdf, u);
+            return Math.min(i >= 0 ? i + 1 : -i - 1, cdf.length - 1);
+        }
+    }
+}
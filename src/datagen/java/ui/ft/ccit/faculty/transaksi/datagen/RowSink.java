@@ -0,0 +1,18 @@
+package ui.ft.ccit.faculty.transaksi.datagen;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+// Tujuan baris hasil generator. Tabel dikirim satu per satu: begin(tabel), row(...) berkali-kali, end().
+// Nilai kolom berurutan sesuai Table.columns(): String, Number, LocalDate, LocalDateTime atau null.
+interface RowSink extends AutoCloseable {
+
+    void begin(Table table) throws IOException, SQLException;
+
+    void row(Object... values) throws IOException, SQLException;
+
+    void end() throws IOException, SQLException;
+
+    @Override
+    void close() throws IOException, SQLException;
+}
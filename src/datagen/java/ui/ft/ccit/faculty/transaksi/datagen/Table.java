@@ -0,0 +1,33 @@
+package ui.ft.ccit.faculty.transaksi.datagen;
+
+// Tabel db/penjualan.sql dengan kolom yang diisi generator, urut sesuai urutan load (induk dulu)
+enum Table {
+    JENIS_BARANG("jenis_barang", "id_jenis_brg", "nama_jenis_brg"),
+    PEMASOK("pemasok", "id_pemasok", "nama", "alamat", "telepon", "email"),
+    KARYAWAN("karyawan", "id_karyawan", "nama", "jenis_kelamin", "alamat", "telepon", "tgl_lahir", "gaji"),
+    PELANGGAN("pelanggan", "id_pelanggan", "nama", "jenis_kelamin", "alamat", "telepon", "tgl_lahir",
+            "jenis_pelanggan"),
+    BARANG("barang", "id_barang", "nama", "stok", "harga", "persen_laba", "diskon", "id_jenis_brg", "id_pemasok"),
+    TRANSAKSI("transaksi", "kode_transaksi", "tgl_transaksi", "id_pelanggan", "id_karyawan"),
+    DETAIL_TRANSAKSI("detail_transaksi", "kode_transaksi", "id_barang", "jumlah");
+
+    private final String sqlName;
+    private final String[] columns;
+
+    Table(String sqlName, String... columns) {
+        this.sqlName = sqlName;
+        this.columns = columns;
+    }
+
+    String sqlName() {
+        return sqlName;
+    }
+
+    String[] columns() {
+        return columns;
+    }
+
+    String columnList() {
+        return String.join(", ", columns);
+    }
+}
@@ -0,0 +1,106 @@
+package ui.ft.ccit.faculty.transaksi.datagen;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+// Mode tsv: satu file <tabel>.tsv per tabel + load.sql di folder --out, tanpa koneksi database.
+// Format = default LOAD DATA (tab, newline, escape backslash, NULL = \N), jadi bisa dimuat dengan
+// "mysql --local-infile=1 penjualan < load.sql" dari folder itu, atau dibandingkan antar run (sha256sum)
+// untuk memastikan seed yang sama menghasilkan data yang sama.
+class TsvSink implements RowSink {
+
+    static final DateTimeFormatter DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Path dir;
+    private final List<String> statements = new ArrayList<>();
+    private Writer writer;
+
+    TsvSink(Path dir) throws IOException {
+        this.dir = Files.createDirectories(dir);
+    }
+
+    @Override
+    public void begin(Table table) throws IOException {
+        writer = Files.newBufferedWriter(dir.resolve(table.sqlName() + ".tsv"), StandardCharsets.UTF_8);
+        statements.add(loadData(table, table.sqlName() + ".tsv"));
+    }
+
+    @Override
+    public void row(Object... values) throws IOException {
+        write(writer, values);
+    }
+
+    @Override
+    public void end() throws IOException {
+        writer.close();
+        writer = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+        try (BufferedWriter sql = Files.newBufferedWriter(dir.resolve("load.sql"), StandardCharsets.UTF_8)) {
+            sql.write("-- hasil generator data sintetis; mengganti seluruh isi tabel penjualan\n");
+            sql.write("SET FOREIGN_KEY_CHECKS = 0;\nSET UNIQUE_CHECKS = 0;\n");
+            Table[] tables = Table.values();
+            for (int i = tables.length - 1; i >= 0; i--) {
+                sql.write("TRUNCATE TABLE " + tables[i].sqlName() + ";\n");
+            }
+            for (String statement : statements) {
+                sql.write(statement + ";\n");
+            }
+            sql.write("SET UNIQUE_CHECKS = 1;\nSET FOREIGN_KEY_CHECKS = 1;\n");
+        }
+    }
+
+    static String loadData(Table table, String file) {
+        return "LOAD DATA LOCAL INFILE '" + file.replace("\\", "\\\\").replace("'", "\\'")
+                + "' INTO TABLE " + table.sqlName() + " CHARACTER SET utf8mb4 (" + table.columnList() + ")";
+    }
+
+    // satu baris TSV format default LOAD DATA
+    static void write(Writer out, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write('\t');
+            }
+            Object value = values[i];
+            if (value == null) {
+                out.write("\\N");
+            } else if (value instanceof String s) {
+                escape(out, s);
+            } else if (value instanceof Double d) {
+                // tanpa notasi ilmiah (Double.toString(1.2E7))
+                out.write(d == Math.rint(d) ? Long.toString(d.longValue()) : BigDecimal.valueOf(d).toPlainString());
+            } else if (value instanceof LocalDateTime t) {
+                out.write(DATETIME.format(t));
+            } else {
+                out.write(value.toString());
+            }
+        }
+        out.write('\n');
+    }
+
+    private static void escape(Writer out, String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '\\' -> out.write("\\\\");
+                case '\t' -> out.write("\\t");
+                case '\n' -> out.write("\\n");
+                default -> out.write(c);
+            }
+        }
+    }
+}
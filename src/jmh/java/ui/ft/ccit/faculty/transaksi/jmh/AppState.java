@@ -0,0 +1,80 @@
+package ui.ft.ccit.faculty.transaksi.jmh;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import ui.ft.ccit.faculty.transaksi.TransaksiApplication;
+import ui.ft.ccit.faculty.transaksi.barang.model.Barang;
+import ui.ft.ccit.faculty.transaksi.barang.view.BarangService;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksi;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.view.DetailTransaksiService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Satu context Spring (profile jmh, H2 in-memory) per fork JMH, diisi data sekali di awal trial.
+@State(Scope.Benchmark)
+public class AppState {
+
+    static final int BARANG = 10_000;
+    static final int TRANSAKSI = 1_000;
+    static final int DETAIL_PER_TRANSAKSI = 5;
+
+    static final String[] WORDS = {
+            "sabun", "beras", "minyak", "gula", "kopi", "teh", "susu", "roti",
+            "mie", "kecap", "saus", "garam", "tepung", "telur", "air", "snack" };
+
+    ConfigurableApplicationContext context;
+    BarangService barangService;
+    DetailTransaksiService detailTransaksiService;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // argumen command line menang atas spring.profiles.active=local di application.yaml
+        context = SpringApplication.run(TransaksiApplication.class, "--spring.profiles.active=jmh");
+        barangService = context.getBean(BarangService.class);
+        detailTransaksiService = context.getBean(DetailTransaksiService.class);
+
+        List<Barang> barang = new ArrayList<>(BARANG);
+        for (int i = 0; i < BARANG; i++) {
+            barang.add(new Barang(barangId(i), nama(i), (short) 1000, 1000.0 + i, 5.0, 0.0, (byte) 101, "S001"));
+        }
+        barangService.saveBulk(barang);
+
+        List<DetailTransaksi> detail = new ArrayList<>(TRANSAKSI * DETAIL_PER_TRANSAKSI);
+        for (int t = 0; t < TRANSAKSI; t++) {
+            for (int d = 0; d < DETAIL_PER_TRANSAKSI; d++) {
+                detail.add(new DetailTransaksi(kodeTransaksi(t), barangId(t * DETAIL_PER_TRANSAKSI + d), (short) 1));
+            }
+        }
+        detailTransaksiService.saveBulk(detail);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    // id char(4): prefix huruf + 3 digit base36
+    static String barangId(int n) {
+        return id('B', n);
+    }
+
+    static String kodeTransaksi(int n) {
+        return id('T', n);
+    }
+
+    static String id(char prefix, int n) {
+        String s = Integer.toString(n, 36).toUpperCase();
+        return prefix + "0".repeat(3 - s.length()) + s;
+    }
+
+    static String nama(int n) {
+        return WORDS[n % WORDS.length] + " " + WORDS[(n / WORDS.length) % WORDS.length] + " " + (n % 1000);
+    }
+}
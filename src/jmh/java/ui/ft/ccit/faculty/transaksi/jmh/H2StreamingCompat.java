@@ -0,0 +1,76 @@
+package ui.ft.ccit.faculty.transaksi.jmh;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Repository streaming (streamAll, streamSearchFields) memakai fetchSize Integer.MIN_VALUE,
+// trik streaming result set khusus MySQL Connector/J. H2 menolak fetchSize negatif,
+// jadi di profile jmh nilai negatif diabaikan supaya index pencarian tetap bisa dibangun.
+@Configuration
+@Profile("jmh")
+public class H2StreamingCompat {
+
+    @Bean
+    static BeanPostProcessor ignoreNegativeFetchSize() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return new DelegatingDataSource(dataSource) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        return wrap(super.getConnection(), Connection.class);
+                    }
+
+                    @Override
+                    public Connection getConnection(String username, String password) throws SQLException {
+                        return wrap(super.getConnection(username, password), Connection.class);
+                    }
+                };
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(T target, Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            if (method.getName().equals("setFetchSize") && (int) args[0] < 0) {
+                return null;
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            // statement yang dibuat dari connection juga dibungkus
+            Class<?> returns = method.getReturnType();
+            if (returns == CallableStatement.class) {
+                return wrap((CallableStatement) result, CallableStatement.class);
+            }
+            if (returns == PreparedStatement.class) {
+                return wrap((PreparedStatement) result, PreparedStatement.class);
+            }
+            if (returns == Statement.class) {
+                return wrap((Statement) result, Statement.class);
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package ui.ft.ccit.faculty.transaksi.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import ui.ft.ccit.faculty.transaksi.AvroHttpMessageConverter;
+import ui.ft.ccit.faculty.transaksi.barang.model.Barang;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialisasi Jackson List<Barang> / List<DetailTransaksi> per format response:
+// json = ObjectMapper milik context (konfigurasi sama dengan response controller),
+// cbor / smile = mapper biner Jackson, avro = writer yang sama dengan AvroHttpMessageConverter.
+// Ukuran payload (byte di wire, sebelum kompresi) dicetak saat setup karena JMH hanya mengukur waktu.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({ "100", "5000" })
+    public int rows;
+
+    @Param({ "json", "cbor", "smile", "avro" })
+    public String format;
+
+    private ObjectWriter barangWriter;
+    private ObjectWriter detailWriter;
+    private List<Barang> barang;
+    private List<DetailTransaksi> detail;
+
+    @Setup
+    public void prepare(AppState app) throws NoSuchFieldException {
+        barang = new ArrayList<>(rows);
+        detail = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            barang.add(new Barang(AppState.barangId(i), AppState.nama(i), (short) 1000, 1000.0 + i, 5.0, 0.0,
+                    (byte) 101, "S001"));
+            detail.add(new DetailTransaksi(AppState.kodeTransaksi(i / AppState.DETAIL_PER_TRANSAKSI),
+                    AppState.barangId(i), (short) 1));
+        }
+
+        switch (format) {
+            case "json" -> {
+                ObjectMapper json = app.context.getBean(ObjectMapper.class);
+                barangWriter = json.writer();
+                detailWriter = json.writer();
+            }
+            case "cbor" -> {
+                barangWriter = new CBORMapper().writer();
+                detailWriter = barangWriter;
+            }
+            case "smile" -> {
+                barangWriter = new SmileMapper().writer();
+                detailWriter = barangWriter;
+            }
+            case "avro" -> {
+                // tipe generik field = tipe return controller (List<Barang>, List<DetailTransaksi>)
+                barangWriter = AvroHttpMessageConverter.writerFor(
+                        SerializationBenchmark.class.getDeclaredField("barang").getGenericType());
+                detailWriter = AvroHttpMessageConverter.writerFor(
+                        SerializationBenchmark.class.getDeclaredField("detail").getGenericType());
+            }
+            default -> throw new IllegalArgumentException("format tidak dikenal: " + format);
+        }
+
+        System.out.printf("%n[payload] format=%s rows=%d barang=%d bytes detailTransaksi=%d bytes%n",
+                format, rows, barangList().length, detailTransaksiList().length);
+    }
+
+    @Benchmark
+    public byte[] barangList() {
+        return barangWriter.writeValueAsBytes(barang);
+    }
+
+    @Benchmark
+    public byte[] detailTransaksiList() {
+        return detailWriter.writeValueAsBytes(detail);
+    }
+}
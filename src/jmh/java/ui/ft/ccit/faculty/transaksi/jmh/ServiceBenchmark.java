@@ -0,0 +1,96 @@
+package ui.ft.ccit.faculty.transaksi.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ui.ft.ccit.faculty.transaksi.barang.model.Barang;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Jalur panas service: getById, searchByNama, saveBulk, getByKodeTransaksi.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Benchmark
+    public Barang barangGetById(AppState app) {
+        int i = ThreadLocalRandom.current().nextInt(AppState.BARANG);
+        return app.barangService.getById(AppState.barangId(i));
+    }
+
+    @Benchmark
+    public List<Barang> barangSearchByNama(AppState app, SearchQuery query) {
+        return app.barangService.searchByNama(query.q, 50);
+    }
+
+    @Benchmark
+    public List<DetailTransaksi> detailGetByKodeTransaksi(AppState app) {
+        int t = ThreadLocalRandom.current().nextInt(AppState.TRANSAKSI);
+        return app.detailTransaksiService.getByKodeTransaksi(AppState.kodeTransaksi(t));
+    }
+
+    // satu panggilan saveBulk per iterasi; baris yang dimasukkan dihapus lagi setelah iterasi
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 10, batchSize = 1)
+    @Measurement(iterations = 30, batchSize = 1)
+    public List<Barang> barangSaveBulk(AppState app, BulkBatch batch) {
+        return app.barangService.saveBulk(batch.rows);
+    }
+
+    @State(Scope.Benchmark)
+    public static class SearchQuery {
+
+        // prefix kata, tengah kata, dua kata, tanpa hasil
+        @Param({ "kopi", "abun", "susu roti", "zzz" })
+        public String q;
+    }
+
+    @State(Scope.Benchmark)
+    public static class BulkBatch {
+
+        @Param({ "1000" })
+        public int size;
+
+        List<Barang> rows;
+        List<String> ids;
+
+        @Setup(Level.Iteration)
+        public void prepare() {
+            rows = new ArrayList<>(size);
+            ids = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                String id = AppState.id('Z', i);
+                ids.add(id);
+                rows.add(new Barang(id, AppState.nama(i), (short) 100, 1000.0, 5.0, 0.0, (byte) 101, "S001"));
+            }
+        }
+
+        // deleteBulk maksimal 100 ID per panggilan
+        @TearDown(Level.Iteration)
+        public void cleanUp(AppState app) {
+            for (int from = 0; from < ids.size(); from += 100) {
+                app.barangService.deleteBulk(ids.subList(from, Math.min(from + 100, ids.size())));
+            }
+        }
+    }
+}
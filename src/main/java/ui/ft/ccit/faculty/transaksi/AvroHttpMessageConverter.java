@@ -0,0 +1,112 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import jakarta.persistence.Entity;
+import org.apache.avro.Schema;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.dataformat.avro.AvroMapper;
+import tools.jackson.dataformat.avro.AvroSchema;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Response Avro binary (Accept: application/avro) untuk entity dan List<entity>.
+// Avro tidak menulis nama field, jadi payload paling kecil, tapi klien butuh schema yang sama untuk
+// membaca: schema record digenerate dari class entity dan dipublikasikan di GET /api/schema/{resource}.
+// List dikirim sebagai array Avro dengan item record tersebut. Hanya untuk response (tidak bisa read).
+public class AvroHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_AVRO = new MediaType("application", "avro");
+
+    private static final AvroMapper MAPPER = new AvroMapper();
+
+    // schema per class entity dan writer per tipe response (entity / List<entity>)
+    private static final Map<Class<?>, AvroSchema> SCHEMAS = new ConcurrentHashMap<>();
+    private static final Map<Type, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    public AvroHttpMessageConverter() {
+        super(APPLICATION_AVRO);
+    }
+
+    public static AvroSchema schemaFor(Class<?> entityClass) {
+        return SCHEMAS.computeIfAbsent(entityClass, MAPPER::schemaFor);
+    }
+
+    // writer untuk tipe response; null kalau tipe itu tidak punya schema Avro
+    public static ObjectWriter writerFor(Type type) {
+        if (!isSupported(type)) {
+            return null;
+        }
+        return WRITERS.computeIfAbsent(type, t -> {
+            Class<?> entity = entityClass(t);
+            AvroSchema schema = schemaFor(entity);
+            if (t != entity) {
+                schema = new AvroSchema(Schema.createArray(schema.getAvroSchema()));
+            }
+            return MAPPER.writer(schema);
+        });
+    }
+
+    private static boolean isSupported(Type type) {
+        Class<?> entity = entityClass(type);
+        return entity != null && entity.isAnnotationPresent(Entity.class);
+    }
+
+    // Barang -> Barang, List<Barang> -> Barang, selain itu null
+    private static Class<?> entityClass(Type type) {
+        if (type instanceof Class<?> c) {
+            return c;
+        }
+        if (type instanceof ParameterizedType p
+                && p.getRawType() instanceof Class<?> raw
+                && Collection.class.isAssignableFrom(raw)
+                && p.getActualTypeArguments()[0] instanceof Class<?> element) {
+            return element;
+        }
+        return null;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz.isAnnotationPresent(Entity.class);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && isSupported(type != null ? type : clazz);
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        // canWrite sudah memastikan tipe ini punya schema
+        writerFor(type != null ? type : value.getClass()).writeValue(outputMessage.getBody(), value);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Request body Avro tidak didukung", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Request body Avro tidak didukung", inputMessage);
+    }
+}
@@ -0,0 +1,147 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Jalur insert bulk bersama untuk semua saveBulk:
+// - cek ID yang sudah ada dengan query IN per chunk (bukan existsById per item)
+// - tulis dengan persist + JDBC batch, flush/clear berkala supaya memori tetap kecil
+// - upsert (PUT /bulk): multi-row INSERT ... ON DUPLICATE KEY UPDATE, tanpa SELECT per baris
+@Component
+public class BulkIngestor {
+
+    // batas jumlah parameter di satu klausa IN
+    static final int IN_CHUNK_SIZE = 1000;
+
+    // baris per statement upsert; placeholder per prepared statement MySQL maksimal 65535
+    static final int UPSERT_CHUNK_SIZE = 1000;
+    private static final int MAX_PLACEHOLDERS = 65_535;
+
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public BulkIngestor(EntityManager entityManager,
+                        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    // kembalikan ID dari daftar yang SUDAH ada di tabel
+    public <T, ID> Set<ID> findExistingIds(Class<T> entityClass, String idAttribute, Collection<ID> ids) {
+        Set<ID> existing = new HashSet<>();
+        List<ID> all = new ArrayList<>(ids);
+
+        for (int from = 0; from < all.size(); from += IN_CHUNK_SIZE) {
+            List<ID> chunk = all.subList(from, Math.min(from + IN_CHUNK_SIZE, all.size()));
+
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Object> query = cb.createQuery();
+            Root<T> root = query.from(entityClass);
+            Path<Object> id = root.get(idAttribute);
+            query.select(id).where(id.in(chunk));
+
+            for (Object found : entityManager.createQuery(query).getResultList()) {
+                @SuppressWarnings("unchecked")
+                ID typed = (ID) found;
+                existing.add(typed);
+            }
+        }
+        return existing;
+    }
+
+    // persist semua entity baru (tanpa merge/SELECT), flush + clear tiap batch
+    public <T> List<T> insertAll(List<T> entities) {
+        for (int i = 0; i < entities.size(); i++) {
+            entityManager.persist(entities.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return entities;
+    }
+
+    // rows: nilai per baris, urut sesuai columns.
+    // onDuplicate: assignment untuk baris yang primary key-nya sudah ada, mis. "nama = new.nama"
+    // (new.col = nilai yang dikirim di baris itu, lewat row alias "AS new"; VALUES(col) deprecated
+    // sejak MySQL 8.0.20 dan memberi warning di tiap statement). Kembalian = affected rows dari MySQL
+    public int upsert(String table, List<String> columns, List<String> onDuplicate, List<Object[]> rows) {
+        // perubahan entity yang belum di-flush harus masuk duluan; setelahnya persistence context
+        // di-clear karena entity yang ter-load bisa basi oleh statement native ini
+        entityManager.flush();
+
+        int perStatement = Math.max(1, Math.min(UPSERT_CHUNK_SIZE, MAX_PLACEHOLDERS / columns.size()));
+        int affected = 0;
+        for (int from = 0; from < rows.size(); from += perStatement) {
+            List<Object[]> chunk = rows.subList(from, Math.min(from + perStatement, rows.size()));
+
+            Query query = entityManager.createNativeQuery(upsertSql(table, columns, onDuplicate, chunk.size()));
+            int position = 1;
+            for (Object[] row : chunk) {
+                for (Object value : row) {
+                    query.setParameter(position++, value);
+                }
+            }
+            affected += query.executeUpdate();
+        }
+
+        entityManager.clear();
+        return affected;
+    }
+
+    private static String upsertSql(String table, List<String> columns, List<String> onDuplicate, int rowCount) {
+        String placeholders = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES "
+                + String.join(", ", Collections.nCopies(rowCount, placeholders))
+                + " AS new ON DUPLICATE KEY UPDATE " + String.join(", ", onDuplicate);
+    }
+
+    // assignment standar: kolom ditimpa nilai baru
+    public static List<String> overwrite(String... columns) {
+        List<String> assignments = new ArrayList<>();
+        for (String column : columns) {
+            assignments.add(column + " = new." + column);
+        }
+        return assignments;
+    }
+
+    // ringkasan PUT /bulk: berapa baris baru, berapa yang sudah ada dan ditimpa
+    public static class UpsertResult {
+        private final int total;
+        private final int inserted;
+        private final int updated;
+
+        public UpsertResult(int total, int existing) {
+            this.total = total;
+            this.inserted = total - existing;
+            this.updated = existing;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getInserted() {
+            return inserted;
+        }
+
+        public int getUpdated() {
+            return updated;
+        }
+    }
+}
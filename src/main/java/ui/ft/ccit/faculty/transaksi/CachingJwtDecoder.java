@@ -0,0 +1,102 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Cache token yang SUDAH lolos verifikasi (signature RSA + validator issuer/exp) di depan JwtDecoder.
+// Kasir POS mengirim token yang sama berkali-kali sampai expired, jadi verifikasi cukup sekali per token.
+// Key = SHA-256 token (token mentah tidak disimpan sebagai key), entry berlaku sampai exp token.
+// Token yang gagal verifikasi tidak pernah di-cache.
+// Cache penuh -> entry yang paling lama tidak dipakai dibuang (LRU, O(1)), token baru tetap masuk;
+// token yang expired terbuang saat dipakai lagi atau lewat LRU karena kasirnya sudah memakai token baru.
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final int maxSize;
+    private final Clock clock;
+
+    // access-order: get() memindahkan entry ke ujung, eldest = paling lama tidak dipakai.
+    // LinkedHashMap tidak thread-safe -> semua akses lewat synchronized (cache)
+    private final Map<String, Jwt> cache;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxSize, Clock clock) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Jwt> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        Instant now = clock.instant();
+
+        synchronized (cache) {
+            Jwt cached = cache.get(key);
+            if (cached != null) {
+                if (isValidAt(cached, now)) {
+                    hits.incrementAndGet();
+                    return cached;
+                }
+                cache.remove(key);
+            }
+        }
+
+        misses.incrementAndGet();
+        Jwt jwt = delegate.decode(token);
+
+        // token tanpa exp tidak di-cache (tidak ada batas kapan harus diverifikasi ulang)
+        if (jwt.getExpiresAt() != null && maxSize > 0) {
+            synchronized (cache) {
+                cache.put(key, jwt);
+            }
+        }
+        return jwt;
+    }
+
+    private static boolean isValidAt(Jwt jwt, Instant now) {
+        return jwt.getExpiresAt() != null && now.isBefore(jwt.getExpiresAt());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,378 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Import CSV streaming (upload besar, mis. onboarding toko baru):
+// - body dibaca baris per baris, tidak pernah ditampung utuh di memori
+// - setiap baris dipetakan + divalidasi dengan aturan service; baris invalid dicatat, sisanya jalan terus
+// - pipeline: thread request mem-parse, thread writer menulis batch (satu transaksi pendek per batch).
+//   Antrian batch dibatasi, jadi parser menunggu kalau DB lebih lambat (backpressure)
+@Component
+public class CsvImporter {
+
+    // baris invalid yang dicatat detailnya; sisanya hanya dihitung
+    static final int MAX_ERRORS = 1000;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int queueBatches;
+
+    public CsvImporter(PlatformTransactionManager transactionManager,
+                       @Value("${transaksi.import.batch-size:1000}") int batchSize,
+                       @Value("${transaksi.import.queue-batches:4}") int queueBatches) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.queueBatches = queueBatches;
+    }
+
+    // satu baris CSV -> entity; lempar InvalidDataException kalau baris tidak valid
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(Row row);
+    }
+
+    // tulis satu batch (dipanggil di dalam transaksi batch); kembalikan item yang ditolak
+    // karena ID-nya sudah ada di tabel
+    @FunctionalInterface
+    public interface BatchWriter<T> {
+        Collection<T> write(List<T> batch);
+    }
+
+    public <T> Result importCsv(InputStream in, RowMapper<T> mapper, Function<T, String> idOf, BatchWriter<T> writer)
+            throws IOException {
+        long start = System.nanoTime();
+        Result result = new Result();
+        BlockingQueue<List<Line<T>>> queue = new ArrayBlockingQueue<>(queueBatches);
+        List<Line<T>> endOfInput = Collections.emptyList();
+
+        Thread writerThread = Thread.ofVirtual().name("csv-import-writer").start(() -> {
+            try {
+                for (List<Line<T>> batch = queue.take(); batch != endOfInput; batch = queue.take()) {
+                    writeBatch(batch, writer, result);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try (CsvReader csv = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            Map<String, Integer> header = csv.readHeader();
+            Set<String> seenIds = new HashSet<>();
+            List<Line<T>> batch = new ArrayList<>(batchSize);
+
+            for (List<String> fields = csv.next(); fields != null; fields = csv.next()) {
+                int lineNo = csv.getRecordLine();
+                result.countRow();
+                try {
+                    T item = mapper.map(new Row(header, fields));
+                    if (!seenIds.add(idOf.apply(item))) {
+                        throw new InvalidDataException("id", idOf.apply(item) + " duplikat di dalam file");
+                    }
+                    batch.add(new Line<>(lineNo, item));
+                } catch (InvalidDataException e) {
+                    result.reject(lineNo, e.getField(), e.getMessage());
+                }
+
+                if (batch.size() == batchSize) {
+                    enqueue(queue, batch, writerThread);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                enqueue(queue, batch, writerThread);
+            }
+        } finally {
+            try {
+                enqueue(queue, endOfInput, writerThread);
+                writerThread.join();
+            } catch (InterruptedException e) {
+                writerThread.interrupt();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        result.durationMs = (System.nanoTime() - start) / 1_000_000;
+        return result;
+    }
+
+    // blok selama antrian penuh (backpressure), tapi jangan menunggu writer yang sudah mati
+    private static <T> void enqueue(BlockingQueue<List<Line<T>>> queue, List<Line<T>> batch, Thread writer)
+            throws InterruptedException {
+        while (!queue.offer(batch, 1, TimeUnit.SECONDS)) {
+            if (!writer.isAlive()) {
+                throw new IllegalStateException("Writer import berhenti");
+            }
+        }
+    }
+
+    private <T> void writeBatch(List<Line<T>> batch, BatchWriter<T> writer, Result result) {
+        List<T> items = new ArrayList<>(batch.size());
+        batch.forEach(line -> items.add(line.item));
+        try {
+            Collection<T> rejected = transactionTemplate.execute(status -> writer.write(items));
+            Set<T> rejectedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+            rejectedSet.addAll(rejected);
+            for (Line<T> line : batch) {
+                if (rejectedSet.contains(line.item)) {
+                    result.reject(line.number, "id", "sudah ada di database");
+                }
+            }
+            result.addImported(batch.size() - rejectedSet.size());
+        } catch (RuntimeException e) {
+            // satu batch di-rollback (mis. foreign key tidak ada), batch lain tetap jalan
+            String message = "batch baris " + batch.get(0).number + "-" + batch.get(batch.size() - 1).number
+                    + " gagal: " + e.getMessage();
+            for (Line<T> line : batch) {
+                result.reject(line.number, null, message);
+            }
+        }
+    }
+
+    private static class Line<T> {
+        private final int number;
+        private final T item;
+
+        Line(int number, T item) {
+            this.number = number;
+            this.item = item;
+        }
+    }
+
+    // akses kolom by nama header (case-insensitive); kolom kosong = null
+    public static class Row {
+        private final Map<String, Integer> header;
+        private final List<String> fields;
+
+        Row(Map<String, Integer> header, List<String> fields) {
+            this.header = header;
+            this.fields = fields;
+        }
+
+        public String get(String column) {
+            Integer index = header.get(column.toLowerCase(Locale.ROOT));
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        public Short getShort(String column) {
+            String value = get(column);
+            try {
+                return value == null ? null : Short.valueOf(value);
+            } catch (NumberFormatException e) {
+                throw new InvalidDataException(column, "bukan angka: " + value);
+            }
+        }
+
+        public Byte getByte(String column) {
+            String value = get(column);
+            try {
+                return value == null ? null : Byte.valueOf(value);
+            } catch (NumberFormatException e) {
+                throw new InvalidDataException(column, "bukan angka: " + value);
+            }
+        }
+
+        public Double getDouble(String column) {
+            String value = get(column);
+            try {
+                return value == null ? null : Double.valueOf(value);
+            } catch (NumberFormatException e) {
+                throw new InvalidDataException(column, "bukan angka: " + value);
+            }
+        }
+    }
+
+    // laporan import; ditulis oleh parser dan writer sekaligus, jadi method-nya synchronized
+    public static class Result {
+        private int totalRows;
+        private int imported;
+        private int rejected;
+        private long durationMs;
+        private final List<RowError> errors = new ArrayList<>();
+
+        synchronized void countRow() {
+            totalRows++;
+        }
+
+        synchronized void reject(int line, String field, String message) {
+            rejected++;
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(new RowError(line, field, message));
+            }
+        }
+
+        synchronized void addImported(int count) {
+            imported += count;
+        }
+
+        public synchronized int getTotalRows() {
+            return totalRows;
+        }
+
+        public synchronized int getImported() {
+            return imported;
+        }
+
+        public synchronized int getRejected() {
+            return rejected;
+        }
+
+        public synchronized List<RowError> getErrors() {
+            return new ArrayList<>(errors);
+        }
+
+        public synchronized boolean isErrorsTruncated() {
+            return rejected > errors.size();
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        public double getRowsPerSecond() {
+            return durationMs == 0 ? totalRows : totalRows * 1000.0 / durationMs;
+        }
+    }
+
+    public static class RowError {
+        private final int line;
+        private final String field;
+        private final String message;
+
+        RowError(int line, String field, String message) {
+            this.line = line;
+            this.field = field;
+            this.message = message;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    // parser CSV (RFC 4180): koma sebagai pemisah, field boleh dikutip "..." dengan "" untuk kutip,
+    // newline di dalam kutip diperbolehkan. Membaca per karakter dari reader ber-buffer
+    static class CsvReader implements AutoCloseable {
+        private final BufferedReader reader;
+        private int line = 1;
+        private int recordLine;
+
+        CsvReader(Reader reader) {
+            this.reader = new BufferedReader(reader, 64 * 1024);
+        }
+
+        Map<String, Integer> readHeader() throws IOException {
+            List<String> names = next();
+            if (names == null) {
+                throw new InvalidDataException("file", "CSV kosong, baris header wajib ada");
+            }
+            Map<String, Integer> header = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                String name = names.get(i).trim().toLowerCase(Locale.ROOT);
+                // BOM UTF-8 dari Excel
+                if (i == 0 && name.startsWith("\uFEFF")) {
+                    name = name.substring(1);
+                }
+                header.put(name, i);
+            }
+            return header;
+        }
+
+        // nomor baris (1-based) tempat record terakhir dimulai
+        int getRecordLine() {
+            return recordLine;
+        }
+
+        // null = akhir file; baris kosong dilewati
+        List<String> next() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            recordLine = line;
+
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r') {
+                    // CRLF: \n berikutnya yang menutup record
+                } else if (c == '\n') {
+                    line++;
+                    if (fields.isEmpty() && field.isEmpty()) {
+                        recordLine = line;
+                        continue;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+            }
+            if (!any || (fields.isEmpty() && field.isEmpty())) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Sparse field selection (?fields=idBarang,nama,harga) untuk endpoint list/search/pagination:
+// - field terpilih jadi SELECT e.idBarang, e.nama, ... (projection JPQL), kolom lain tidak dibaca
+// - hasil berupa nilai skalar (Tuple), bukan entity: tidak di-hydrate, tidak masuk persistence context
+// - response berisi field terpilih saja (Map, urutan sesuai ?fields=)
+// Nama field = nama property JSON entity; field embedded id (DetailTransaksi) dipakai langsung
+// (kodeTransaksi, idBarang). Klausa WHERE dari service memakai alias "e".
+@Component
+public class FieldProjection {
+
+    public static final String ALIAS = "e";
+
+    private final EntityManager entityManager;
+    private final Map<Class<?>, Model> models = new ConcurrentHashMap<>();
+
+    public FieldProjection(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // validasi ?fields= terhadap atribut entity; field tidak dikenal -> 400
+    public Selection select(Class<?> entityClass, String fields) {
+        Model model = models.computeIfAbsent(entityClass, this::model);
+        Set<String> names = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!model.paths.containsKey(name)) {
+                throw new InvalidDataException("fields", "field tidak dikenal: " + name
+                        + " (tersedia: " + String.join(",", model.paths.keySet()) + ")");
+            }
+            names.add(name);
+        }
+        if (names.isEmpty()) {
+            throw new InvalidDataException("fields", "minimal satu field");
+        }
+        return new Selection(model, List.copyOf(names));
+    }
+
+    // SELECT <field terpilih> FROM entity e [WHERE where] ORDER BY <primary key>; limit < 0 = semua baris
+    public List<Map<String, Object>> find(Selection selection, String where, Map<String, ?> params,
+                                         int offset, int limit) {
+        Model model = selection.model;
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        for (int i = 0; i < selection.fields.size(); i++) {
+            if (i > 0) {
+                jpql.append(", ");
+            }
+            jpql.append(ALIAS).append('.').append(model.paths.get(selection.fields.get(i)));
+        }
+        jpql.append(" FROM ").append(model.entityName).append(' ').append(ALIAS);
+        if (where != null) {
+            jpql.append(" WHERE ").append(where);
+        }
+        jpql.append(" ORDER BY ");
+        for (int i = 0; i < model.idFields.size(); i++) {
+            if (i > 0) {
+                jpql.append(", ");
+            }
+            jpql.append(ALIAS).append('.').append(model.paths.get(model.idFields.get(i)));
+        }
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        params.forEach((name, value) -> query.setParameter(name, value));
+        query.setFirstResult(offset);
+        if (limit >= 0) {
+            query.setMaxResults(limit);
+        }
+
+        List<Tuple> rows = query.getResultList();
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (int i = 0; i < selection.fields.size(); i++) {
+                item.put(selection.fields.get(i), row.get(i));
+            }
+            result.add(item);
+        }
+        return result;
+    }
+
+    // baris dengan primary key di ids (entity ber-ID tunggal), urutan mengikuti ids (mis. ranking search).
+    // Field ID selalu ikut di hasil karena dipakai untuk mengurutkan
+    public List<Map<String, Object>> findAllById(Selection selection, List<?> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Selection withId = selection.withId();
+        String idField = withId.model.idFields.get(0);
+        List<Map<String, Object>> rows = find(withId,
+                ALIAS + "." + withId.model.paths.get(idField) + " IN :ids", Map.of("ids", ids), 0, -1);
+
+        Map<Object, Map<String, Object>> byId = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            byId.put(row.get(idField), row);
+        }
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Object id : ids) {
+            Map<String, Object> row = byId.get(id);
+            if (row != null) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    // nama field JSON -> path JPQL, dari metamodel JPA (atribut embedded di-flatten satu level)
+    private Model model(Class<?> entityClass) {
+        EntityType<?> type = entityManager.getMetamodel().entity(entityClass);
+        Map<String, String> paths = new LinkedHashMap<>();
+        List<String> idFields = new ArrayList<>();
+
+        for (SingularAttribute<?, ?> attribute : type.getSingularAttributes()) {
+            if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.EMBEDDED) {
+                for (SingularAttribute<?, ?> sub : entityManager.getMetamodel()
+                        .embeddable(attribute.getJavaType()).getSingularAttributes()) {
+                    paths.put(sub.getName(), attribute.getName() + "." + sub.getName());
+                    if (attribute.isId()) {
+                        idFields.add(sub.getName());
+                    }
+                }
+            } else if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+                paths.put(attribute.getName(), attribute.getName());
+                if (attribute.isId()) {
+                    idFields.add(attribute.getName());
+                }
+            }
+        }
+        return new Model(type.getName(), paths, idFields);
+    }
+
+    private static class Model {
+        private final String entityName;
+        private final Map<String, String> paths;
+        private final List<String> idFields;
+
+        Model(String entityName, Map<String, String> paths, List<String> idFields) {
+            this.entityName = entityName;
+            this.paths = paths;
+            this.idFields = idFields;
+        }
+    }
+
+    // hasil parse ?fields= untuk satu entity
+    public static class Selection {
+        private final Model model;
+        private final List<String> fields;
+
+        Selection(Model model, List<String> fields) {
+            this.model = model;
+            this.fields = fields;
+        }
+
+        public List<String> getFields() {
+            return fields;
+        }
+
+        // field terpilih + primary key; dipakai kalau service butuh ID (cursor, urutan ranking search)
+        public Selection withId() {
+            if (fields.containsAll(model.idFields)) {
+                return this;
+            }
+            Set<String> names = new LinkedHashSet<>(model.idFields);
+            names.addAll(fields);
+            return new Selection(model, List.copyOf(names));
+        }
+
+        // untuk data yang sudah ada di memori (ReferenceCache): ambil property terpilih tanpa query
+        public Map<String, Object> project(Object entity) {
+            BeanWrapper wrapper = new BeanWrapperImpl(entity);
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (String field : fields) {
+                item.put(field, wrapper.getPropertyValue(field));
+            }
+            return item;
+        }
+    }
+}
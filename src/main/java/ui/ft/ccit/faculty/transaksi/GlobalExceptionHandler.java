@@ -1,6 +1,9 @@
 package ui.ft.ccit.faculty.transaksi;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -61,6 +64,17 @@ public class GlobalExceptionHandler {
                 null);
     }
 
+    // pool koneksi habis (menunggu lebih dari connection-timeout): server sibuk, bukan error data
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE) // 503
+    public ErrorResponse handleNoConnection(CannotCreateTransactionException ex) {
+        return new ErrorResponse(
+                "SERVICE_UNAVAILABLE",
+                "Server sedang sibuk, coba lagi",
+                null,
+                null);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleValidation(MethodArgumentNotValidException ex) {
@@ -75,6 +89,13 @@ public class GlobalExceptionHandler {
                 null);
     }
 
+    // Accept tidak bisa dilayani (mis. ?cursor= atau ?page= dengan Accept: application/x-ndjson).
+    // Tanpa body: body error JSON justru tidak sesuai Accept client
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<Void> handleNotAcceptable(HttpMediaTypeNotAcceptableException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build(); // 406
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR) // fallback
     public ErrorResponse handleGeneric(Exception ex) {
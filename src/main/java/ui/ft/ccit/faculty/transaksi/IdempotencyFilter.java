@@ -0,0 +1,224 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Idempotency-Key untuk semua POST/PUT .../bulk (PUT ?mode=increment tidak idempoten dengan sendirinya).
+// Request pertama dengan key tertentu dijalankan normal dan response 2xx-nya disimpan;
+// retry dengan key + body yang sama langsung dijawab dari store (header Idempotent-Replayed),
+// tanpa validasi/existsById/insert ulang. Duplikat yang datang saat request pertama masih
+// jalan menunggu hasilnya. Key dipisah per user (principal JWT) supaya tidak saling tabrak.
+// Filter ini jalan setelah Spring Security (order default), jadi principal sudah terisi.
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final long waitMillis;
+
+    public IdempotencyFilter(IdempotencyStore store,
+                             ObjectMapper objectMapper,
+                             @Value("${transaksi.idempotency.wait-ms:30000}") long waitMillis) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.waitMillis = waitMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return (!HttpMethod.POST.matches(method) && !HttpMethod.PUT.matches(method))
+                || !request.getRequestURI().endsWith("/bulk")
+                || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String headerValue = request.getHeader(HEADER);
+        if (headerValue.isBlank() || headerValue.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "INVALID_DATA",
+                    HEADER + " harus 1-" + MAX_KEY_LENGTH + " karakter", null);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        Principal principal = request.getUserPrincipal();
+        String key = (principal != null ? principal.getName() : "") + ":" + headerValue;
+        String fingerprint = request.getRequestURI() + ":" + sha256(body);
+
+        while (true) {
+            IdempotencyStore.Claim claim = store.claim(key, fingerprint);
+            IdempotencyStore.Entry entry = claim.getEntry();
+
+            if (!fingerprint.equals(entry.getFingerprint())) {
+                writeError(response, HttpStatus.BAD_REQUEST, "IDEMPOTENCY_KEY_REUSED",
+                        HEADER + " sudah dipakai untuk request yang berbeda", headerValue);
+                return;
+            }
+
+            if (claim.isOwner()) {
+                execute(new CachedBodyRequest(request, body), response, chain, key, entry);
+                return;
+            }
+
+            IdempotencyStore.StoredResponse stored;
+            try {
+                stored = entry.getResult().get(waitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                writeError(response, HttpStatus.CONFLICT, "CONFLICT",
+                        "Request dengan " + HEADER + " ini masih diproses", headerValue);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            } catch (ExecutionException e) {
+                throw new ServletException(e.getCause());
+            }
+
+            if (stored != null) {
+                replay(stored, response);
+                return;
+            }
+            // request pertama gagal dan key sudah dilepas: coba klaim lagi
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                         String key, IdempotencyStore.Entry entry) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, wrapper);
+            int status = wrapper.getStatus();
+            // hanya sukses yang disimpan; 4xx/5xx boleh di-retry setelah data diperbaiki
+            if (status >= 200 && status < 300) {
+                store.complete(key, entry, new IdempotencyStore.StoredResponse(
+                        status, wrapper.getContentType(), wrapper.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(key, entry);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.getStatus());
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String code, String message, String id)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new GlobalExceptionHandler.ErrorResponse(code, message, HEADER, id));
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // body sudah dibaca untuk fingerprint, jadi controller membaca dari salinan ini
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+
+// Penyimpanan hasil request ber-Idempotency-Key: terbatas (jumlah entry dan total byte body) dan
+// kadaluarsa (TTL). Map urut waktu masuk, jadi entry terlama/expired selalu di depan -> eviction O(1) per entry.
+// Request yang masih diproses disimpan sebagai future, supaya duplikat yang datang bersamaan
+// cukup menunggu hasil request pertama, bukan ikut menulis ke DB. Entry in-flight tidak pernah
+// di-evict: kalau tergusur, retry berikutnya akan menjalankan request yang sama untuk kedua kalinya.
+// Body yang lebih besar dari max-body-bytes tidak disimpan; retry hanya mendapat status-nya.
+@Component
+public class IdempotencyStore {
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final int maxBodyBytes;
+    private final long ttlMillis;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    // total byte body yang tersimpan di entry yang sudah selesai
+    private long bytes;
+
+    public IdempotencyStore(@Value("${transaksi.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${transaksi.idempotency.max-bytes:67108864}") long maxBytes,
+                            @Value("${transaksi.idempotency.max-body-bytes:1048576}") int maxBodyBytes,
+                            @Value("${transaksi.idempotency.ttl-ms:86400000}") long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.maxBodyBytes = maxBodyBytes;
+        this.ttlMillis = ttlMillis;
+    }
+
+    // owner = true: key baru, pemanggil yang menjalankan request lalu complete/release.
+    // owner = false: entry milik request sebelumnya (selesai atau masih diproses)
+    public synchronized Claim claim(String key, String fingerprint) {
+        long now = System.currentTimeMillis();
+        evictExpired(now);
+
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            return new Claim(existing, false);
+        }
+
+        evictCompleted(maxEntries - 1, maxBytes);
+        Entry entry = new Entry(fingerprint, now + ttlMillis);
+        entries.put(key, entry);
+        return new Claim(entry, true);
+    }
+
+    // body terlalu besar diganti body kosong (status + content type tetap), lalu entry terlama
+    // yang sudah selesai dibuang sampai total byte kembali di bawah batas
+    public void complete(String key, Entry entry, StoredResponse response) {
+        StoredResponse stored = response.getBody().length > maxBodyBytes
+                ? new StoredResponse(response.getStatus(), null, new byte[0])
+                : response;
+        synchronized (this) {
+            // entry in-flight tidak pernah di-evict, jadi masih ada di map
+            if (entries.get(key) == entry) {
+                entry.bytes = stored.getBody().length;
+                bytes += entry.bytes;
+            }
+            entry.result.complete(stored);
+            evictCompleted(maxEntries, maxBytes);
+        }
+    }
+
+    // request pertama gagal (exception / bukan 2xx): key dilepas supaya retry menjalankan ulang
+    public void release(String key, Entry entry) {
+        synchronized (this) {
+            entries.remove(key, entry);
+        }
+        entry.result.complete(null);
+    }
+
+    // buang entry selesai terlama sampai jumlah <= maxCount dan byte <= maxTotalBytes; in-flight dilewati
+    private void evictCompleted(int maxCount, long maxTotalBytes) {
+        Iterator<Entry> it = entries.values().iterator();
+        while ((entries.size() > maxCount || bytes > maxTotalBytes) && it.hasNext()) {
+            Entry e = it.next();
+            if (e.result.isDone()) {
+                it.remove();
+                bytes -= e.bytes;
+            }
+        }
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry e = it.next();
+            // in-flight tidak di-evict, urutan berikutnya pasti lebih muda
+            if (e.expiresAt > now || !e.result.isDone()) {
+                return;
+            }
+            it.remove();
+            bytes -= e.bytes;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    public static class Claim {
+        private final Entry entry;
+        private final boolean owner;
+
+        Claim(Entry entry, boolean owner) {
+            this.entry = entry;
+            this.owner = owner;
+        }
+
+        public Entry getEntry() {
+            return entry;
+        }
+
+        public boolean isOwner() {
+            return owner;
+        }
+    }
+
+    public static class Entry {
+        private final String fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+        // byte body yang dihitung ke total store, diisi saat complete
+        private long bytes;
+
+        Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        // selesai dengan null kalau request pertama gagal
+        public CompletableFuture<StoredResponse> getResult() {
+            return result;
+        }
+    }
+
+    public static class StoredResponse {
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+
+        public StoredResponse(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
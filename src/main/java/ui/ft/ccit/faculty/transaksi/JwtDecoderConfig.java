@@ -0,0 +1,74 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.text.ParseException;
+import java.time.Clock;
+
+// JwtDecoder untuk oauth2ResourceServer().jwt():
+// - JWK set diambil langsung dari jwk-set-uri (tanpa discovery ke issuer saat start),
+//   di-cache, dan di-refresh di background sebelum kadaluarsa, jadi request tidak pernah
+//   menunggu refresh JWK. JWK baru diambil saat token pertama diverifikasi (lazy)
+// - transaksi.jwt.jwk-set-file: JWK set dari file lokal, tanpa akses network sama sekali
+// - token yang sudah terverifikasi di-cache (CachingJwtDecoder), transaksi.jwt.cache-size=0 mematikannya
+@Configuration
+public class JwtDecoderConfig {
+
+    @Bean
+    public JwtDecoder jwtDecoder(
+            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuer,
+            @Value("${transaksi.jwt.jwk-refresh-ms:300000}") long jwkRefreshMs,
+            @Value("${transaksi.jwt.jwk-set-file:}") String jwkSetFile,
+            @Value("${transaksi.jwt.cache-size:10000}") int cacheSize) throws IOException, ParseException {
+        JwtDecoder decoder = jwkSetFile.isBlank()
+                ? nimbusDecoder(jwkSetUri, issuer, jwkRefreshMs)
+                : nimbusDecoder(new ImmutableJWKSet<>(JWKSet.load(new File(jwkSetFile))), issuer);
+        if (cacheSize <= 0) {
+            return decoder;
+        }
+        return new CachingJwtDecoder(decoder, cacheSize, Clock.systemUTC());
+    }
+
+    // verifikasi RS256 + validator default Spring (exp/nbf dengan clock skew 60 detik) + issuer
+    public static NimbusJwtDecoder nimbusDecoder(String jwkSetUri, String issuer, long jwkRefreshMs)
+            throws MalformedURLException {
+        JWKSource<SecurityContext> jwkSource = JWKSourceBuilder.<SecurityContext>create(URI.create(jwkSetUri).toURL())
+                .cache(jwkRefreshMs, 15_000)
+                // refresh terjadwal 30 detik sebelum cache habis, di thread background
+                .refreshAheadCache(30_000, true)
+                // kalau IdP sedang down, key terakhir tetap dipakai
+                .outageTolerant(jwkRefreshMs * 12)
+                .build();
+        return nimbusDecoder(jwkSource, issuer);
+    }
+
+    public static NimbusJwtDecoder nimbusDecoder(JWKSource<SecurityContext> jwkSource, String issuer) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        // validasi claim diserahkan ke validator Spring di bawah
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+        return decoder;
+    }
+}
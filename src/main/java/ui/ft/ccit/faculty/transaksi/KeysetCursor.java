@@ -0,0 +1,43 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+// Token cursor opaque untuk keyset pagination: primary key baris terakhir
+// (boleh composite) di-encode base64url. Client cukup mengirim balik apa adanya.
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = "\u001F";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(String... keyParts) {
+        String raw = String.join(SEPARATOR, keyParts);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // cursor kosong = mulai dari halaman pertama (semua bagian key = "")
+    public static String[] decode(String cursor, int expectedParts) {
+        if (cursor == null || cursor.isBlank()) {
+            String[] start = new String[expectedParts];
+            Arrays.fill(start, "");
+            return start;
+        }
+
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDataException("cursor", "tidak valid");
+        }
+
+        String[] parts = raw.split(SEPARATOR, -1);
+        if (parts.length != expectedParts) {
+            throw new InvalidDataException("cursor", "tidak valid");
+        }
+        return parts;
+    }
+}
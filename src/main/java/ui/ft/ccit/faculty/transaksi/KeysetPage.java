@@ -0,0 +1,24 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import java.util.List;
+
+// satu halaman hasil keyset (seek) pagination + token untuk halaman berikutnya
+public class KeysetPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    // null kalau sudah halaman terakhir
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,101 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Export list tanpa pagination sebagai NDJSON (1 baris JSON per entity).
+// Baris dibaca dari Stream<T> (MySQL streaming result set), ditulis, lalu di-detach,
+// jadi heap tidak bertambah walaupun tabelnya besar.
+// Satu export memegang satu koneksi pool sampai baris terakhir terkirim, jadi client lambat ikut
+// menahan koneksi. Jumlah export yang jalan bersamaan dibatasi (transaksi.export.max-concurrent);
+// sisanya langsung dijawab 503, supaya export tidak menghabiskan pool untuk request biasa.
+// Mapping NDJSON di controller sengaja tanpa params condition: params dibandingkan sebelum produces,
+// jadi "!page" dkk. akan membuat Accept */* (atau tanpa Accept) ikut ke NDJSON, bukan ke JSON array.
+@Component
+public class NdjsonExporter {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTx;
+    private final Semaphore slots;
+
+    public NdjsonExporter(ObjectMapper objectMapper,
+                          EntityManager entityManager,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${transaksi.export.max-concurrent:4}") int maxConcurrent) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.slots = new Semaphore(maxConcurrent);
+    }
+
+    // export selalu seluruh tabel: page/size bersama Accept NDJSON dijawab 406, bukan diabaikan diam-diam
+    public static void requireUnpaged(Integer page, Integer size) throws HttpMediaTypeNotAcceptableException {
+        if (page != null || size != null) {
+            throw new HttpMediaTypeNotAcceptableException(List.of(MediaType.APPLICATION_JSON));
+        }
+    }
+
+    // stream harus dibuka di dalam transaksi, dan transaksi harus tetap hidup
+    // sampai baris terakhir ditulis -> transaksi dibuka di thread penulis response
+    public <T> ResponseEntity<StreamingResponseBody> export(Supplier<Stream<T>> source) {
+        if (!slots.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+        // body jalan di thread async MVC: pilihan primary dari request (endpoint ber-ETag) ikut dibawa
+        boolean primaryOnly = ReadWriteRoutingDataSource.isPrimaryOnly();
+        StreamingResponseBody body = out -> {
+            if (primaryOnly) {
+                ReadWriteRoutingDataSource.setPrimaryOnly();
+            }
+            try {
+                readOnlyTx.executeWithoutResult(status -> {
+                    try (Stream<T> rows = source.get()) {
+                        rows.forEach(row -> {
+                            writeLine(out, row);
+                            entityManager.detach(row);
+                        });
+                    }
+                });
+            } finally {
+                ReadWriteRoutingDataSource.clearPrimaryOnly();
+                slots.release();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(MEDIA_TYPE))
+                .body(body);
+    }
+
+    private void writeLine(OutputStream out, Object row) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(row));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -144,6 +144,8 @@ public class OpenApiConfig {
         enum EndpointDoc {
 
                 GET_ALL("GET", "/api/{resource}"),
+                INVOICE_BATCH("GET", "/api/{resource}/invoice"),
+                INVOICE("GET", "/api/{resource}/{id}/invoice"),
                 GET_ONE("GET", "/api/{resource}/{id}"),
                 GET_ONE_COMPOSITE("GET", "/api/{resource}/{id1}/{id2}"),
                 GET_BY_PARENT("GET", "/api/{resource}/transaksi/{id}"),
@@ -151,6 +153,12 @@ public class OpenApiConfig {
                 SEARCH("GET", "/api/{resource}/search"),
                 CREATE("POST", "/api/{resource}"),
                 BULK_CREATE("POST", "/api/{resource}/bulk"),
+                CHECKOUT("POST", "/api/{resource}/checkout"),
+                RESERVE("POST", "/api/{resource}/reservasi"),
+                RELEASE("POST", "/api/{resource}/reservasi/batal"),
+                BULK_UPSERT("PUT", "/api/{resource}/bulk"),
+                DELETE_JOB("POST", "/api/{resource}/delete-jobs"),
+                IMPORT_CSV("POST", "/api/{resource}/import"),
                 UPDATE("PUT", "/api/{resource}/{id}"),
                 UPDATE_COMPOSITE("PUT", "/api/{resource}/{id1}/{id2}"),
                 DELETE("DELETE", "/api/{resource}/{id}"),
@@ -210,6 +218,8 @@ public class OpenApiConfig {
                 String summary(String resource) {
                         return switch (this) {
                                 case GET_ALL -> "Mengambil daftar semua " + resource;
+                                case INVOICE_BATCH -> "Total nota banyak " + resource;
+                                case INVOICE -> "Total nota satu " + resource;
                                 case GET_ONE -> "Mengambil detail satu " + resource;
                                 case GET_ONE_COMPOSITE -> "Mengambil detail satu " + resource + " (composite key)";
                                 case GET_BY_PARENT -> "Mengambil " + resource + " berdasarkan transaksi";
@@ -217,6 +227,12 @@ public class OpenApiConfig {
                                 case SEARCH -> "Mencari " + resource;
                                 case CREATE -> "Membuat " + resource + " baru";
                                 case BULK_CREATE -> "Membuat " + resource + " secara bulk";
+                                case CHECKOUT -> "Checkout " + resource + " (header, detail, dan stok)";
+                                case RESERVE -> "Reservasi stok " + resource;
+                                case RELEASE -> "Membatalkan reservasi stok " + resource;
+                                case BULK_UPSERT -> "Upsert " + resource + " secara bulk";
+                                case DELETE_JOB -> "Job hapus " + resource + " di background";
+                                case IMPORT_CSV -> "Import " + resource + " dari CSV";
                                 case UPDATE -> "Memperbarui " + resource;
                                 case UPDATE_COMPOSITE -> "Memperbarui " + resource + " (composite key)";
                                 case DELETE -> "Menghapus " + resource;
@@ -229,7 +245,21 @@ public class OpenApiConfig {
                 String description(String resource) {
                         return switch (this) {
                                 case GET_ALL ->
-                                        "Mengambil seluruh data " + resource + " yang tersedia di sistem. Mendukung pagination dengan parameter 'page' dan 'size'.";
+                                        "Mengambil seluruh data " + resource + " yang tersedia di sistem. Mendukung pagination dengan parameter 'page' dan 'size'"
+                                                + " (tambahkan 'count=true' untuk header X-Total-Count),"
+                                                + " serta '?fields=' untuk mengambil field tertentu saja (mis. fields=idBarang,nama)."
+                                                + ("barang".equalsIgnoreCase(resource)
+                                                        ? " '?expand=jenis,pemasok' menyertakan jenis barang dan pemasok setiap item (satu query join),"
+                                                                + " tidak bisa digabung dengan '?fields='."
+                                                        : "")
+                                                + " Format response lewat header Accept: application/json (default), application/cbor,"
+                                                + " application/x-jackson-smile, atau application/avro (schema di /api/schema/{resource}).";
+                                case INVOICE_BATCH ->
+                                        "Total nota (subtotal, diskon, total) untuk daftar kode di parameter 'kode' (dipisah koma, maksimal 1000),"
+                                                + " dihitung dalam satu query agregat. Kode yang tidak ada dilewati.";
+                                case INVOICE ->
+                                        "Total nota satu " + resource + ": harga jual = harga x (1 + persen laba), dikali jumlah, dikurangi diskon;"
+                                                + " dihitung di database dalam satu query agregat atas detail dan barang.";
                                 case GET_ONE ->
                                         "Mengambil detail satu " + resource + " berdasarkan ID.";
                                 case GET_ONE_COMPOSITE ->
@@ -244,6 +274,18 @@ public class OpenApiConfig {
                                         "Membuat satu data " + resource + " baru di sistem.";
                                 case BULK_CREATE ->
                                         "Membuat banyak data " + resource + " dalam satu transaksi. Maksimal 100 data per request.";
+                                case CHECKOUT ->
+                                        "Menyimpan header " + resource + ", semua detail, dan mengurangi stok barang dalam satu transaksi database.";
+                                case RESERVE ->
+                                        "Mengurangi stok beberapa " + resource + " secara atomik. Gagal (409) jika ada stok yang tidak mencukupi; tidak ada stok yang berubah.";
+                                case RELEASE ->
+                                        "Mengembalikan stok " + resource + " yang sebelumnya direservasi.";
+                                case IMPORT_CSV ->
+                                        "Import " + resource + " dari body CSV (Content-Type: text/csv, baris pertama header nama field). File diproses streaming per batch; baris yang tidak valid atau ID yang sudah ada dilaporkan per baris tanpa menggagalkan baris lain.";
+                                case DELETE_JOB ->
+                                        "Menghapus banyak " + resource + " (tanpa batas 100 ID) per chunk dengan transaksi pendek di background. Response 202 berisi ID job; pantau progress di GET /api/delete-jobs/{id} dan batalkan dengan DELETE /api/delete-jobs/{id}.";
+                                case BULK_UPSERT ->
+                                        "Membuat " + resource + " yang belum ada dan menimpa yang sudah ada, dalam satu operasi set-based (INSERT ... ON DUPLICATE KEY UPDATE). Response berisi jumlah baris baru dan yang diperbarui.";
                                 case UPDATE ->
                                         "Memperbarui data " + resource + " berdasarkan ID.";
                                 case UPDATE_COMPOSITE ->
@@ -0,0 +1,55 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Aktif kalau transaksi.datasource.replica-urls diisi (dipisah koma). DataSource bawaan Spring Boot
+// (spring.datasource.*) tetap jadi primary dan dibungkus ReadWriteRoutingDataSource; replica memakai
+// username/password/driver yang sama dengan primary. Tanpa replica-urls tidak ada yang berubah.
+@Configuration
+public class ReadReplicaConfig {
+
+    @Bean
+    static BeanPostProcessor readWriteRouting(Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                String urls = env.getProperty("transaksi.datasource.replica-urls", "");
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary) || urls.isBlank()) {
+                    return bean;
+                }
+
+                List<DataSource> replicas = new ArrayList<>();
+                for (String url : urls.split(",")) {
+                    if (url.isBlank()) {
+                        continue;
+                    }
+                    HikariDataSource replica = new HikariDataSource();
+                    replica.setPoolName("replica-" + (replicas.size() + 1));
+                    replica.setJdbcUrl(url.trim());
+                    replica.setUsername(env.getProperty("spring.datasource.username"));
+                    replica.setPassword(env.getProperty("spring.datasource.password"));
+                    String driver = env.getProperty("spring.datasource.driver-class-name");
+                    if (driver != null) {
+                        replica.setDriverClassName(driver);
+                    }
+                    replica.setMaximumPoolSize(env.getProperty("transaksi.datasource.replica-pool-size", Integer.class, 10));
+                    replica.setReadOnly(true);
+                    replicas.add(replica);
+                }
+
+                return new ReadWriteRoutingDataSource(primary, replicas,
+                        env.getProperty("transaksi.datasource.max-lag-ms", Long.class, 1000L),
+                        env.getProperty("transaksi.datasource.lag-check-ms", Long.class, 1000L),
+                        env.getProperty("transaksi.datasource.lag-query", "SHOW REPLICA STATUS"));
+            }
+        };
+    }
+}
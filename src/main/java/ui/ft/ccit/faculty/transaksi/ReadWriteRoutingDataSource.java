@@ -0,0 +1,164 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Read/write splitting di level DataSource:
+// - transaksi read-only (@Transactional(readOnly = true)) dapat koneksi replica, selain itu primary.
+//   Koneksi fisik baru diambil saat statement pertama (LazyConnectionDataSourceProxy), setelah
+//   transaction manager menandai koneksi read-only, jadi pilihan primary/replica sudah pasti benar
+// - lag setiap replica diukur berkala (lagQuery, hasil dalam detik; default SHOW REPLICA STATUS).
+//   Replica yang lag-nya melewati maxLagMillis, belum/lama tidak terukur, atau gagal konek dilewati
+// - kalau tidak ada replica yang cukup segar, read-only tetap jalan di primary
+// - request yang dijawab dengan ETag versi tabel (WebConfig) dipaksa ke primary lewat primaryOnly:
+//   versi naik saat commit di primary, jadi replica yang tertinggal bisa mengirim body lama
+//   dengan ETag baru, dan client akan terus mendapat 304 untuk data lama itu
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+    private final long checkMillis;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final ScheduledExecutorService checker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "replica-lag");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                      long maxLagMillis, long checkMillis, String lagQuery) {
+        super(primary);
+        this.primary = primary;
+        this.maxLagMillis = maxLagMillis;
+        this.checkMillis = checkMillis;
+        this.lagQuery = lagQuery;
+        for (DataSource dataSource : replicaDataSources) {
+            replicas.add(new Replica(dataSource));
+        }
+        setReadOnlyDataSource(new ReplicaSelector());
+        checker.scheduleWithFixedDelay(this::checkLag, 0, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // read-only di thread ini tetap ke primary sampai clearPrimaryOnly(); tidak berpengaruh tanpa replica
+    public static void setPrimaryOnly() {
+        PRIMARY_ONLY.set(Boolean.TRUE);
+    }
+
+    public static void clearPrimaryOnly() {
+        PRIMARY_ONLY.remove();
+    }
+
+    public static boolean isPrimaryOnly() {
+        return PRIMARY_ONLY.get() != null;
+    }
+
+    // ukur ulang lag semua replica (dipanggil scheduler; package-private untuk test)
+    void checkLag() {
+        for (Replica replica : replicas) {
+            replica.lagMillis = measureLag(replica.dataSource);
+            replica.checkedAt = System.currentTimeMillis();
+        }
+    }
+
+    // lag dalam ms; -1 = tidak diketahui (bukan replica, replikasi berhenti, atau tidak bisa konek)
+    private long measureLag(DataSource dataSource) {
+        try (Connection con = dataSource.getConnection();
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return -1;
+            }
+            String seconds = rs.getString(lagColumn(rs.getMetaData()));
+            return seconds == null ? -1 : Math.round(Double.parseDouble(seconds) * 1000);
+        } catch (SQLException | NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // SHOW REPLICA STATUS (MySQL 8.0.22+) / SHOW SLAVE STATUS; query lain cukup kolom pertama
+    private static int lagColumn(ResultSetMetaData meta) throws SQLException {
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            String name = meta.getColumnLabel(i);
+            if ("Seconds_Behind_Source".equalsIgnoreCase(name) || "Seconds_Behind_Master".equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return 1;
+    }
+
+    @Override
+    public void close() throws Exception {
+        checker.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private class Replica {
+        private final DataSource dataSource;
+        private volatile long lagMillis = -1;
+        private volatile long checkedAt;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        // hasil ukur yang lebih tua dari dua interval dianggap tidak berlaku
+        boolean isFresh(long now) {
+            return lagMillis >= 0 && lagMillis <= maxLagMillis && now - checkedAt <= 2 * checkMillis;
+        }
+    }
+
+    // round-robin di antara replica yang segar; fallback ke primary
+    private class ReplicaSelector extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (isPrimaryOnly()) {
+                return primary.getConnection();
+            }
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+                if (!replica.isFresh(now)) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    // replica mati: jangan dipilih lagi sampai pengukuran berikutnya berhasil
+                    replica.lagMillis = -1;
+                }
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
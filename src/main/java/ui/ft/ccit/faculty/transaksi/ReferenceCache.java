@@ -0,0 +1,144 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Near-cache untuk tabel referensi kecil yang jarang berubah (jenis_barang, pemasok).
+// Seluruh tabel dimuat jadi satu snapshot immutable; pembaca tidak pernah ke DB selama
+// snapshot valid. Setiap write cukup invalidate, snapshot baru dibangun utuh (copy-on-write)
+// oleh pembaca berikutnya lalu dipasang dengan satu assignment volatile.
+public class ReferenceCache<ID, T> {
+
+    private final String name;
+    private final Supplier<List<T>> loader;
+    private final Function<T, ID> idOf;
+    private final Comparator<T> order;
+
+    private volatile Snapshot<ID, T> snapshot;
+    // naik setiap invalidate; snapshot hasil load yang sudah basi tidak dipasang
+    private final AtomicLong version = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+
+    public ReferenceCache(String name, Supplier<List<T>> loader, Function<T, ID> idOf, Comparator<T> order) {
+        this.name = name;
+        this.loader = loader;
+        this.idOf = idOf;
+        this.order = order;
+    }
+
+    // semua baris, urut sesuai comparator (stabil untuk pagination)
+    public List<T> all() {
+        return current().all();
+    }
+
+    public Optional<T> get(ID id) {
+        return Optional.ofNullable(current().byId().get(id));
+    }
+
+    // dipanggil oleh setiap write di service; kalau ada transaksi aktif,
+    // invalidate diulang setelah commit supaya snapshot tidak sempat dibangun dari data lama
+    public void invalidate() {
+        evict();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict();
+                }
+            });
+        }
+    }
+
+    private void evict() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot<ID, T> current() {
+        Snapshot<ID, T> s = snapshot;
+        if (s != null) {
+            hits.incrementAndGet();
+            return s;
+        }
+        misses.incrementAndGet();
+        return reload();
+    }
+
+    private synchronized Snapshot<ID, T> reload() {
+        // mungkin sudah dimuat thread lain selagi menunggu lock
+        Snapshot<ID, T> s = snapshot;
+        if (s != null) {
+            return s;
+        }
+
+        long startVersion = version.get();
+        List<T> rows = loader.get().stream().sorted(order).toList();
+        Map<ID, T> byId = new LinkedHashMap<>();
+        for (T row : rows) {
+            byId.put(idOf.apply(row), row);
+        }
+        loads.incrementAndGet();
+
+        Snapshot<ID, T> fresh = new Snapshot<>(Map.copyOf(byId), rows);
+        if (version.get() == startVersion) {
+            snapshot = fresh;
+        }
+        return fresh;
+    }
+
+    public Stats getStats() {
+        Snapshot<ID, T> s = snapshot;
+        return new Stats(name, hits.get(), misses.get(), loads.get(), s != null ? s.all().size() : 0);
+    }
+
+    private record Snapshot<ID, T>(Map<ID, T> byId, List<T> all) {
+    }
+
+    public static class Stats {
+        private final String name;
+        private final long hits;
+        private final long misses;
+        private final long loads;
+        private final int size;
+
+        public Stats(String name, long hits, long misses, long loads, int size) {
+            this.name = name;
+            this.hits = hits;
+            this.misses = misses;
+            this.loads = loads;
+            this.size = size;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getLoads() {
+            return loads;
+        }
+
+        public int getSize() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// Jumlah baris per tabel untuk header X-Total-Count (opt-in: ?count=true di list ber-page).
+// Dihitung lazy: COUNT(*) hanya jalan saat jumlah suatu tabel diminta dan nilai cache-nya sudah
+// lebih tua dari max-age. Tabel yang tidak pernah diminta tidak pernah di-COUNT.
+// Sengaja bukan refresh terjadwal: COUNT(*) detail_transaksi yang jalan tiap interval membebani
+// database walaupun tidak ada yang meminta; umur nilai tetap dibatasi max-age.
+@Component
+public class RowCountCache {
+
+    public static final String HEADER = "X-Total-Count";
+
+    private final long maxAgeNanos;
+    private final Map<String, LongSupplier> counters = new ConcurrentHashMap<>();
+    private final Map<String, Count> counts = new ConcurrentHashMap<>();
+    // tabel yang sedang di-COUNT ulang; request lain memakai nilai lama, tidak ikut menghitung
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public RowCountCache(@Value("${transaksi.row-count.max-age-ms:30000}") long maxAgeMillis) {
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+    }
+
+    // dipanggil dari constructor service, contoh: register("barang", barangRepository::count)
+    public void register(String table, LongSupplier counter) {
+        counters.put(table, counter);
+    }
+
+    public long get(String table) {
+        Count cached = counts.get(table);
+        if (cached == null) {
+            // belum pernah dihitung -> hitung sekali
+            return refresh(table);
+        }
+        if (System.nanoTime() - cached.countedAt() > maxAgeNanos && refreshing.add(table)) {
+            try {
+                return refresh(table);
+            } finally {
+                refreshing.remove(table);
+            }
+        }
+        return cached.value();
+    }
+
+    private long refresh(String table) {
+        LongSupplier counter = counters.get(table);
+        if (counter == null) {
+            throw new IllegalArgumentException("Tabel " + table + " tidak terdaftar di RowCountCache");
+        }
+        long count = counter.getAsLong();
+        counts.put(table, new Count(count, System.nanoTime()));
+        return count;
+    }
+
+    private record Count(long value, long countedAt) {
+    }
+}
@@ -41,6 +41,9 @@ public class SecurityConfig {
                         // ========== Endpoint umum tanpa auth ==========
                         .requestMatchers("/", "/error", "/actuator/health").permitAll()
 
+                        // ========== Scrape Prometheus (batasi di level network/ingress) ==========
+                        .requestMatchers(HttpMethod.GET, "/actuator/prometheus").permitAll()
+
                         // ========== Selain yang di atas → butuh auth ==========
                         .anyRequest().authenticated())
 
@@ -0,0 +1,56 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Versi per tabel untuk ETag: naik setiap ada write yang commit.
+// GET yang If-None-Match-nya sama dengan versi sekarang dijawab 304 tanpa query ke DB.
+// Counter ada di memori instance; epoch (waktu start) ikut di ETag supaya versi
+// setelah restart tidak pernah bentrok dengan ETag lama di client.
+// Hanya benar untuk deployment satu instance (docker-compose menjalankan satu "app"): write yang
+// commit di instance B tidak menaikkan counter instance A, jadi client yang polling ke A tetap
+// mendapat 304 basi. Sebelum scale out, versi harus diambil dari state bersama (mis. tabel di DB).
+@Component
+public class TableVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long get(String table) {
+        AtomicLong v = versions.get(table);
+        return v != null ? v.get() : 0;
+    }
+
+    // dipanggil dari write method service; kalau ada transaksi, versi baru naik setelah commit
+    // (rollback tidak mengubah versi, dan client tidak sempat menyimpan ETag untuk data yang belum commit)
+    public void bump(String table) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(table);
+                }
+            });
+        } else {
+            increment(table);
+        }
+    }
+
+    private void increment(String table) {
+        versions.computeIfAbsent(table, t -> new AtomicLong()).incrementAndGet();
+    }
+
+    // weak ETag gabungan beberapa tabel, mis. W/"lx2k9a-barang.12"
+    public String etag(String... tables) {
+        StringBuilder sb = new StringBuilder("W/\"").append(epoch);
+        for (String table : tables) {
+            sb.append('-').append(table).append('.').append(get(table));
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,192 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Inverted index trigram (3 huruf) di memori untuk pencarian "nama mengandung q".
+// Pengganti LOWER(nama) LIKE '%q%' yang selalu full table scan:
+// kandidat diambil dari irisan posting list trigram q, lalu dicek substring-nya,
+// dan diurutkan (awal teks > awal kata > tengah kata, lalu teks terpendek).
+public class TrigramIndex<ID extends Comparable<ID>> {
+
+    private static final int N = 3;
+
+    private final Map<String, Set<ID>> postings = new ConcurrentHashMap<>();
+    private final Map<ID, String> documents = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    // index siap dipakai setelah build awal selesai; sebelum itu service pakai LIKE
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        this.ready = true;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    // tambah/ganti dokumen; beberapa field (mis. nama + alamat) digabung jadi satu teks.
+    // put/remove untuk ID yang sama diserialkan oleh documents.compute, jadi dua update bersamaan
+    // tidak meninggalkan posting campuran; trigram yang tetap ada tidak dilepas dulu
+    public void put(ID id, String... fields) {
+        StringBuilder text = new StringBuilder();
+        for (String field : fields) {
+            if (field != null && !field.isBlank()) {
+                if (!text.isEmpty()) {
+                    text.append('\n');
+                }
+                text.append(normalize(field));
+            }
+        }
+        String doc = text.toString();
+        Set<String> grams = trigrams(doc);
+
+        documents.compute(id, (key, old) -> {
+            if (old != null) {
+                for (String gram : trigrams(old)) {
+                    if (!grams.contains(gram)) {
+                        unpost(gram, key);
+                    }
+                }
+            }
+            for (String gram : grams) {
+                post(gram, key);
+            }
+            return doc;
+        });
+    }
+
+    public void remove(ID id) {
+        documents.computeIfPresent(id, (key, old) -> {
+            for (String gram : trigrams(old)) {
+                unpost(gram, key);
+            }
+            return null;
+        });
+    }
+
+    // posting list diubah atomik per trigram: set yang kosong dibuang di dalam compute yang sama,
+    // jadi add dari put lain tidak bisa masuk ke set yang sedang dibuang
+    private void post(String gram, ID id) {
+        postings.compute(gram, (g, ids) -> {
+            Set<ID> set = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            set.add(id);
+            return set;
+        });
+    }
+
+    private void unpost(String gram, ID id) {
+        postings.computeIfPresent(gram, (g, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    // versi transactional: index baru diubah setelah commit, rollback tidak mengotori index
+    public void putAfterCommit(ID id, String... fields) {
+        afterCommit(() -> put(id, fields));
+    }
+
+    public void removeAfterCommit(ID id) {
+        afterCommit(() -> remove(id));
+    }
+
+    // ID yang teksnya mengandung query, sudah diurutkan berdasarkan ranking
+    public List<ID> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return List.of();
+        }
+
+        List<ID> matches = new ArrayList<>();
+        for (ID id : candidates(q)) {
+            String doc = documents.get(id);
+            if (doc != null && doc.contains(q)) {
+                matches.add(id);
+            }
+        }
+
+        matches.sort(Comparator
+                .comparingInt((ID id) -> rank(documents.getOrDefault(id, ""), q))
+                .thenComparingInt(id -> documents.getOrDefault(id, "").length())
+                .thenComparing(Comparator.naturalOrder()));
+
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    private Set<ID> candidates(String q) {
+        // query < 3 huruf tidak punya trigram -> cek semua dokumen (tetap di memori)
+        if (q.length() < N) {
+            return documents.keySet();
+        }
+
+        // irisan posting list, mulai dari yang paling kecil
+        List<Set<ID>> lists = new ArrayList<>();
+        for (String gram : trigrams(q)) {
+            Set<ID> ids = postings.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<ID> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    // 0 = teks diawali q, 1 = q di awal kata, 2 = q di tengah kata
+    private static int rank(String doc, String q) {
+        if (doc.startsWith(q)) {
+            return 0;
+        }
+        int at = doc.indexOf(q);
+        while (at > 0) {
+            if (!Character.isLetterOrDigit(doc.charAt(at - 1))) {
+                return 1;
+            }
+            at = doc.indexOf(q, at + 1);
+        }
+        return 2;
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + N <= text.length(); i++) {
+            grams.add(text.substring(i, i + N));
+        }
+        return grams;
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final TableVersions tableVersions;
+
+    public WebConfig(TableVersions tableVersions) {
+        this.tableVersions = tableVersions;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // conditional GET (ETag dari versi tabel) untuk endpoint yang sering di-poll dashboard
+        // ?expand=jenis,pemasok ikut membaca jenis_barang dan pemasok, jadi versinya ikut di ETag
+        registry.addInterceptor(new TableEtagInterceptor("barang").expandsTo("jenis_barang", "pemasok"))
+                .addPathPatterns("/api/barang", "/api/barang/**");
+        registry.addInterceptor(new TableEtagInterceptor("jenis_barang"))
+                .addPathPatterns("/api/jenis-barang", "/api/jenis-barang/**")
+                .excludePathPatterns("/api/jenis-barang/cache/stats");
+        registry.addInterceptor(new TableEtagInterceptor("pemasok"))
+                .addPathPatterns("/api/pemasok", "/api/pemasok/**")
+                .excludePathPatterns("/api/pemasok/cache/stats");
+    }
+
+    // CBOR (application/cbor) dan Smile (application/x-jackson-smile) sudah didaftarkan Spring MVC
+    // begitu jackson-dataformat-nya ada di classpath. Avro ditaruh paling akhir supaya
+    // Accept: */* tetap dijawab JSON
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new AvroHttpMessageConverter());
+    }
+
+    // GET/HEAD: pasang ETag; kalau If-None-Match cocok -> 304 dan controller tidak dipanggil.
+    // Body-nya dibaca dari primary: versi tabel naik saat commit di primary, replica yang tertinggal
+    // bisa mengembalikan data lama yang lalu disimpan client di bawah ETag baru
+    private class TableEtagInterceptor implements AsyncHandlerInterceptor {
+
+        private final String[] tables;
+        private String[] expandedTables;
+
+        TableEtagInterceptor(String... tables) {
+            this.tables = tables;
+        }
+
+        // tabel tambahan kalau request memakai ?expand=
+        TableEtagInterceptor expandsTo(String... related) {
+            expandedTables = new String[tables.length + related.length];
+            System.arraycopy(tables, 0, expandedTables, 0, tables.length);
+            System.arraycopy(related, 0, expandedTables, tables.length, related.length);
+            return this;
+        }
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            String method = request.getMethod();
+            if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+                return true;
+            }
+            // representasi (JSON/CBOR/Smile/Avro) dipilih dari Accept, jadi ETag yang sama berlaku per Accept
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            String etag = tableVersions.etag(expandedTables != null && request.getParameter("expand") != null
+                    ? expandedTables : tables);
+            if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+                return false;
+            }
+            ReadWriteRoutingDataSource.setPrimaryOnly();
+            return true;
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                    Exception ex) {
+            ReadWriteRoutingDataSource.clearPrimaryOnly();
+        }
+
+        // response streaming (NDJSON) ditulis di thread lain; NdjsonExporter membawa flag ke sana
+        @Override
+        public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                                   Object handler) {
+            ReadWriteRoutingDataSource.clearPrimaryOnly();
+        }
+    }
+}
@@ -1,28 +1,49 @@
 package ui.ft.ccit.faculty.transaksi.barang.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import ui.ft.ccit.faculty.transaksi.BulkIngestor;
+import ui.ft.ccit.faculty.transaksi.CsvImporter;
+import ui.ft.ccit.faculty.transaksi.InvalidDataException;
+import ui.ft.ccit.faculty.transaksi.KeysetPage;
+import ui.ft.ccit.faculty.transaksi.NdjsonExporter;
+import ui.ft.ccit.faculty.transaksi.RowCountCache;
 import ui.ft.ccit.faculty.transaksi.barang.model.Barang;
+import ui.ft.ccit.faculty.transaksi.barang.model.BarangExpanded;
+import ui.ft.ccit.faculty.transaksi.barang.model.HapusBarangRequest;
+import ui.ft.ccit.faculty.transaksi.barang.model.ReservasiStokRequest;
 import ui.ft.ccit.faculty.transaksi.barang.view.BarangService;
+import ui.ft.ccit.faculty.transaksi.deletejob.model.DeleteJob;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/barang")
 public class BarangController {
 
     private final BarangService service;
+    private final NdjsonExporter ndjsonExporter;
 
-    public BarangController(BarangService service) {
+    public BarangController(BarangService service, NdjsonExporter ndjsonExporter) {
         this.service = service;
+        this.ndjsonExporter = ndjsonExporter;
     }
 
     // GET list semua barang
     @GetMapping
     public List<Barang> list(
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer size) {
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
+            HttpServletResponse response) {
         // TANPA pagination
         if (page == null && size == null) {
             return service.getAll();
@@ -31,9 +52,88 @@ public class BarangController {
         // DENGAN pagination
         int p = (page != null && page >= 0) ? page : 0;
         int s = (size != null && size > 0) ? size : 5;
+        if (count) {
+            response.setHeader(RowCountCache.HEADER, String.valueOf(service.getTotalCount()));
+        }
         return service.getAllWithPagination(p, s);
     }
 
+    // GET semua barang sebagai NDJSON streaming, hanya kalau diminta eksplisit (Accept: application/x-ndjson)
+    @GetMapping(produces = NdjsonExporter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> listStream(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) throws HttpMediaTypeNotAcceptableException {
+        NdjsonExporter.requireUnpaged(page, size);
+        return ndjsonExporter.export(service::streamAll);
+    }
+
+    // GET list + jenis dan pemasok tiap barang: ?expand=jenis,pemasok (boleh ditambah page/size).
+    // Satu query join, client tidak perlu GET /api/jenis-barang/{id} dan /api/pemasok/{id} per baris
+    @GetMapping(params = { "expand", "!fields" })
+    public List<BarangExpanded> listExpanded(
+            @RequestParam String expand,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
+            HttpServletResponse response) {
+        if (page == null && size == null) {
+            return service.getAllExpanded(expand);
+        }
+
+        int p = (page != null && page >= 0) ? page : 0;
+        int s = (size != null && size > 0) ? size : 5;
+        if (count) {
+            response.setHeader(RowCountCache.HEADER, String.valueOf(service.getTotalCount()));
+        }
+        return service.getAllWithPaginationExpanded(expand, p, s);
+    }
+
+    // ?fields= hanya membaca kolom barang, jadi tidak bisa digabung dengan ?expand=
+    @GetMapping(params = { "fields", "expand" })
+    public List<Map<String, Object>> listFieldsExpanded() {
+        throw new InvalidDataException("expand", "tidak bisa digabung dengan fields");
+    }
+
+    // GET barang dengan keyset pagination: ?cursor=&size=20, lalu kirim nextCursor berikutnya
+    @GetMapping(params = "cursor")
+    public KeysetPage<Barang> listAfter(
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size) {
+        int s = (size != null && size > 0) ? size : 5;
+        return service.getPageAfter(cursor, s);
+    }
+
+    // GET list dengan field terpilih saja: ?fields=idBarang,nama,harga (boleh ditambah page/size).
+    // Kolom lain tidak di-SELECT sama sekali
+    @GetMapping(params = { "fields", "!expand" })
+    public List<Map<String, Object>> listFields(
+            @RequestParam String fields,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
+            HttpServletResponse response) {
+        if (page == null && size == null) {
+            return service.getAllProjected(fields);
+        }
+
+        int p = (page != null && page >= 0) ? page : 0;
+        int s = (size != null && size > 0) ? size : 5;
+        if (count) {
+            response.setHeader(RowCountCache.HEADER, String.valueOf(service.getTotalCount()));
+        }
+        return service.getAllWithPaginationProjected(fields, p, s);
+    }
+
+    // GET keyset pagination + field terpilih: ?cursor=&size=20&fields=nama,harga (idBarang selalu ikut)
+    @GetMapping(params = { "cursor", "fields", "!expand" })
+    public KeysetPage<Map<String, Object>> listAfterFields(
+            @RequestParam String cursor,
+            @RequestParam String fields,
+            @RequestParam(required = false) Integer size) {
+        int s = (size != null && size > 0) ? size : 5;
+        return service.getPageAfterProjected(fields, cursor, s);
+    }
+
     // GET satu barang by id
     @GetMapping("/{id}")
     public Barang get(@PathVariable String id) {
@@ -42,8 +142,21 @@ public class BarangController {
 
     // SEARCH by nama
     @GetMapping("/search")
-    public List<Barang> search(@RequestParam String q) {
-        return service.searchByNama(q);
+    public List<Barang> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        int l = (limit != null && limit > 0) ? limit : 50;
+        return service.searchByNama(q, l);
+    }
+
+    // SEARCH by nama, field terpilih saja (idBarang selalu ikut)
+    @GetMapping(value = "/search", params = "fields")
+    public List<Map<String, Object>> searchFields(
+            @RequestParam String q,
+            @RequestParam String fields,
+            @RequestParam(required = false) Integer limit) {
+        int l = (limit != null && limit > 0) ? limit : 50;
+        return service.searchByNamaProjected(fields, q, l);
     }
 
     // POST - create barang baru
@@ -60,6 +173,31 @@ public class BarangController {
         return service.saveBulk(barang);
     }
 
+    // POST - import CSV streaming (Content-Type: text/csv, baris pertama header idBarang,nama,stok,harga,...).
+    // Baris invalid / ID yang sudah ada dilaporkan per baris, baris lain tetap di-import
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public CsvImporter.Result importCsv(HttpServletRequest request) throws IOException {
+        return service.importCsv(request.getInputStream());
+    }
+
+    // PUT - upsert barang bulk: yang belum ada dibuat, yang sudah ada ditimpa
+    @PutMapping("/bulk")
+    public BulkIngestor.UpsertResult upsertBulk(@RequestBody List<Barang> barang) {
+        return service.upsertBulk(barang);
+    }
+
+    // POST - reservasi stok (pengurangan atomik, aman untuk banyak kasir sekaligus)
+    @PostMapping("/reservasi")
+    public List<Barang> reserve(@RequestBody ReservasiStokRequest request) {
+        return service.reserveStok(request);
+    }
+
+    // POST - batalkan reservasi stok (stok dikembalikan)
+    @PostMapping("/reservasi/batal")
+    public List<Barang> release(@RequestBody ReservasiStokRequest request) {
+        return service.releaseStok(request);
+    }
+
     // PUT - edit/update barang
     @PutMapping("/{id}")
     public Barang update(@PathVariable String id, @RequestBody Barang barang) {
@@ -72,6 +210,13 @@ public class BarangController {
         service.deleteBulk(ids);
     }
 
+    // POST - job hapus besar di background (ids atau filter), progress di /api/delete-jobs/{id}
+    @PostMapping("/delete-jobs")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public DeleteJob submitDeleteJob(@RequestBody HapusBarangRequest request) {
+        return service.submitDeleteJob(request);
+    }
+
     // DELETE - hapus barang
     @DeleteMapping("/{id}")
     public void delete(@PathVariable String id) {
@@ -0,0 +1,36 @@
+package ui.ft.ccit.faculty.transaksi.barang.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+import ui.ft.ccit.faculty.transaksi.jenisbarang.model.JenisBarang;
+import ui.ft.ccit.faculty.transaksi.pemasok.model.Pemasok;
+
+// item GET /api/barang?expand=jenis,pemasok: field barang seperti biasa + objek jenis/pemasok.
+// Yang tidak diminta di expand (atau ID-nya tidak ada di tabel induk) tidak ditulis di JSON
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BarangExpanded {
+
+    @JsonUnwrapped
+    private final Barang barang;
+    private final JenisBarang jenis;
+    private final Pemasok pemasok;
+
+    public BarangExpanded(Barang barang, JenisBarang jenis, Pemasok pemasok) {
+        this.barang = barang;
+        this.jenis = jenis;
+        this.pemasok = pemasok;
+    }
+
+    public Barang getBarang() {
+        return barang;
+    }
+
+    public JenisBarang getJenis() {
+        return jenis;
+    }
+
+    public Pemasok getPemasok() {
+        return pemasok;
+    }
+}
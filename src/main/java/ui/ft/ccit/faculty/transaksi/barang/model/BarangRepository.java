@@ -1,11 +1,35 @@
 package ui.ft.ccit.faculty.transaksi.barang.model;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface BarangRepository extends JpaRepository<Barang, String> {
 
+    // halaman tanpa COUNT(*) (Slice, bukan Page)
+    Slice<Barang> findAllBy(Pageable pageable);
+
+    // barang + jenis + pemasok dalam satu query (LEFT JOIN: barang tetap muncul walau induknya tidak ada).
+    // Hasil per baris: [Barang, JenisBarang atau null, Pemasok atau null]
+    String EXPANDED = "SELECT b, j, p FROM Barang b"
+            + " LEFT JOIN JenisBarang j ON j.idJenisBarang = b.idJenisBarang"
+            + " LEFT JOIN Pemasok p ON p.idPemasok = b.idPemasok ORDER BY b.idBarang";
+
+    @Query(EXPANDED)
+    List<Object[]> findAllExpanded();
+
+    @Query(EXPANDED)
+    Slice<Object[]> findAllExpanded(Pageable pageable);
+
     // cari berdasarkan nama mengandung kata tertentu
     List<Barang> findByNamaContainingIgnoreCase(String keyword);
 
@@ -14,4 +38,51 @@ public interface BarangRepository extends JpaRepository<Barang, String> {
 
     // hitung berapa banyak barang dengan idBarang dalam daftar tertentu
     long countByIdBarangIn(List<String> idBarangList);
+
+    // kurangi stok secara atomik, hanya kalau stok masih cukup (0 = gagal)
+    @Modifying
+    @Query(value = "UPDATE barang SET stok = stok - :jumlah WHERE id_barang = :idBarang AND stok >= :jumlah",
+            nativeQuery = true)
+    int kurangiStok(@Param("idBarang") String idBarang, @Param("jumlah") int jumlah);
+
+    // kembalikan stok secara atomik (batal reservasi), tidak boleh melewati batas smallint
+    @Modifying
+    @Query(value = "UPDATE barang SET stok = stok + :jumlah WHERE id_barang = :idBarang AND stok <= 32767 - :jumlah",
+            nativeQuery = true)
+    int tambahStok(@Param("idBarang") String idBarang, @Param("jumlah") int jumlah);
+
+    // ID barang yang cocok dengan filter job hapus (parameter null = tidak difilter)
+    @Query("SELECT b.idBarang FROM Barang b WHERE (:idPemasok IS NULL OR b.idPemasok = :idPemasok)"
+            + " AND (:idJenisBarang IS NULL OR b.idJenisBarang = :idJenisBarang) ORDER BY b.idBarang")
+    List<String> findIdsByFilter(@Param("idPemasok") String idPemasok, @Param("idJenisBarang") Byte idJenisBarang);
+
+    // ID barang milik pemasok / jenis barang tertentu (yang ikut terhapus lewat FK cascade)
+    @Query("SELECT b.idBarang FROM Barang b WHERE b.idPemasok IN :idPemasok")
+    List<String> findIdsByIdPemasokIn(@Param("idPemasok") Collection<String> idPemasok);
+
+    @Query("SELECT b.idBarang FROM Barang b WHERE b.idJenisBarang IN :idJenisBarang")
+    List<String> findIdsByIdJenisBarangIn(@Param("idJenisBarang") Collection<Byte> idJenisBarang);
+
+    // satu potong barang milik pemasok untuk job hapus pemasok (barang dihapus sebelum pemasoknya)
+    @Query(value = "SELECT id_barang FROM barang WHERE id_pemasok IN (:idPemasok) LIMIT :limit",
+            nativeQuery = true)
+    List<String> findIdsByIdPemasokIn(@Param("idPemasok") Collection<String> idPemasok, @Param("limit") int limit);
+
+    // keyset pagination: seek ke id_barang setelah cursor, biaya sama di halaman berapa pun
+    @Query(value = "SELECT * FROM barang WHERE id_barang > :afterId ORDER BY id_barang LIMIT :limit",
+            nativeQuery = true)
+    List<Barang> findPageAfter(@Param("afterId") String afterId, @Param("limit") int limit);
+
+    // stream semua barang (fetch size MIN_VALUE = streaming result set MySQL, read-only)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT b FROM Barang b")
+    Stream<Barang> streamAll();
+
+    // (id, nama) untuk membangun index pencarian trigram, streaming tanpa entity
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query("SELECT b.idBarang, b.nama FROM Barang b")
+    Stream<Object[]> streamSearchFields();
 }
@@ -0,0 +1,47 @@
+package ui.ft.ccit.faculty.transaksi.barang.model;
+
+import java.util.List;
+
+// payload job hapus barang: daftar ID, ATAU filter pemasok / jenis barang
+// (boleh dua-duanya, barang harus cocok dengan semua filter yang diisi)
+public class HapusBarangRequest {
+
+    private List<String> ids;
+    private String idPemasok;
+    private Byte idJenisBarang;
+
+    public HapusBarangRequest() {
+    }
+
+    public HapusBarangRequest(List<String> ids, String idPemasok, Byte idJenisBarang) {
+        this.ids = ids;
+        this.idPemasok = idPemasok;
+        this.idJenisBarang = idJenisBarang;
+    }
+
+    // === GETTERS & SETTERS ===
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public String getIdPemasok() {
+        return idPemasok;
+    }
+
+    public void setIdPemasok(String idPemasok) {
+        this.idPemasok = idPemasok;
+    }
+
+    public Byte getIdJenisBarang() {
+        return idJenisBarang;
+    }
+
+    public void setIdJenisBarang(Byte idJenisBarang) {
+        this.idJenisBarang = idJenisBarang;
+    }
+}
@@ -0,0 +1,58 @@
+package ui.ft.ccit.faculty.transaksi.barang.model;
+
+import java.util.List;
+
+// payload reservasi / pembatalan reservasi stok: beberapa barang sekaligus
+public class ReservasiStokRequest {
+
+    private List<Item> items;
+
+    public ReservasiStokRequest() {
+    }
+
+    public ReservasiStokRequest(List<Item> items) {
+        this.items = items;
+    }
+
+    // === GETTERS & SETTERS ===
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    // === ITEM (satu barang + jumlah) ===
+
+    public static class Item {
+
+        private String idBarang;
+        private Short jumlah;
+
+        public Item() {
+        }
+
+        public Item(String idBarang, Short jumlah) {
+            this.idBarang = idBarang;
+            this.jumlah = jumlah;
+        }
+
+        public String getIdBarang() {
+            return idBarang;
+        }
+
+        public void setIdBarang(String idBarang) {
+            this.idBarang = idBarang;
+        }
+
+        public Short getJumlah() {
+            return jumlah;
+        }
+
+        public void setJumlah(Short jumlah) {
+            this.jumlah = jumlah;
+        }
+    }
+}
\ No newline at end of file
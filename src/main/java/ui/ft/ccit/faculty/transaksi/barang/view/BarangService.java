@@ -1,44 +1,228 @@
 package ui.ft.ccit.faculty.transaksi.barang.view;
 
+import ui.ft.ccit.faculty.transaksi.BulkIngestor;
+import ui.ft.ccit.faculty.transaksi.CsvImporter;
 import ui.ft.ccit.faculty.transaksi.DataAlreadyExistsException;
 import ui.ft.ccit.faculty.transaksi.DataNotFoundException;
+import ui.ft.ccit.faculty.transaksi.FieldProjection;
 import ui.ft.ccit.faculty.transaksi.InvalidDataException;
+import ui.ft.ccit.faculty.transaksi.KeysetCursor;
+import ui.ft.ccit.faculty.transaksi.KeysetPage;
+import ui.ft.ccit.faculty.transaksi.RowCountCache;
+import ui.ft.ccit.faculty.transaksi.TableVersions;
+import ui.ft.ccit.faculty.transaksi.TrigramIndex;
 import ui.ft.ccit.faculty.transaksi.barang.model.Barang;
+import ui.ft.ccit.faculty.transaksi.barang.model.BarangExpanded;
 import ui.ft.ccit.faculty.transaksi.barang.model.BarangRepository;
+import ui.ft.ccit.faculty.transaksi.barang.model.HapusBarangRequest;
+import ui.ft.ccit.faculty.transaksi.barang.model.ReservasiStokRequest;
+import ui.ft.ccit.faculty.transaksi.deletejob.model.DeleteJob;
+import ui.ft.ccit.faculty.transaksi.deletejob.view.DeleteJobService;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksiRepository;
+import ui.ft.ccit.faculty.transaksi.jenisbarang.model.JenisBarang;
+import ui.ft.ccit.faculty.transaksi.pemasok.model.Pemasok;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class BarangService {
 
     private final BarangRepository barangRepository;
+    private final DetailTransaksiRepository detailTransaksiRepository;
+    private final BulkIngestor bulkIngestor;
+    private final CsvImporter csvImporter;
+    private final RowCountCache rowCountCache;
+    private final TableVersions tableVersions;
+    private final DeleteJobService deleteJobService;
+    private final FieldProjection fieldProjection;
 
-    public BarangService(BarangRepository barangRepository) {
+    // index trigram untuk /search (nama), dijaga incremental setiap write
+    private final TrigramIndex<String> searchIndex = new TrigramIndex<>();
+
+    public BarangService(BarangRepository barangRepository,
+                         DetailTransaksiRepository detailTransaksiRepository,
+                         BulkIngestor bulkIngestor,
+                         CsvImporter csvImporter,
+                         RowCountCache rowCountCache,
+                         TableVersions tableVersions,
+                         DeleteJobService deleteJobService,
+                         FieldProjection fieldProjection) {
         this.barangRepository = barangRepository;
+        this.detailTransaksiRepository = detailTransaksiRepository;
+        this.bulkIngestor = bulkIngestor;
+        this.csvImporter = csvImporter;
+        this.rowCountCache = rowCountCache;
+        this.tableVersions = tableVersions;
+        this.deleteJobService = deleteJobService;
+        this.fieldProjection = fieldProjection;
+        rowCountCache.register("barang", barangRepository::count);
     }
 
+    @Transactional(readOnly = true)
     public List<Barang> getAll() {
         return barangRepository.findAll();
     }
 
+    // untuk export streaming: harus dipanggil di dalam transaksi yang masih terbuka
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<Barang> streamAll() {
+        return barangRepository.streamAll();
+    }
+
+    @Transactional(readOnly = true)
     public List<Barang> getAllWithPagination(int page, int size) {
         return barangRepository
-                .findAll(PageRequest.of(page, size))
+                .findAllBy(PageRequest.of(page, size))
                 .getContent();
     }
 
+    // === ?expand=jenis,pemasok: jenis dan pemasok ikut di setiap item, satu query join (bukan N+1) ===
+
+    @Transactional(readOnly = true)
+    public List<BarangExpanded> getAllExpanded(String expand) {
+        return expand(barangRepository.findAllExpanded(), expand);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BarangExpanded> getAllWithPaginationExpanded(String expand, int page, int size) {
+        return expand(barangRepository.findAllExpanded(PageRequest.of(page, size)).getContent(), expand);
+    }
+
+    // join ke jenis_barang & pemasok selalu lewat primary key, jadi query yang sama dipakai untuk
+    // semua kombinasi expand; bagian yang tidak diminta dibuang di sini
+    private List<BarangExpanded> expand(List<Object[]> rows, String expand) {
+        boolean jenis = false;
+        boolean pemasok = false;
+        for (String part : expand.split(",")) {
+            switch (part.trim()) {
+                case "jenis" -> jenis = true;
+                case "pemasok" -> pemasok = true;
+                case "" -> { }
+                default -> throw new InvalidDataException("expand",
+                        "tidak dikenal: " + part.trim() + " (tersedia: jenis,pemasok)");
+            }
+        }
+        if (!jenis && !pemasok) {
+            throw new InvalidDataException("expand", "minimal satu dari jenis,pemasok");
+        }
+
+        List<BarangExpanded> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            result.add(new BarangExpanded((Barang) row[0],
+                    jenis ? (JenisBarang) row[1] : null,
+                    pemasok ? (Pemasok) row[2] : null));
+        }
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public long getTotalCount() {
+        return rowCountCache.get("barang");
+    }
+
+    // keyset pagination: ambil size+1 baris untuk tahu masih ada halaman berikutnya
+    @Transactional(readOnly = true)
+    public KeysetPage<Barang> getPageAfter(String cursor, int size) {
+        String afterId = KeysetCursor.decode(cursor, 1)[0];
+        List<Barang> rows = barangRepository.findPageAfter(afterId, size + 1);
+
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<Barang> items = rows.subList(0, size);
+        Barang last = items.get(size - 1);
+        return new KeysetPage<>(items, KeysetCursor.encode(last.getIdBarang()));
+    }
+
+    @Transactional(readOnly = true)
     public Barang getById(String id) {
         return barangRepository.findById(id)
                 .orElseThrow(() -> new DataNotFoundException("Barang", id));
     }
 
-    public List<Barang> searchByNama(String keyword) {
-        return barangRepository.findByNamaContainingIgnoreCase(keyword);
+    // index trigram dibangun setelah aplikasi start; sebelum selesai, search pakai LIKE
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildSearchIndex() {
+        try (Stream<Object[]> rows = barangRepository.streamSearchFields()) {
+            rows.forEach(r -> searchIndex.put((String) r[0], (String) r[1]));
+        }
+        searchIndex.markReady();
+    }
+
+    // hasil terurut ranking dari index, maksimal limit baris
+    @Transactional(readOnly = true)
+    public List<Barang> searchByNama(String keyword, int limit) {
+        if (!searchIndex.isReady()) {
+            List<Barang> hasil = barangRepository.findByNamaContainingIgnoreCase(keyword);
+            return hasil.size() > limit ? hasil.subList(0, limit) : hasil;
+        }
+
+        List<String> ids = searchIndex.search(keyword, limit);
+        Map<String, Barang> byId = barangRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Barang::getIdBarang, Function.identity()));
+        // pertahankan urutan ranking dari index
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    // === ?fields= : projection, hanya kolom terpilih yang dibaca (lihat FieldProjection) ===
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllProjected(String fields) {
+        return fieldProjection.find(fieldProjection.select(Barang.class, fields), null, Map.of(), 0, -1);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllWithPaginationProjected(String fields, int page, int size) {
+        return fieldProjection.find(fieldProjection.select(Barang.class, fields), null, Map.of(), page * size, size);
+    }
+
+    // idBarang selalu ikut di item karena nextCursor dibangun darinya
+    @Transactional(readOnly = true)
+    public KeysetPage<Map<String, Object>> getPageAfterProjected(String fields, String cursor, int size) {
+        String afterId = KeysetCursor.decode(cursor, 1)[0];
+        List<Map<String, Object>> rows = fieldProjection.find(
+                fieldProjection.select(Barang.class, fields).withId(),
+                "e.idBarang > :afterId", Map.of("afterId", afterId), 0, size + 1);
+
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<Map<String, Object>> items = rows.subList(0, size);
+        return new KeysetPage<>(items, KeysetCursor.encode((String) items.get(size - 1).get("idBarang")));
+    }
+
+    // ID selalu ikut di item (urutan ranking dari index dipetakan lewat ID)
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> searchByNamaProjected(String fields, String keyword, int limit) {
+        FieldProjection.Selection selection = fieldProjection.select(Barang.class, fields).withId();
+        if (!searchIndex.isReady()) {
+            return fieldProjection.find(selection, "LOWER(e.nama) LIKE :keyword",
+                    Map.of("keyword", "%" + keyword.toLowerCase(Locale.ROOT) + "%"), 0, limit);
+        }
+        return fieldProjection.findAllById(selection, searchIndex.search(keyword, limit));
     }
 
     // CREATE
@@ -51,21 +235,149 @@ public class BarangService {
             throw new DataAlreadyExistsException("Barang", barang.getIdBarang());
         }
 
-        return barangRepository.save(barang);
+        tableVersions.bump("barang");
+        Barang saved = barangRepository.save(barang);
+        searchIndex.putAfterCommit(saved.getIdBarang(), saved.getNama());
+        return saved;
     }
 
     @Transactional
     public List<Barang> saveBulk(List<Barang> barangList) {
+        Set<String> ids = new HashSet<>();
         for (Barang barang : barangList) {
             if (barang.getIdBarang() == null || barang.getIdBarang().isBlank()) {
                 throw new InvalidDataException("idBarang", "wajib diisi untuk setiap barang");
             }
 
-            if (barangRepository.existsById(barang.getIdBarang())) {
+            // duplikat di dalam request itu sendiri
+            if (!ids.add(barang.getIdBarang())) {
                 throw new DataAlreadyExistsException("Barang", barang.getIdBarang());
             }
         }
-        return barangRepository.saveAll(barangList);
+
+        // satu query IN per chunk, bukan existsById per barang
+        Set<String> existing = bulkIngestor.findExistingIds(Barang.class, "idBarang", ids);
+        if (!existing.isEmpty()) {
+            throw new DataAlreadyExistsException("Barang", existing.iterator().next());
+        }
+
+        for (Barang barang : barangList) {
+            searchIndex.putAfterCommit(barang.getIdBarang(), barang.getNama());
+        }
+        tableVersions.bump("barang");
+        return bulkIngestor.insertAll(barangList);
+    }
+
+    // IMPORT CSV (streaming), header: idBarang,nama,stok,harga,persenLaba,diskon,idJenisBarang,idPemasok.
+    // Bukan satu transaksi besar: CsvImporter membuka transaksi pendek per batch
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CsvImporter.Result importCsv(InputStream in) throws IOException {
+        return csvImporter.importCsv(in, this::barangFromCsv, Barang::getIdBarang, this::importBatch);
+    }
+
+    private Barang barangFromCsv(CsvImporter.Row row) {
+        Double diskon = row.getDouble("diskon");
+        Barang barang = new Barang(row.get("idBarang"), row.get("nama"), row.getShort("stok"),
+                row.getDouble("harga"), row.getDouble("persenLaba"), diskon != null ? diskon : 0.0,
+                row.getByte("idJenisBarang"), row.get("idPemasok"));
+
+        if (barang.getIdBarang() == null) {
+            throw new InvalidDataException("idBarang", "wajib diisi");
+        }
+        // ditolak per baris, bukan menggagalkan satu batch
+        validateRequiredFields(barang, true);
+        return barang;
+    }
+
+    // kolom NOT NULL di tabel barang. stokWajib = false untuk upsert barang yang sudah ada
+    // (stok lama dipertahankan kalau tidak dikirim)
+    private void validateRequiredFields(Barang barang, boolean stokWajib) {
+        if (barang.getNama() == null || barang.getNama().isBlank()) {
+            throw new InvalidDataException("nama", "wajib diisi");
+        }
+        if (barang.getStok() == null ? stokWajib : barang.getStok() < 0) {
+            throw new InvalidDataException("stok", "wajib diisi dan tidak boleh negatif");
+        }
+        if (barang.getHarga() == null) {
+            throw new InvalidDataException("harga", "wajib diisi");
+        }
+        if (barang.getIdJenisBarang() == null) {
+            throw new InvalidDataException("idJenisBarang", "wajib diisi");
+        }
+        if (barang.getIdPemasok() == null) {
+            throw new InvalidDataException("idPemasok", "wajib diisi");
+        }
+        if (barang.getPersenLaba() == null) {
+            barang.setPersenLaba(5.0); // default kolom persen_laba
+        }
+    }
+
+    // satu batch import (di dalam transaksi batch): ID yang sudah ada dilewati dan dilaporkan
+    private List<Barang> importBatch(List<Barang> batch) {
+        Set<String> existing = bulkIngestor.findExistingIds(Barang.class, "idBarang",
+                batch.stream().map(Barang::getIdBarang).toList());
+
+        List<Barang> baru = new ArrayList<>(batch.size());
+        List<Barang> ditolak = new ArrayList<>();
+        for (Barang barang : batch) {
+            if (existing.contains(barang.getIdBarang())) {
+                ditolak.add(barang);
+            } else {
+                baru.add(barang);
+            }
+        }
+
+        tableVersions.bump("barang");
+        bulkIngestor.insertAll(baru);
+        for (Barang barang : baru) {
+            searchIndex.putAfterCommit(barang.getIdBarang(), barang.getNama());
+        }
+        return ditolak;
+    }
+
+    // UPSERT BULK: barang baru di-insert, yang sudah ada ditimpa (sinkronisasi daftar harga pemasok).
+    // Set-based: satu query IN untuk ringkasan + multi-row INSERT ... ON DUPLICATE KEY UPDATE per chunk
+    @Transactional
+    public BulkIngestor.UpsertResult upsertBulk(List<Barang> barangList) {
+        if (barangList == null || barangList.isEmpty()) {
+            throw new InvalidDataException("barang", "minimal harus ada 1 barang");
+        }
+
+        Set<String> ids = new HashSet<>();
+        for (Barang barang : barangList) {
+            if (barang.getIdBarang() == null || barang.getIdBarang().isBlank()) {
+                throw new InvalidDataException("idBarang", "wajib diisi untuk setiap barang");
+            }
+            if (!ids.add(barang.getIdBarang())) {
+                throw new InvalidDataException("idBarang", "duplikat di dalam request: " + barang.getIdBarang());
+            }
+        }
+
+        Set<String> existing = bulkIngestor.findExistingIds(Barang.class, "idBarang", ids);
+
+        List<Object[]> rows = new ArrayList<>(barangList.size());
+        for (Barang barang : barangList) {
+            // barang baru wajib lengkap; yang sudah ada boleh tanpa stok
+            validateRequiredFields(barang, !existing.contains(barang.getIdBarang()));
+            Double diskon = barang.getDiskon() != null ? barang.getDiskon() : 0.0;
+            rows.add(new Object[] { barang.getIdBarang(), barang.getNama(), barang.getStok(), barang.getHarga(),
+                    barang.getPersenLaba(), diskon, barang.getIdJenisBarang(), barang.getIdPemasok() });
+        }
+
+        List<String> onDuplicate = new ArrayList<>(
+                BulkIngestor.overwrite("nama", "harga", "persen_laba", "diskon", "id_jenis_brg", "id_pemasok"));
+        // sama seperti update(): stok hanya ditimpa kalau dikirim
+        onDuplicate.add("stok = COALESCE(new.stok, stok)");
+
+        bulkIngestor.upsert("barang",
+                List.of("id_barang", "nama", "stok", "harga", "persen_laba", "diskon", "id_jenis_brg", "id_pemasok"),
+                onDuplicate, rows);
+
+        tableVersions.bump("barang");
+        for (Barang barang : barangList) {
+            searchIndex.putAfterCommit(barang.getIdBarang(), barang.getNama());
+        }
+        return new BulkIngestor.UpsertResult(barangList.size(), existing.size());
     }
 
     // UPDATE
@@ -73,14 +385,82 @@ public class BarangService {
         Barang existing = getById(id); // akan lempar DataNotFoundException
 
         existing.setNama(updated.getNama());
-        existing.setStok(updated.getStok());
+        // stok hanya ditimpa kalau dikirim; perubahan stok yang aman dari race lewat /reservasi
+        if (updated.getStok() != null) {
+            existing.setStok(updated.getStok());
+        }
         existing.setHarga(updated.getHarga());
         existing.setPersenLaba(updated.getPersenLaba());
         existing.setDiskon(updated.getDiskon());
         existing.setIdJenisBarang(updated.getIdJenisBarang());
         existing.setIdPemasok(updated.getIdPemasok());
 
-        return barangRepository.save(existing);
+        tableVersions.bump("barang");
+        Barang saved = barangRepository.save(existing);
+        searchIndex.putAfterCommit(saved.getIdBarang(), saved.getNama());
+        return saved;
+    }
+
+    // RESERVASI STOK: kurangi stok beberapa barang sekaligus, semua atau tidak sama sekali
+    public List<Barang> reserveStok(ReservasiStokRequest request) {
+        SortedMap<String, Integer> jumlahPerBarang = jumlahPerBarang(request);
+        kurangiStok(jumlahPerBarang);
+        return barangRepository.findAllById(jumlahPerBarang.keySet());
+    }
+
+    // BATAL RESERVASI: kembalikan stok yang sebelumnya direservasi
+    public List<Barang> releaseStok(ReservasiStokRequest request) {
+        SortedMap<String, Integer> jumlahPerBarang = jumlahPerBarang(request);
+        tableVersions.bump("barang");
+        for (Map.Entry<String, Integer> entry : jumlahPerBarang.entrySet()) {
+            int updated = barangRepository.tambahStok(entry.getKey(), entry.getValue());
+            if (updated == 0) {
+                if (!barangRepository.existsById(entry.getKey())) {
+                    throw new DataNotFoundException("Barang", entry.getKey());
+                }
+                throw new IllegalStateException("Stok barang " + entry.getKey() + " melebihi batas maksimum");
+            }
+        }
+        return barangRepository.findAllById(jumlahPerBarang.keySet());
+    }
+
+    // satu UPDATE bersyarat per barang (stok >= jumlah), gagal = rollback semua.
+    // SortedMap wajib: row lock diambil urut idBarang, jadi dua reservasi/checkout
+    // dengan barang yang sama tidak bisa saling menunggu (deadlock)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void kurangiStok(SortedMap<String, Integer> jumlahPerBarang) {
+        tableVersions.bump("barang");
+        for (Map.Entry<String, Integer> entry : jumlahPerBarang.entrySet()) {
+            if (entry.getValue() > Short.MAX_VALUE) {
+                throw new InvalidDataException("jumlah", "terlalu besar untuk barang " + entry.getKey());
+            }
+            int updated = barangRepository.kurangiStok(entry.getKey(), entry.getValue());
+            if (updated == 0) {
+                if (!barangRepository.existsById(entry.getKey())) {
+                    throw new DataNotFoundException("Barang", entry.getKey());
+                }
+                throw new IllegalStateException("Stok barang " + entry.getKey() + " tidak mencukupi");
+            }
+        }
+    }
+
+    // HELPER: validasi item dan gabungkan idBarang yang sama
+    private SortedMap<String, Integer> jumlahPerBarang(ReservasiStokRequest request) {
+        if (request == null || request.getItems() == null || request.getItems().isEmpty()) {
+            throw new InvalidDataException("items", "minimal harus ada 1 item");
+        }
+
+        SortedMap<String, Integer> jumlahPerBarang = new TreeMap<>();
+        for (ReservasiStokRequest.Item item : request.getItems()) {
+            if (item.getIdBarang() == null || item.getIdBarang().isBlank()) {
+                throw new InvalidDataException("idBarang", "wajib diisi untuk setiap item");
+            }
+            if (item.getJumlah() == null || item.getJumlah() <= 0) {
+                throw new InvalidDataException("jumlah", "harus lebih dari 0 untuk setiap item");
+            }
+            jumlahPerBarang.merge(item.getIdBarang(), (int) item.getJumlah(), Integer::sum);
+        }
+        return jumlahPerBarang;
     }
 
     // DELETE
@@ -102,13 +482,81 @@ public class BarangService {
             throw new IllegalStateException("Sebagian ID tidak ditemukan, operasi dibatalkan");
         }
 
+        tableVersions.bump("barang");
         barangRepository.deleteAllById(ids);
+        ids.forEach(searchIndex::removeAfterCommit);
+    }
+
+    // JOB HAPUS di background, tanpa batas 100 ID: daftar ID atau filter (mis. semua barang satu pemasok).
+    // Filter di-resolve jadi daftar ID sekarang; barang yang masuk setelahnya tidak ikut terhapus
+    @Transactional(readOnly = true)
+    public DeleteJob submitDeleteJob(HapusBarangRequest request) {
+        if (request == null) {
+            throw new InvalidDataException("ids", "isi ids atau filter idPemasok / idJenisBarang");
+        }
+        boolean adaFilter = request.getIdPemasok() != null || request.getIdJenisBarang() != null;
+        if (request.getIds() != null && !request.getIds().isEmpty() && adaFilter) {
+            throw new InvalidDataException("ids", "pilih salah satu: ids atau filter");
+        }
+
+        List<String> ids = adaFilter
+                ? barangRepository.findIdsByFilter(request.getIdPemasok(), request.getIdJenisBarang())
+                : request.getIds();
+        // detail transaksi barang dihapus lebih dulu per potong, bukan ikut ter-cascade per chunk barang
+        return deleteJobService.submit("barang", ids, detailTransaksiRepository::deleteLimitedByIdBarangIn,
+                this::deleteChunk);
+    }
+
+    // satu chunk job hapus: dipanggil DeleteJobService di dalam transaksi pendek per chunk.
+    // DELETE ... WHERE id IN (satu statement), tidak load entity satu per satu
+    private void deleteChunk(List<String> ids) {
+        tableVersions.bump("barang");
+        barangRepository.deleteAllByIdInBatch(ids);
+        ids.forEach(searchIndex::removeAfterCommit);
     }
 
     public void delete(String id) {
         if (!barangRepository.existsById(id)) {
             throw new DataNotFoundException("Barang", id);
         }
+        tableVersions.bump("barang");
         barangRepository.deleteById(id);
+        searchIndex.removeAfterCommit(id);
+    }
+
+    // FK barang.id_pemasok / barang.id_jenis_brg ON DELETE CASCADE: barang ikut terhapus bersama induknya.
+    // Dipanggil service induk SEBELUM DELETE induk, di transaksi yang sama, supaya ETag /api/barang
+    // berubah dan barangnya keluar dari index pencarian setelah commit
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void evictCascadedByPemasok(Collection<String> idPemasok) {
+        evictCascaded(barangRepository.findIdsByIdPemasokIn(idPemasok));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void evictCascadedByJenisBarang(Collection<Byte> idJenisBarang) {
+        evictCascaded(barangRepository.findIdsByIdJenisBarangIn(idJenisBarang));
+    }
+
+    // job hapus pemasok: satu potong turunan pemasok (maksimal limit baris), detail transaksi dulu
+    // baru barangnya. Dipanggil DeleteJobService di dalam transaksi pendek per potong
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int deleteCascadedByPemasok(List<String> idPemasok, int limit) {
+        int deleted = detailTransaksiRepository.deleteLimitedByIdPemasokIn(idPemasok, limit);
+        if (deleted > 0) {
+            return deleted;
+        }
+        List<String> ids = barangRepository.findIdsByIdPemasokIn(idPemasok, limit);
+        if (!ids.isEmpty()) {
+            deleteChunk(ids);
+        }
+        return ids.size();
+    }
+
+    private void evictCascaded(List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        tableVersions.bump("barang");
+        ids.forEach(searchIndex::removeAfterCommit);
     }
 }
\ No newline at end of file
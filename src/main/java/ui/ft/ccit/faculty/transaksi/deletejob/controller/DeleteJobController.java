@@ -0,0 +1,39 @@
+package ui.ft.ccit.faculty.transaksi.deletejob.controller;
+
+import org.springframework.web.bind.annotation.*;
+
+import ui.ft.ccit.faculty.transaksi.deletejob.model.DeleteJob;
+import ui.ft.ccit.faculty.transaksi.deletejob.view.DeleteJobService;
+
+import java.util.List;
+
+// Job dibuat lewat endpoint masing-masing resource (mis. POST /api/barang/delete-jobs),
+// status dan pembatalan lewat sini
+@RestController
+@RequestMapping("/api/delete-jobs")
+public class DeleteJobController {
+
+    private final DeleteJobService service;
+
+    public DeleteJobController(DeleteJobService service) {
+        this.service = service;
+    }
+
+    // GET semua job (riwayat terbatas)
+    @GetMapping
+    public List<DeleteJob> list() {
+        return service.getAll();
+    }
+
+    // GET progress satu job
+    @GetMapping("/{id}")
+    public DeleteJob get(@PathVariable String id) {
+        return service.get(id);
+    }
+
+    // DELETE - batalkan job (berhenti sebelum chunk berikutnya)
+    @DeleteMapping("/{id}")
+    public DeleteJob cancel(@PathVariable String id) {
+        return service.cancel(id);
+    }
+}
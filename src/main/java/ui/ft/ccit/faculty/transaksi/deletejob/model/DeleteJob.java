@@ -0,0 +1,142 @@
+package ui.ft.ccit.faculty.transaksi.deletejob.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Status satu job hapus di background. Hanya thread worker yang menulis progress,
+// request GET membaca lewat field volatile.
+public class DeleteJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    private final String id;
+    private final String resource;
+    private final int total;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    // daftar ID yang akan dihapus (snapshot saat job dibuat), tidak ikut dikirim di response.
+    // Dikosongkan setelah job selesai supaya riwayat job tidak menahan memori
+    @JsonIgnore
+    private volatile List<String> ids;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile int processed;
+    private volatile int chunks;
+    // baris turunan (FK cascade) yang dihapus lebih dulu, di luar total
+    private volatile long dependentsDeleted;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+
+    public DeleteJob(String id, String resource, List<String> ids) {
+        this.id = id;
+        this.resource = resource;
+        this.ids = ids;
+        this.total = ids.size();
+    }
+
+    // === GETTERS & SETTERS ===
+
+    public String getId() {
+        return id;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(int processed) {
+        this.processed = processed;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+
+    public long getDependentsDeleted() {
+        return dependentsDeleted;
+    }
+
+    public void setDependentsDeleted(long dependentsDeleted) {
+        this.dependentsDeleted = dependentsDeleted;
+    }
+
+    // persen selesai (0-100)
+    public double getProgress() {
+        return total == 0 ? 100.0 : Math.floor(processed * 1000.0 / total) / 10.0;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public void setCancelRequested(boolean cancelRequested) {
+        this.cancelRequested = cancelRequested;
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.CANCELLED || status == Status.FAILED;
+    }
+}
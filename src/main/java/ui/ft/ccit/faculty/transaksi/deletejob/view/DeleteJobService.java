@@ -0,0 +1,199 @@
+package ui.ft.ccit.faculty.transaksi.deletejob.view;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ui.ft.ccit.faculty.transaksi.DataNotFoundException;
+import ui.ft.ccit.faculty.transaksi.InvalidDataException;
+import ui.ft.ccit.faculty.transaksi.deletejob.model.DeleteJob;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+// Penghapusan besar di background (melewati batas 100 ID deleteBulk):
+// - ID dipotong per chunk, setiap chunk satu transaksi pendek (DELETE ... WHERE id IN)
+// - baris turunan (FK ON DELETE CASCADE) dihapus lebih dulu, per chunk maksimal chunk-size baris,
+//   jadi DELETE induk tidak meng-cascade ke jumlah baris yang tidak terbatas
+// - setelah setiap chunk worker istirahat minimal selama chunk itu berjalan (duty cycle <= 50%),
+//   jadi row lock InnoDB tidak pernah ditahan lama dan checkout tetap jalan
+// - satu worker untuk semua job: dua purge besar tidak berebut lock satu sama lain
+// - progress bisa dipantau dan job bisa dibatalkan di antara chunk
+@Service
+public class DeleteJobService {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final int maxJobs;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "delete-job");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // riwayat job, urut waktu dibuat; job selesai yang paling lama dibuang kalau melebihi maxJobs
+    private final LinkedHashMap<String, DeleteJob> jobs = new LinkedHashMap<>();
+
+    public DeleteJobService(PlatformTransactionManager transactionManager,
+                            @Value("${transaksi.delete-job.chunk-size:500}") int chunkSize,
+                            @Value("${transaksi.delete-job.pause-ms:50}") long pauseMillis,
+                            @Value("${transaksi.delete-job.max-jobs:100}") int maxJobs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.maxJobs = maxJobs;
+    }
+
+    // hapus paling banyak limit baris turunan milik ids (satu tabel per panggilan, cucu dulu baru anak);
+    // mengembalikan jumlah yang terhapus, 0 = tidak ada lagi
+    @FunctionalInterface
+    public interface DependentDeleter {
+        int deleteDependents(List<String> ids, int limit);
+    }
+
+    // untuk tabel tanpa turunan
+    public DeleteJob submit(String resource, List<String> ids, Consumer<List<String>> deleteChunk) {
+        return submit(resource, ids, null, deleteChunk);
+    }
+
+    // dependents (boleh null) dan deleteChunk dipanggil di dalam transaksi per chunk; isinya DELETE set-based + efek samping
+    // (search index, versi tabel, cache) milik service pemanggil
+    public DeleteJob submit(String resource, List<String> ids, DependentDeleter dependents,
+                            Consumer<List<String>> deleteChunk) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidDataException("ids", "tidak ada data yang akan dihapus");
+        }
+        for (String id : ids) {
+            if (id == null || id.isBlank()) {
+                throw new InvalidDataException("ids", "ID tidak boleh kosong");
+            }
+        }
+
+        // ID duplikat dibuang, urutan dipertahankan
+        DeleteJob job = new DeleteJob(UUID.randomUUID().toString(), resource, List.copyOf(new LinkedHashSet<>(ids)));
+        register(job);
+        worker.submit(() -> run(job, dependents, deleteChunk));
+        return job;
+    }
+
+    public DeleteJob get(String id) {
+        synchronized (jobs) {
+            DeleteJob job = jobs.get(id);
+            if (job == null) {
+                throw new DataNotFoundException("DeleteJob", id);
+            }
+            return job;
+        }
+    }
+
+    public List<DeleteJob> getAll() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    // pembatalan berlaku sebelum chunk berikutnya; chunk yang sudah commit tidak dikembalikan
+    public DeleteJob cancel(String id) {
+        DeleteJob job = get(id);
+        if (job.isFinished()) {
+            throw new IllegalStateException("Job " + id + " sudah selesai dengan status " + job.getStatus());
+        }
+        job.setCancelRequested(true);
+        return job;
+    }
+
+    private void run(DeleteJob job, DependentDeleter dependents, Consumer<List<String>> deleteChunk) {
+        if (job.isCancelRequested()) {
+            finish(job, DeleteJob.Status.CANCELLED);
+            return;
+        }
+        job.setStatus(DeleteJob.Status.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+
+        List<String> ids = job.getIds();
+        try {
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                if (job.isCancelRequested()) {
+                    finish(job, DeleteJob.Status.CANCELLED);
+                    return;
+                }
+                List<String> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+
+                while (dependents != null) {
+                    long start = System.nanoTime();
+                    Integer deleted = transactionTemplate.execute(
+                            status -> dependents.deleteDependents(chunk, chunkSize));
+                    if (deleted == null || deleted == 0) {
+                        break;
+                    }
+                    job.setDependentsDeleted(job.getDependentsDeleted() + deleted);
+                    job.setChunks(job.getChunks() + 1);
+                    pause(start);
+                    if (job.isCancelRequested()) {
+                        finish(job, DeleteJob.Status.CANCELLED);
+                        return;
+                    }
+                }
+
+                long start = System.nanoTime();
+                transactionTemplate.executeWithoutResult(status -> deleteChunk.accept(chunk));
+
+                job.setProcessed(from + chunk.size());
+                job.setChunks(job.getChunks() + 1);
+
+                if (from + chunkSize < ids.size()) {
+                    pause(start);
+                }
+            }
+            finish(job, DeleteJob.Status.COMPLETED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(job, DeleteJob.Status.CANCELLED);
+        } catch (RuntimeException e) {
+            // chunk yang gagal di-rollback; chunk sebelumnya tetap terhapus (lihat processed)
+            job.setError(e.getMessage());
+            finish(job, DeleteJob.Status.FAILED);
+        }
+    }
+
+    // istirahat minimal selama chunk terakhir berjalan
+    private void pause(long chunkStartNanos) throws InterruptedException {
+        long elapsedMillis = (System.nanoTime() - chunkStartNanos) / 1_000_000;
+        Thread.sleep(Math.max(pauseMillis, elapsedMillis));
+    }
+
+    private void finish(DeleteJob job, DeleteJob.Status status) {
+        job.setIds(List.of());
+        job.setFinishedAt(LocalDateTime.now());
+        job.setStatus(status);
+    }
+
+    private void register(DeleteJob job) {
+        synchronized (jobs) {
+            Iterator<DeleteJob> it = jobs.values().iterator();
+            while (jobs.size() >= maxJobs && it.hasNext()) {
+                if (it.next().isFinished()) {
+                    it.remove();
+                }
+            }
+            jobs.put(job.getId(), job);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+}
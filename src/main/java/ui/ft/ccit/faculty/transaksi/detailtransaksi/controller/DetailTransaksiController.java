@@ -1,29 +1,42 @@
 package ui.ft.ccit.faculty.transaksi.detailtransaksi.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import ui.ft.ccit.faculty.transaksi.BulkIngestor;
+import ui.ft.ccit.faculty.transaksi.KeysetPage;
+import ui.ft.ccit.faculty.transaksi.NdjsonExporter;
+import ui.ft.ccit.faculty.transaksi.RowCountCache;
 import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksi;
 import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksi.DetailTransaksiId;
 import ui.ft.ccit.faculty.transaksi.detailtransaksi.view.DetailTransaksiService;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/detail-transaksi")
 public class DetailTransaksiController {
 
     private final DetailTransaksiService service;
+    private final NdjsonExporter ndjsonExporter;
 
-    public DetailTransaksiController(DetailTransaksiService service) {
+    public DetailTransaksiController(DetailTransaksiService service, NdjsonExporter ndjsonExporter) {
         this.service = service;
+        this.ndjsonExporter = ndjsonExporter;
     }
 
     // GET list semua detail transaksi
     @GetMapping
     public List<DetailTransaksi> list(
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer size) {
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
+            HttpServletResponse response) {
         // TANPA pagination
         if (page == null && size == null) {
             return service.getAll();
@@ -32,9 +45,61 @@ public class DetailTransaksiController {
         // DENGAN pagination
         int p = (page != null && page >= 0) ? page : 0;
         int s = (size != null && size > 0) ? size : 5;
+        if (count) {
+            response.setHeader(RowCountCache.HEADER, String.valueOf(service.getTotalCount()));
+        }
         return service.getAllWithPagination(p, s);
     }
 
+    // GET semua detail transaksi sebagai NDJSON streaming, hanya kalau diminta eksplisit (Accept: application/x-ndjson)
+    @GetMapping(produces = NdjsonExporter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> listStream(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) throws HttpMediaTypeNotAcceptableException {
+        NdjsonExporter.requireUnpaged(page, size);
+        return ndjsonExporter.export(service::streamAll);
+    }
+
+    // GET list dengan field terpilih saja: ?fields=idBarang,jumlah (boleh ditambah page/size)
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> listFields(
+            @RequestParam String fields,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
+            HttpServletResponse response) {
+        if (page == null && size == null) {
+            return service.getAllProjected(fields);
+        }
+
+        int p = (page != null && page >= 0) ? page : 0;
+        int s = (size != null && size > 0) ? size : 5;
+        if (count) {
+            response.setHeader(RowCountCache.HEADER, String.valueOf(service.getTotalCount()));
+        }
+        return service.getAllWithPaginationProjected(fields, p, s);
+    }
+
+    // GET keyset pagination + field terpilih: ?cursor=&size=20&fields=jumlah
+    // (kodeTransaksi dan idBarang selalu ikut)
+    @GetMapping(params = { "cursor", "fields" })
+    public KeysetPage<Map<String, Object>> listAfterFields(
+            @RequestParam String cursor,
+            @RequestParam String fields,
+            @RequestParam(required = false) Integer size) {
+        int s = (size != null && size > 0) ? size : 5;
+        return service.getPageAfterProjected(fields, cursor, s);
+    }
+
+    // GET detail transaksi dengan keyset pagination: ?cursor=&size=20, lalu kirim nextCursor berikutnya
+    @GetMapping(params = "cursor")
+    public KeysetPage<DetailTransaksi> listAfter(
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size) {
+        int s = (size != null && size > 0) ? size : 5;
+        return service.getPageAfter(cursor, s);
+    }
+
     // GET satu detail transaksi by composite id
     @GetMapping("/{kodeTransaksi}/{idBarang}")
     public DetailTransaksi get(
@@ -70,6 +135,14 @@ public class DetailTransaksiController {
         return service.saveBulk(detailTransaksiList);
     }
 
+    // PUT - upsert detail transaksi bulk, ?mode=replace (default) atau ?mode=increment (jumlah ditambah)
+    @PutMapping("/bulk")
+    public BulkIngestor.UpsertResult upsertBulk(
+            @RequestBody List<DetailTransaksi> detailTransaksiList,
+            @RequestParam(required = false) String mode) {
+        return service.upsertBulk(detailTransaksiList, mode);
+    }
+
     // PUT - update detail transaksi
     @PutMapping("/{kodeTransaksi}/{idBarang}")
     public DetailTransaksi update(
@@ -1,13 +1,25 @@
 package ui.ft.ccit.faculty.transaksi.detailtransaksi.model;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksi.DetailTransaksiId;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface DetailTransaksiRepository extends JpaRepository<DetailTransaksi, DetailTransaksiId> {
 
+    // halaman tanpa COUNT(*) (Slice, bukan Page)
+    Slice<DetailTransaksi> findAllBy(Pageable pageable);
+
     // cari semua detail transaksi berdasarkan kode transaksi
     List<DetailTransaksi> findByIdKodeTransaksi(String kodeTransaksi);
 
@@ -34,4 +46,48 @@ public interface DetailTransaksiRepository extends JpaRepository<DetailTransaksi
 
     // hitung berapa banyak detail transaksi dengan ID dalam daftar tertentu (untuk bulk validation)
     long countByIdIn(List<DetailTransaksiId> ids);
-}
\ No newline at end of file
+
+    // keyset pagination: seek ke composite key (kode_transaksi, id_barang) setelah cursor.
+    // Ditulis sebagai OR, bukan row constructor (a, b) > (x, y): bentuk ini yang pasti di-range scan
+    // MySQL di PRIMARY, row constructor bisa jatuh ke scan dari awal tabel
+    @Query(value = "SELECT * FROM detail_transaksi "
+            + "WHERE kode_transaksi > :afterKode "
+            + "OR (kode_transaksi = :afterKode AND id_barang > :afterIdBarang) "
+            + "ORDER BY kode_transaksi, id_barang LIMIT :limit",
+            nativeQuery = true)
+    List<DetailTransaksi> findPageAfter(@Param("afterKode") String afterKode,
+                                        @Param("afterIdBarang") String afterIdBarang,
+                                        @Param("limit") int limit);
+
+    // job hapus induk (barang / pemasok / pelanggan / karyawan): detail transaksi milik induk dihapus lebih
+    // dulu per potong (maksimal limit baris), bukan ikut ter-cascade sekaligus oleh DELETE induk
+    @Modifying
+    @Query(value = "DELETE FROM detail_transaksi WHERE id_barang IN (:idBarang) LIMIT :limit", nativeQuery = true)
+    int deleteLimitedByIdBarangIn(@Param("idBarang") Collection<String> idBarang, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM detail_transaksi WHERE id_barang IN "
+            + "(SELECT id_barang FROM barang WHERE id_pemasok IN (:idPemasok)) LIMIT :limit",
+            nativeQuery = true)
+    int deleteLimitedByIdPemasokIn(@Param("idPemasok") Collection<String> idPemasok, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM detail_transaksi WHERE kode_transaksi IN "
+            + "(SELECT kode_transaksi FROM transaksi WHERE id_pelanggan IN (:idPelanggan)) LIMIT :limit",
+            nativeQuery = true)
+    int deleteLimitedByIdPelangganIn(@Param("idPelanggan") Collection<String> idPelanggan, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM detail_transaksi WHERE kode_transaksi IN "
+            + "(SELECT kode_transaksi FROM transaksi WHERE id_karyawan IN (:idKaryawan)) LIMIT :limit",
+            nativeQuery = true)
+    int deleteLimitedByIdKaryawanIn(@Param("idKaryawan") Collection<String> idKaryawan, @Param("limit") int limit);
+
+    // stream semua detail transaksi (fetch size MIN_VALUE = streaming result set MySQL, read-only)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT d FROM DetailTransaksi d")
+    Stream<DetailTransaksi> streamAll();
+}
@@ -1,38 +1,87 @@
 package ui.ft.ccit.faculty.transaksi.detailtransaksi.view;
 
+import ui.ft.ccit.faculty.transaksi.BulkIngestor;
 import ui.ft.ccit.faculty.transaksi.DataAlreadyExistsException;
 import ui.ft.ccit.faculty.transaksi.DataNotFoundException;
+import ui.ft.ccit.faculty.transaksi.FieldProjection;
 import ui.ft.ccit.faculty.transaksi.InvalidDataException;
+import ui.ft.ccit.faculty.transaksi.KeysetCursor;
+import ui.ft.ccit.faculty.transaksi.KeysetPage;
+import ui.ft.ccit.faculty.transaksi.RowCountCache;
 import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksi;
 import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksi.DetailTransaksiId;
 import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksiRepository;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class DetailTransaksiService {
 
     private final DetailTransaksiRepository detailTransaksiRepository;
-
-    public DetailTransaksiService(DetailTransaksiRepository detailTransaksiRepository) {
+    private final BulkIngestor bulkIngestor;
+    private final RowCountCache rowCountCache;
+    private final FieldProjection fieldProjection;
+
+    public DetailTransaksiService(DetailTransaksiRepository detailTransaksiRepository,
+                                  BulkIngestor bulkIngestor,
+                                  RowCountCache rowCountCache,
+                                  FieldProjection fieldProjection) {
         this.detailTransaksiRepository = detailTransaksiRepository;
+        this.bulkIngestor = bulkIngestor;
+        this.rowCountCache = rowCountCache;
+        this.fieldProjection = fieldProjection;
+        rowCountCache.register("detail_transaksi", detailTransaksiRepository::count);
     }
 
+    @Transactional(readOnly = true)
     public List<DetailTransaksi> getAll() {
         return detailTransaksiRepository.findAll();
     }
 
+    // untuk export streaming: harus dipanggil di dalam transaksi yang masih terbuka
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<DetailTransaksi> streamAll() {
+        return detailTransaksiRepository.streamAll();
+    }
+
+    @Transactional(readOnly = true)
     public List<DetailTransaksi> getAllWithPagination(int page, int size) {
         return detailTransaksiRepository
-                .findAll(PageRequest.of(page, size))
+                .findAllBy(PageRequest.of(page, size))
                 .getContent();
     }
 
+    @Transactional(readOnly = true)
+    public long getTotalCount() {
+        return rowCountCache.get("detail_transaksi");
+    }
+
+    // keyset pagination: ambil size+1 baris untuk tahu masih ada halaman berikutnya
+    @Transactional(readOnly = true)
+    public KeysetPage<DetailTransaksi> getPageAfter(String cursor, int size) {
+        String[] after = KeysetCursor.decode(cursor, 2);
+        List<DetailTransaksi> rows = detailTransaksiRepository.findPageAfter(after[0], after[1], size + 1);
+
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<DetailTransaksi> items = rows.subList(0, size);
+        DetailTransaksi last = items.get(size - 1);
+        return new KeysetPage<>(items, KeysetCursor.encode(last.getKodeTransaksi(), last.getIdBarang()));
+    }
+
+    @Transactional(readOnly = true)
     public DetailTransaksi getById(DetailTransaksiId id) {
         return detailTransaksiRepository.findById(id)
                 .orElseThrow(() -> new DataNotFoundException(
@@ -41,14 +90,47 @@ public class DetailTransaksiService {
                 ));
     }
 
+    @Transactional(readOnly = true)
     public List<DetailTransaksi> getByKodeTransaksi(String kodeTransaksi) {
         return detailTransaksiRepository.findByIdKodeTransaksi(kodeTransaksi);
     }
 
+    @Transactional(readOnly = true)
     public List<DetailTransaksi> getByIdBarang(String idBarang) {
         return detailTransaksiRepository.findByIdIdBarang(idBarang);
     }
 
+    // === ?fields= : projection, hanya kolom terpilih yang dibaca (lihat FieldProjection) ===
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllProjected(String fields) {
+        return fieldProjection.find(fieldProjection.select(DetailTransaksi.class, fields), null, Map.of(), 0, -1);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllWithPaginationProjected(String fields, int page, int size) {
+        return fieldProjection.find(fieldProjection.select(DetailTransaksi.class, fields), null, Map.of(), page * size, size);
+    }
+
+    // kodeTransaksi + idBarang selalu ikut di item karena nextCursor dibangun darinya
+    @Transactional(readOnly = true)
+    public KeysetPage<Map<String, Object>> getPageAfterProjected(String fields, String cursor, int size) {
+        String[] after = KeysetCursor.decode(cursor, 2);
+        List<Map<String, Object>> rows = fieldProjection.find(
+                fieldProjection.select(DetailTransaksi.class, fields).withId(),
+                "e.id.kodeTransaksi > :afterKode"
+                        + " OR (e.id.kodeTransaksi = :afterKode AND e.id.idBarang > :afterIdBarang)",
+                Map.of("afterKode", after[0], "afterIdBarang", after[1]), 0, size + 1);
+
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<Map<String, Object>> items = rows.subList(0, size);
+        Map<String, Object> last = items.get(size - 1);
+        return new KeysetPage<>(items,
+                KeysetCursor.encode((String) last.get("kodeTransaksi"), (String) last.get("idBarang")));
+    }
+
     // CREATE
     public DetailTransaksi save(DetailTransaksi detailTransaksi) {
         // validasi ID wajib diisi
@@ -80,6 +162,7 @@ public class DetailTransaksiService {
 
     @Transactional
     public List<DetailTransaksi> saveBulk(List<DetailTransaksi> detailTransaksiList) {
+        Set<DetailTransaksiId> ids = new HashSet<>();
         for (DetailTransaksi detailTransaksi : detailTransaksiList) {
             if (detailTransaksi.getId() == null) {
                 throw new InvalidDataException("id", "wajib diisi untuk setiap detail transaksi");
@@ -93,7 +176,8 @@ public class DetailTransaksiService {
                 throw new InvalidDataException("idBarang", "wajib diisi untuk setiap detail transaksi");
             }
 
-            if (detailTransaksiRepository.existsById(detailTransaksi.getId())) {
+            // duplikat di dalam request itu sendiri
+            if (!ids.add(detailTransaksi.getId())) {
                 throw new DataAlreadyExistsException(
                     "DetailTransaksi",
                     detailTransaksi.getKodeTransaksi() + "-" + detailTransaksi.getIdBarang()
@@ -102,7 +186,66 @@ public class DetailTransaksiService {
 
             validateRequiredFields(detailTransaksi);
         }
-        return detailTransaksiRepository.saveAll(detailTransaksiList);
+
+        // satu query IN (composite key) per chunk, bukan existsById per detail
+        Set<DetailTransaksiId> existing = bulkIngestor.findExistingIds(DetailTransaksi.class, "id", ids);
+        if (!existing.isEmpty()) {
+            DetailTransaksiId id = existing.iterator().next();
+            throw new DataAlreadyExistsException(
+                "DetailTransaksi",
+                id.getKodeTransaksi() + "-" + id.getIdBarang()
+            );
+        }
+
+        return bulkIngestor.insertAll(detailTransaksiList);
+    }
+
+    // UPSERT BULK, satu multi-row INSERT ... ON DUPLICATE KEY UPDATE per chunk.
+    // mode "replace": jumlah baris yang sudah ada ditimpa; mode "increment": jumlah ditambahkan
+    // ke jumlah yang sudah ada (mis. item yang sama di-scan lagi di kasir)
+    @Transactional
+    public BulkIngestor.UpsertResult upsertBulk(List<DetailTransaksi> detailTransaksiList, String mode) {
+        List<String> onDuplicate;
+        if (mode == null || mode.isBlank() || mode.equalsIgnoreCase("replace")) {
+            onDuplicate = BulkIngestor.overwrite("jumlah");
+        } else if (mode.equalsIgnoreCase("increment")) {
+            onDuplicate = List.of("jumlah = jumlah + new.jumlah");
+        } else {
+            throw new InvalidDataException("mode", "harus 'replace' atau 'increment'");
+        }
+
+        if (detailTransaksiList == null || detailTransaksiList.isEmpty()) {
+            throw new InvalidDataException("detailTransaksi", "minimal harus ada 1 detail transaksi");
+        }
+
+        Set<DetailTransaksiId> ids = new HashSet<>();
+        List<Object[]> rows = new ArrayList<>(detailTransaksiList.size());
+        for (DetailTransaksi detailTransaksi : detailTransaksiList) {
+            if (detailTransaksi.getKodeTransaksi() == null || detailTransaksi.getKodeTransaksi().isBlank()) {
+                throw new InvalidDataException("kodeTransaksi", "wajib diisi untuk setiap detail transaksi");
+            }
+
+            if (detailTransaksi.getIdBarang() == null || detailTransaksi.getIdBarang().isBlank()) {
+                throw new InvalidDataException("idBarang", "wajib diisi untuk setiap detail transaksi");
+            }
+
+            if (!ids.add(detailTransaksi.getId())) {
+                throw new InvalidDataException("id", "duplikat di dalam request: "
+                        + detailTransaksi.getKodeTransaksi() + "-" + detailTransaksi.getIdBarang());
+            }
+
+            validateRequiredFields(detailTransaksi);
+            rows.add(new Object[] { detailTransaksi.getKodeTransaksi(), detailTransaksi.getIdBarang(),
+                    detailTransaksi.getJumlah() });
+        }
+
+        Set<DetailTransaksiId> existing = bulkIngestor.findExistingIds(DetailTransaksi.class, "id", ids);
+
+        bulkIngestor.upsert("detail_transaksi",
+                List.of("kode_transaksi", "id_barang", "jumlah"),
+                onDuplicate, rows);
+
+        return new BulkIngestor.UpsertResult(detailTransaksiList.size(), existing.size());
     }
 
     // UPDATE
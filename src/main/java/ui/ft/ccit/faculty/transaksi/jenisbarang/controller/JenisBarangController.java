@@ -1,28 +1,40 @@
 package ui.ft.ccit.faculty.transaksi.jenisbarang.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import ui.ft.ccit.faculty.transaksi.NdjsonExporter;
+import ui.ft.ccit.faculty.transaksi.ReferenceCache;
+import ui.ft.ccit.faculty.transaksi.RowCountCache;
 import ui.ft.ccit.faculty.transaksi.jenisbarang.model.JenisBarang;
 import ui.ft.ccit.faculty.transaksi.jenisbarang.view.JenisBarangService;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/jenis-barang")
 public class JenisBarangController {
 
     private final JenisBarangService service;
+    private final NdjsonExporter ndjsonExporter;
 
-    public JenisBarangController(JenisBarangService service) {
+    public JenisBarangController(JenisBarangService service, NdjsonExporter ndjsonExporter) {
         this.service = service;
+        this.ndjsonExporter = ndjsonExporter;
     }
 
     // GET list semua jenis barang
     @GetMapping
     public List<JenisBarang> list(
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer size) {
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
+            HttpServletResponse response) {
         // TANPA pagination
         if (page == null && size == null) {
             return service.getAll();
@@ -31,21 +43,65 @@ public class JenisBarangController {
         // DENGAN pagination
         int p = (page != null && page >= 0) ? page : 0;
         int s = (size != null && size > 0) ? size : 5;
+        if (count) {
+            response.setHeader(RowCountCache.HEADER, String.valueOf(service.getTotalCount()));
+        }
         return service.getAllWithPagination(p, s);
     }
 
+    // GET semua jenis barang sebagai NDJSON streaming, hanya kalau diminta eksplisit (Accept: application/x-ndjson)
+    @GetMapping(produces = NdjsonExporter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> listStream(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) throws HttpMediaTypeNotAcceptableException {
+        NdjsonExporter.requireUnpaged(page, size);
+        return ndjsonExporter.export(service::streamAll);
+    }
+
+    // GET list dengan field terpilih saja: ?fields=idJenisBarang,namaJenis (boleh ditambah page/size)
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> listFields(
+            @RequestParam String fields,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
+            HttpServletResponse response) {
+        if (page == null && size == null) {
+            return service.getAllProjected(fields);
+        }
+
+        int p = (page != null && page >= 0) ? page : 0;
+        int s = (size != null && size > 0) ? size : 5;
+        if (count) {
+            response.setHeader(RowCountCache.HEADER, String.valueOf(service.getTotalCount()));
+        }
+        return service.getAllWithPaginationProjected(fields, p, s);
+    }
+
     // GET satu jenis barang by id
     @GetMapping("/{id}")
     public JenisBarang get(@PathVariable Byte id) {
         return service.getById(id);
     }
 
+    // GET statistik near-cache jenis barang (hit/miss/load)
+    @GetMapping("/cache/stats")
+    public ReferenceCache.Stats cacheStats() {
+        return service.getCacheStats();
+    }
+
     // SEARCH by nama
     @GetMapping("/search")
     public List<JenisBarang> search(@RequestParam String q) {
         return service.searchByNama(q);
     }
 
+    // SEARCH by nama, field terpilih saja
+    @GetMapping(value = "/search", params = "fields")
+    public List<Map<String, Object>> searchFields(@RequestParam String q, @RequestParam String fields) {
+        return service.searchByNamaProjected(fields, q);
+    }
+
     // POST - create jenis barang baru
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -1,13 +1,30 @@
 package ui.ft.ccit.faculty.transaksi.jenisbarang.model;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface JenisBarangRepository extends JpaRepository<JenisBarang, Byte> {
 
+    // halaman tanpa COUNT(*) (Slice, bukan Page)
+    Slice<JenisBarang> findAllBy(Pageable pageable);
+
     // cari berdasarkan nama mengandung kata tertentu
     List<JenisBarang> findByNamaJenisContainingIgnoreCase(String keyword);
 
     // cek apakah nama jenis sudah ada (untuk validasi uniqueness)
     boolean existsByNamaJenisIgnoreCase(String namaJenis);
-}
\ No newline at end of file
+
+    // stream semua jenis barang (fetch size MIN_VALUE = streaming result set MySQL, read-only)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT j FROM JenisBarang j")
+    Stream<JenisBarang> streamAll();
+}
@@ -2,43 +2,119 @@ package ui.ft.ccit.faculty.transaksi.jenisbarang.view;
 
 import ui.ft.ccit.faculty.transaksi.DataAlreadyExistsException;
 import ui.ft.ccit.faculty.transaksi.DataNotFoundException;
+import ui.ft.ccit.faculty.transaksi.FieldProjection;
 import ui.ft.ccit.faculty.transaksi.InvalidDataException;
+import ui.ft.ccit.faculty.transaksi.ReferenceCache;
+import ui.ft.ccit.faculty.transaksi.TableVersions;
+import ui.ft.ccit.faculty.transaksi.barang.view.BarangService;
 import ui.ft.ccit.faculty.transaksi.jenisbarang.model.JenisBarang;
 import ui.ft.ccit.faculty.transaksi.jenisbarang.model.JenisBarangRepository;
 
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class JenisBarangService {
 
     private final JenisBarangRepository jenisBarangRepository;
-
-    public JenisBarangService(JenisBarangRepository jenisBarangRepository) {
+    private final TableVersions tableVersions;
+    private final FieldProjection fieldProjection;
+    private final BarangService barangService;
+
+    // snapshot seluruh tabel jenis_barang di memori, di-invalidate setiap write
+    private final ReferenceCache<Byte, JenisBarang> cache;
+
+    public JenisBarangService(JenisBarangRepository jenisBarangRepository,
+                              TableVersions tableVersions,
+                              FieldProjection fieldProjection,
+                              BarangService barangService,
+                              PlatformTransactionManager transactionManager) {
         this.jenisBarangRepository = jenisBarangRepository;
+        this.tableVersions = tableVersions;
+        this.fieldProjection = fieldProjection;
+        this.barangService = barangService;
+        // snapshot selalu dimuat dari primary, lihat PemasokService
+        TransactionTemplate primaryRead = new TransactionTemplate(transactionManager);
+        primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cache = new ReferenceCache<>("jenis_barang",
+                () -> primaryRead.execute(status -> jenisBarangRepository.findAll()),
+                JenisBarang::getIdJenisBarang,
+                Comparator.comparing(JenisBarang::getIdJenisBarang));
     }
 
+    @Transactional(readOnly = true)
     public List<JenisBarang> getAll() {
-        return jenisBarangRepository.findAll();
+        return cache.all();
+    }
+
+    // untuk export streaming: harus dipanggil di dalam transaksi yang masih terbuka
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<JenisBarang> streamAll() {
+        return jenisBarangRepository.streamAll();
     }
 
+    // pagination langsung dari snapshot (urut id), tanpa query
+    @Transactional(readOnly = true)
     public List<JenisBarang> getAllWithPagination(int page, int size) {
-        return jenisBarangRepository
-                .findAll(PageRequest.of(page, size))
-                .getContent();
+        List<JenisBarang> all = cache.all();
+        int from = (int) Math.min((long) page * size, all.size());
+        int to = Math.min(from + size, all.size());
+        return all.subList(from, to);
+    }
+
+    @Transactional(readOnly = true)
+    public long getTotalCount() {
+        return cache.all().size();
     }
 
+    @Transactional(readOnly = true)
     public JenisBarang getById(Byte id) {
-        return jenisBarangRepository.findById(id)
+        return cache.get(id)
                 .orElseThrow(() -> new DataNotFoundException("JenisBarang", String.valueOf(id)));
     }
 
+    @Transactional(readOnly = true)
     public List<JenisBarang> searchByNama(String keyword) {
-        return jenisBarangRepository.findByNamaJenisContainingIgnoreCase(keyword);
+        String k = keyword.toLowerCase();
+        return cache.all().stream()
+                .filter(j -> j.getNamaJenis() != null && j.getNamaJenis().toLowerCase().contains(k))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public ReferenceCache.Stats getCacheStats() {
+        return cache.getStats();
+    }
+
+    // === ?fields= : data sudah ada di ReferenceCache, jadi field terpilih diambil dari snapshot
+    // tanpa query; response tetap hanya berisi field terpilih ===
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllProjected(String fields) {
+        FieldProjection.Selection selection = fieldProjection.select(JenisBarang.class, fields);
+        return getAll().stream().map(selection::project).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllWithPaginationProjected(String fields, int page, int size) {
+        FieldProjection.Selection selection = fieldProjection.select(JenisBarang.class, fields);
+        return getAllWithPagination(page, size).stream().map(selection::project).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> searchByNamaProjected(String fields, String keyword) {
+        FieldProjection.Selection selection = fieldProjection.select(JenisBarang.class, fields);
+        return searchByNama(keyword).stream().map(selection::project).toList();
     }
 
     // CREATE
@@ -52,6 +128,8 @@ public class JenisBarangService {
             throw new DataAlreadyExistsException("JenisBarang", jenisBarang.getNamaJenis());
         }
 
+        cache.invalidate();
+        tableVersions.bump("jenis_barang");
         return jenisBarangRepository.save(jenisBarang);
     }
 
@@ -66,12 +144,16 @@ public class JenisBarangService {
                 throw new DataAlreadyExistsException("JenisBarang", jenisBarang.getNamaJenis());
             }
         }
+        cache.invalidate();
+        tableVersions.bump("jenis_barang");
         return jenisBarangRepository.saveAll(jenisBarangList);
     }
 
     // UPDATE
     public JenisBarang update(Byte id, JenisBarang updated) {
-        JenisBarang existing = getById(id);
+        // baca dari DB, bukan snapshot: objek di snapshot dipakai bersama dan tidak boleh diubah
+        JenisBarang existing = jenisBarangRepository.findById(id)
+                .orElseThrow(() -> new DataNotFoundException("JenisBarang", String.valueOf(id)));
 
         if (updated.getNamaJenis() == null || updated.getNamaJenis().isBlank()) {
             throw new InvalidDataException("namaJenis", "wajib diisi");
@@ -85,6 +167,8 @@ public class JenisBarangService {
 
         existing.setNamaJenis(updated.getNamaJenis());
 
+        cache.invalidate();
+        tableVersions.bump("jenis_barang");
         return jenisBarangRepository.save(existing);
     }
 
@@ -93,6 +177,9 @@ public class JenisBarangService {
         if (!jenisBarangRepository.existsById(id)) {
             throw new DataNotFoundException("JenisBarang", String.valueOf(id));
         }
+        barangService.evictCascadedByJenisBarang(List.of(id));
+        cache.invalidate();
+        tableVersions.bump("jenis_barang");
         jenisBarangRepository.deleteById(id);
     }
 
@@ -112,6 +199,9 @@ public class JenisBarangService {
             throw new IllegalStateException("Sebagian ID tidak ditemukan, operasi dibatalkan");
         }
 
+        barangService.evictCascadedByJenisBarang(ids);
+        cache.invalidate();
+        tableVersions.bump("jenis_barang");
         jenisBarangRepository.deleteAllById(ids);
     }
 }
\ No newline at end of file
@@ -1,28 +1,40 @@
 package ui.ft.ccit.faculty.transaksi.karyawan.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import ui.ft.ccit.faculty.transaksi.NdjsonExporter;
+import ui.ft.ccit.faculty.transaksi.RowCountCache;
+import ui.ft.ccit.faculty.transaksi.deletejob.model.DeleteJob;
 import ui.ft.ccit.faculty.transaksi.karyawan.model.Karyawan;
 import ui.ft.ccit.faculty.transaksi.karyawan.view.KaryawanService;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/karyawan")
 public class KaryawanController {
 
     private final KaryawanService service;
+    private final NdjsonExporter ndjsonExporter;
 
-    public KaryawanController(KaryawanService service) {
+    public KaryawanController(KaryawanService service, NdjsonExporter ndjsonExporter) {
         this.service = service;
+        this.ndjsonExporter = ndjsonExporter;
     }
 
     // GET list semua karyawan
     @GetMapping
     public List<Karyawan> list(
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer size) {
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
+            HttpServletResponse response) {
         // TANPA pagination
         if (page == null && size == null) {
             return service.getAll();
@@ -31,9 +43,41 @@ public class KaryawanController {
         // DENGAN pagination
         int p = (page != null && page >= 0) ? page : 0;
         int s = (size != null && size > 0) ? size : 5;
+        if (count) {
+            response.setHeader(RowCountCache.HEADER, String.valueOf(service.getTotalCount()));
+        }
         return service.getAllWithPagination(p, s);
     }
 
+    // GET semua karyawan sebagai NDJSON streaming, hanya kalau diminta eksplisit (Accept: application/x-ndjson)
+    @GetMapping(produces = NdjsonExporter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> listStream(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) throws HttpMediaTypeNotAcceptableException {
+        NdjsonExporter.requireUnpaged(page, size);
+        return ndjsonExporter.export(service::streamAll);
+    }
+
+    // GET list dengan field terpilih saja: ?fields=idKaryawan,nama (boleh ditambah page/size)
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> listFields(
+            @RequestParam String fields,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
+            HttpServletResponse response) {
+        if (page == null && size == null) {
+            return service.getAllProjected(fields);
+        }
+
+        int p = (page != null && page >= 0) ? page : 0;
+        int s = (size != null && size > 0) ? size : 5;
+        if (count) {
+            response.setHeader(RowCountCache.HEADER, String.valueOf(service.getTotalCount()));
+        }
+        return service.getAllWithPaginationProjected(fields, p, s);
+    }
+
     // GET satu karyawan by id
     @GetMapping("/{id}")
     public Karyawan get(@PathVariable String id) {
@@ -42,8 +86,21 @@ public class KaryawanController {
 
     // SEARCH by nama
     @GetMapping("/search")
-    public List<Karyawan> search(@RequestParam String q) {
-        return service.searchByNama(q);
+    public List<Karyawan> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        int l = (limit != null && limit > 0) ? limit : 50;
+        return service.searchByNama(q, l);
+    }
+
+    // SEARCH by nama, field terpilih saja (idKaryawan selalu ikut)
+    @GetMapping(value = "/search", params = "fields")
+    public List<Map<String, Object>> searchFields(
+            @RequestParam String q,
+            @RequestParam String fields,
+            @RequestParam(required = false) Integer limit) {
+        int l = (limit != null && limit > 0) ? limit : 50;
+        return service.searchByNamaProjected(fields, q, l);
     }
 
     // POST - create karyawan baru
@@ -66,6 +123,13 @@ public class KaryawanController {
         return service.update(id, karyawan);
     }
 
+    // POST - job hapus besar di background (tanpa batas 100 ID), progress di /api/delete-jobs/{id}
+    @PostMapping("/delete-jobs")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public DeleteJob submitDeleteJob(@RequestBody List<String> ids) {
+        return service.submitDeleteJob(ids);
+    }
+
     // DELETE - hapus multiple karyawan
     @DeleteMapping("/bulk")
     public void deleteBulk(@RequestBody List<String> ids) {
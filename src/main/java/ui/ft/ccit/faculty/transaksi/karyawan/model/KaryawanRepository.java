@@ -1,13 +1,21 @@
 package ui.ft.ccit.faculty.transaksi.karyawan.model;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface KaryawanRepository extends JpaRepository<Karyawan, String> {
 
+    // halaman tanpa COUNT(*) (Slice, bukan Page)
+    Slice<Karyawan> findAllBy(Pageable pageable);
+
     // cari berdasarkan nama mengandung kata tertentu
     List<Karyawan> findByNamaContainingIgnoreCase(String keyword);
 
@@ -42,4 +50,17 @@ public interface KaryawanRepository extends JpaRepository<Karyawan, String> {
     // custom query: rata-rata gaji
     @Query("SELECT AVG(k.gaji) FROM Karyawan k")
     Double getAverageGaji();
-}
\ No newline at end of file
+
+    // stream semua karyawan (fetch size MIN_VALUE = streaming result set MySQL, read-only)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT k FROM Karyawan k")
+    Stream<Karyawan> streamAll();
+
+    // (id, nama) untuk membangun index pencarian trigram, streaming tanpa entity
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query("SELECT k.idKaryawan, k.nama FROM Karyawan k")
+    Stream<Object[]> streamSearchFields();
+}
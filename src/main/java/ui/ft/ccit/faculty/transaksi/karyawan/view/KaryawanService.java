@@ -1,45 +1,144 @@
 package ui.ft.ccit.faculty.transaksi.karyawan.view;
 
+import ui.ft.ccit.faculty.transaksi.BulkIngestor;
 import ui.ft.ccit.faculty.transaksi.DataAlreadyExistsException;
 import ui.ft.ccit.faculty.transaksi.DataNotFoundException;
+import ui.ft.ccit.faculty.transaksi.FieldProjection;
 import ui.ft.ccit.faculty.transaksi.InvalidDataException;
+import ui.ft.ccit.faculty.transaksi.RowCountCache;
+import ui.ft.ccit.faculty.transaksi.TrigramIndex;
+import ui.ft.ccit.faculty.transaksi.deletejob.model.DeleteJob;
+import ui.ft.ccit.faculty.transaksi.deletejob.view.DeleteJobService;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksiRepository;
 import ui.ft.ccit.faculty.transaksi.karyawan.model.Karyawan;
 import ui.ft.ccit.faculty.transaksi.karyawan.model.KaryawanRepository;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.TransaksiRepository;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class KaryawanService {
 
     private final KaryawanRepository karyawanRepository;
+    private final TransaksiRepository transaksiRepository;
+    private final DetailTransaksiRepository detailTransaksiRepository;
+    private final BulkIngestor bulkIngestor;
+    private final RowCountCache rowCountCache;
+    private final DeleteJobService deleteJobService;
+    private final FieldProjection fieldProjection;
 
-    public KaryawanService(KaryawanRepository karyawanRepository) {
+    // index trigram untuk /search (nama), dijaga incremental setiap write
+    private final TrigramIndex<String> searchIndex = new TrigramIndex<>();
+
+    public KaryawanService(KaryawanRepository karyawanRepository,
+                           TransaksiRepository transaksiRepository,
+                           DetailTransaksiRepository detailTransaksiRepository,
+                           BulkIngestor bulkIngestor,
+                           RowCountCache rowCountCache,
+                           DeleteJobService deleteJobService,
+                           FieldProjection fieldProjection) {
         this.karyawanRepository = karyawanRepository;
+        this.transaksiRepository = transaksiRepository;
+        this.detailTransaksiRepository = detailTransaksiRepository;
+        this.bulkIngestor = bulkIngestor;
+        this.rowCountCache = rowCountCache;
+        this.deleteJobService = deleteJobService;
+        this.fieldProjection = fieldProjection;
+        rowCountCache.register("karyawan", karyawanRepository::count);
     }
 
+    @Transactional(readOnly = true)
     public List<Karyawan> getAll() {
         return karyawanRepository.findAll();
     }
 
+    // untuk export streaming: harus dipanggil di dalam transaksi yang masih terbuka
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<Karyawan> streamAll() {
+        return karyawanRepository.streamAll();
+    }
+
+    @Transactional(readOnly = true)
     public List<Karyawan> getAllWithPagination(int page, int size) {
         return karyawanRepository
-                .findAll(PageRequest.of(page, size))
+                .findAllBy(PageRequest.of(page, size))
                 .getContent();
     }
 
+    @Transactional(readOnly = true)
+    public long getTotalCount() {
+        return rowCountCache.get("karyawan");
+    }
+
+    @Transactional(readOnly = true)
     public Karyawan getById(String id) {
         return karyawanRepository.findById(id)
                 .orElseThrow(() -> new DataNotFoundException("Karyawan", id));
     }
 
-    public List<Karyawan> searchByNama(String keyword) {
-        return karyawanRepository.findByNamaContainingIgnoreCase(keyword);
+    // index trigram dibangun setelah aplikasi start; sebelum selesai, search pakai LIKE
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildSearchIndex() {
+        try (Stream<Object[]> rows = karyawanRepository.streamSearchFields()) {
+            rows.forEach(r -> searchIndex.put((String) r[0], (String) r[1]));
+        }
+        searchIndex.markReady();
+    }
+
+    // hasil terurut ranking dari index, maksimal limit baris
+    @Transactional(readOnly = true)
+    public List<Karyawan> searchByNama(String keyword, int limit) {
+        if (!searchIndex.isReady()) {
+            List<Karyawan> hasil = karyawanRepository.findByNamaContainingIgnoreCase(keyword);
+            return hasil.size() > limit ? hasil.subList(0, limit) : hasil;
+        }
+
+        List<String> ids = searchIndex.search(keyword, limit);
+        Map<String, Karyawan> byId = karyawanRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Karyawan::getIdKaryawan, Function.identity()));
+        // pertahankan urutan ranking dari index
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    // === ?fields= : projection, hanya kolom terpilih yang dibaca (lihat FieldProjection) ===
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllProjected(String fields) {
+        return fieldProjection.find(fieldProjection.select(Karyawan.class, fields), null, Map.of(), 0, -1);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllWithPaginationProjected(String fields, int page, int size) {
+        return fieldProjection.find(fieldProjection.select(Karyawan.class, fields), null, Map.of(), page * size, size);
+    }
+
+    // ID selalu ikut di item (urutan ranking dari index dipetakan lewat ID)
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> searchByNamaProjected(String fields, String keyword, int limit) {
+        FieldProjection.Selection selection = fieldProjection.select(Karyawan.class, fields).withId();
+        if (!searchIndex.isReady()) {
+            return fieldProjection.find(selection, "LOWER(e.nama) LIKE :keyword",
+                    Map.of("keyword", "%" + keyword.toLowerCase(Locale.ROOT) + "%"), 0, limit);
+        }
+        return fieldProjection.findAllById(selection, searchIndex.search(keyword, limit));
     }
 
     // CREATE
@@ -57,23 +156,37 @@ public class KaryawanService {
         // validasi field wajib dan business rules
         validateKaryawan(karyawan);
 
-        return karyawanRepository.save(karyawan);
+        Karyawan saved = karyawanRepository.save(karyawan);
+        searchIndex.putAfterCommit(saved.getIdKaryawan(), saved.getNama());
+        return saved;
     }
 
     @Transactional
     public List<Karyawan> saveBulk(List<Karyawan> karyawanList) {
+        Set<String> ids = new HashSet<>();
         for (Karyawan karyawan : karyawanList) {
             if (karyawan.getIdKaryawan() == null || karyawan.getIdKaryawan().isBlank()) {
                 throw new InvalidDataException("idKaryawan", "wajib diisi untuk setiap karyawan");
             }
 
-            if (karyawanRepository.existsById(karyawan.getIdKaryawan())) {
+            // duplikat di dalam request itu sendiri
+            if (!ids.add(karyawan.getIdKaryawan())) {
                 throw new DataAlreadyExistsException("Karyawan", karyawan.getIdKaryawan());
             }
 
             validateKaryawan(karyawan);
         }
-        return karyawanRepository.saveAll(karyawanList);
+
+        // satu query IN per chunk, bukan existsById per karyawan
+        Set<String> existing = bulkIngestor.findExistingIds(Karyawan.class, "idKaryawan", ids);
+        if (!existing.isEmpty()) {
+            throw new DataAlreadyExistsException("Karyawan", existing.iterator().next());
+        }
+
+        for (Karyawan karyawan : karyawanList) {
+            searchIndex.putAfterCommit(karyawan.getIdKaryawan(), karyawan.getNama());
+        }
+        return bulkIngestor.insertAll(karyawanList);
     }
 
     // UPDATE
@@ -89,7 +202,9 @@ public class KaryawanService {
         existing.setTglLahir(updated.getTglLahir());
         existing.setGaji(updated.getGaji());
 
-        return karyawanRepository.save(existing);
+        Karyawan saved = karyawanRepository.save(existing);
+        searchIndex.putAfterCommit(saved.getIdKaryawan(), saved.getNama());
+        return saved;
     }
 
     // DELETE
@@ -98,6 +213,7 @@ public class KaryawanService {
             throw new DataNotFoundException("Karyawan", id);
         }
         karyawanRepository.deleteById(id);
+        searchIndex.removeAfterCommit(id);
     }
 
     @Transactional
@@ -117,6 +233,27 @@ public class KaryawanService {
         }
 
         karyawanRepository.deleteAllById(ids);
+        ids.forEach(searchIndex::removeAfterCommit);
+    }
+
+    // JOB HAPUS di background, tanpa batas 100 ID: dihapus per chunk dengan transaksi pendek,
+    // progress dan pembatalan lewat /api/delete-jobs/{id}
+    public DeleteJob submitDeleteJob(List<String> ids) {
+        return deleteJobService.submit("karyawan", ids, this::deleteTransaksiChunk, this::deleteChunk);
+    }
+
+    // FK transaksi.id_karyawan dan detail_transaksi.kode_transaksi ON DELETE CASCADE: transaksi karyawan
+    // dihapus lebih dulu per potong (maksimal limit baris, detail dulu baru transaksinya), jadi DELETE
+    // karyawan di deleteChunk tidak meng-cascade ke seluruh riwayat transaksi sekaligus
+    private int deleteTransaksiChunk(List<String> ids, int limit) {
+        int deleted = detailTransaksiRepository.deleteLimitedByIdKaryawanIn(ids, limit);
+        return deleted > 0 ? deleted : transaksiRepository.deleteLimitedByIdKaryawanIn(ids, limit);
+    }
+
+    // satu chunk job hapus: DELETE ... WHERE id IN (satu statement), tidak load entity satu per satu
+    private void deleteChunk(List<String> ids) {
+        karyawanRepository.deleteAllByIdInBatch(ids);
+        ids.forEach(searchIndex::removeAfterCommit);
     }
 
     // HELPER: validasi karyawan
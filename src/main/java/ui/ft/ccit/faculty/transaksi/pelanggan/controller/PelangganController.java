@@ -1,28 +1,44 @@
 package ui.ft.ccit.faculty.transaksi.pelanggan.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import ui.ft.ccit.faculty.transaksi.BulkIngestor;
+import ui.ft.ccit.faculty.transaksi.CsvImporter;
+import ui.ft.ccit.faculty.transaksi.NdjsonExporter;
+import ui.ft.ccit.faculty.transaksi.RowCountCache;
+import ui.ft.ccit.faculty.transaksi.deletejob.model.DeleteJob;
 import ui.ft.ccit.faculty.transaksi.pelanggan.model.Pelanggan;
 import ui.ft.ccit.faculty.transaksi.pelanggan.view.PelangganService;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/pelanggan")
 public class PelangganController {
 
     private final PelangganService service;
+    private final NdjsonExporter ndjsonExporter;
 
-    public PelangganController(PelangganService service) {
+    public PelangganController(PelangganService service, NdjsonExporter ndjsonExporter) {
         this.service = service;
+        this.ndjsonExporter = ndjsonExporter;
     }
 
     // GET list semua pelanggan
     @GetMapping
     public List<Pelanggan> list(
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer size) {
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
+            HttpServletResponse response) {
         // TANPA pagination
         if (page == null && size == null) {
             return service.getAll();
@@ -31,9 +47,41 @@ public class PelangganController {
         // DENGAN pagination
         int p = (page != null && page >= 0) ? page : 0;
         int s = (size != null && size > 0) ? size : 5;
+        if (count) {
+            response.setHeader(RowCountCache.HEADER, String.valueOf(service.getTotalCount()));
+        }
         return service.getAllWithPagination(p, s);
     }
 
+    // GET semua pelanggan sebagai NDJSON streaming, hanya kalau diminta eksplisit (Accept: application/x-ndjson)
+    @GetMapping(produces = NdjsonExporter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> listStream(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) throws HttpMediaTypeNotAcceptableException {
+        NdjsonExporter.requireUnpaged(page, size);
+        return ndjsonExporter.export(service::streamAll);
+    }
+
+    // GET list dengan field terpilih saja: ?fields=idPelanggan,nama (boleh ditambah page/size)
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> listFields(
+            @RequestParam String fields,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
+            HttpServletResponse response) {
+        if (page == null && size == null) {
+            return service.getAllProjected(fields);
+        }
+
+        int p = (page != null && page >= 0) ? page : 0;
+        int s = (size != null && size > 0) ? size : 5;
+        if (count) {
+            response.setHeader(RowCountCache.HEADER, String.valueOf(service.getTotalCount()));
+        }
+        return service.getAllWithPaginationProjected(fields, p, s);
+    }
+
     // GET satu pelanggan by id
     @GetMapping("/{id}")
     public Pelanggan get(@PathVariable String id) {
@@ -42,8 +90,21 @@ public class PelangganController {
 
     // SEARCH by nama
     @GetMapping("/search")
-    public List<Pelanggan> search(@RequestParam String q) {
-        return service.searchByNama(q);
+    public List<Pelanggan> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        int l = (limit != null && limit > 0) ? limit : 50;
+        return service.searchByNama(q, l);
+    }
+
+    // SEARCH by nama, field terpilih saja (idPelanggan selalu ikut)
+    @GetMapping(value = "/search", params = "fields")
+    public List<Map<String, Object>> searchFields(
+            @RequestParam String q,
+            @RequestParam String fields,
+            @RequestParam(required = false) Integer limit) {
+        int l = (limit != null && limit > 0) ? limit : 50;
+        return service.searchByNamaProjected(fields, q, l);
     }
 
     // POST - create pelanggan baru
@@ -60,12 +121,32 @@ public class PelangganController {
         return service.saveBulk(pelanggan);
     }
 
+    // POST - import CSV streaming (Content-Type: text/csv, baris pertama header idPelanggan,nama,...).
+    // Baris invalid / ID yang sudah ada dilaporkan per baris, baris lain tetap di-import
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public CsvImporter.Result importCsv(HttpServletRequest request) throws IOException {
+        return service.importCsv(request.getInputStream());
+    }
+
+    // PUT - upsert pelanggan bulk: yang belum ada dibuat, yang sudah ada ditimpa
+    @PutMapping("/bulk")
+    public BulkIngestor.UpsertResult upsertBulk(@RequestBody List<Pelanggan> pelanggan) {
+        return service.upsertBulk(pelanggan);
+    }
+
     // PUT - edit/update pelanggan
     @PutMapping("/{id}")
     public Pelanggan update(@PathVariable String id, @RequestBody Pelanggan pelanggan) {
         return service.update(id, pelanggan);
     }
 
+    // POST - job hapus besar di background (tanpa batas 100 ID), progress di /api/delete-jobs/{id}
+    @PostMapping("/delete-jobs")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public DeleteJob submitDeleteJob(@RequestBody List<String> ids) {
+        return service.submitDeleteJob(ids);
+    }
+
     // DELETE - hapus multiple pelanggan
     @DeleteMapping("/bulk")
     public void deleteBulk(@RequestBody List<String> ids) {
@@ -1,12 +1,21 @@
 package ui.ft.ccit.faculty.transaksi.pelanggan.model;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface PelangganRepository extends JpaRepository<Pelanggan, String> {
 
+    // halaman tanpa COUNT(*) (Slice, bukan Page)
+    Slice<Pelanggan> findAllBy(Pageable pageable);
+
     // cari berdasarkan nama mengandung kata tertentu
     List<Pelanggan> findByNamaContainingIgnoreCase(String keyword);
 
@@ -33,4 +42,17 @@ public interface PelangganRepository extends JpaRepository<Pelanggan, String> {
 
     // hitung berapa banyak pelanggan dengan idPelanggan dalam daftar tertentu
     long countByIdPelangganIn(List<String> idPelangganList);
-}
\ No newline at end of file
+
+    // stream semua pelanggan (fetch size MIN_VALUE = streaming result set MySQL, read-only)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT p FROM Pelanggan p")
+    Stream<Pelanggan> streamAll();
+
+    // (id, nama) untuk membangun index pencarian trigram, streaming tanpa entity
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query("SELECT p.idPelanggan, p.nama FROM Pelanggan p")
+    Stream<Object[]> streamSearchFields();
+}
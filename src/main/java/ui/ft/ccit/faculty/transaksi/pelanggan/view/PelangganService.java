@@ -1,45 +1,152 @@
 package ui.ft.ccit.faculty.transaksi.pelanggan.view;
 
+import ui.ft.ccit.faculty.transaksi.BulkIngestor;
+import ui.ft.ccit.faculty.transaksi.CsvImporter;
 import ui.ft.ccit.faculty.transaksi.DataAlreadyExistsException;
 import ui.ft.ccit.faculty.transaksi.DataNotFoundException;
+import ui.ft.ccit.faculty.transaksi.FieldProjection;
 import ui.ft.ccit.faculty.transaksi.InvalidDataException;
+import ui.ft.ccit.faculty.transaksi.RowCountCache;
+import ui.ft.ccit.faculty.transaksi.TrigramIndex;
+import ui.ft.ccit.faculty.transaksi.deletejob.model.DeleteJob;
+import ui.ft.ccit.faculty.transaksi.deletejob.view.DeleteJobService;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksiRepository;
 import ui.ft.ccit.faculty.transaksi.pelanggan.model.Pelanggan;
 import ui.ft.ccit.faculty.transaksi.pelanggan.model.PelangganRepository;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.TransaksiRepository;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class PelangganService {
 
     private final PelangganRepository pelangganRepository;
+    private final TransaksiRepository transaksiRepository;
+    private final DetailTransaksiRepository detailTransaksiRepository;
+    private final BulkIngestor bulkIngestor;
+    private final CsvImporter csvImporter;
+    private final RowCountCache rowCountCache;
+    private final DeleteJobService deleteJobService;
+    private final FieldProjection fieldProjection;
 
-    public PelangganService(PelangganRepository pelangganRepository) {
+    // index trigram untuk /search (nama), dijaga incremental setiap write
+    private final TrigramIndex<String> searchIndex = new TrigramIndex<>();
+
+    public PelangganService(PelangganRepository pelangganRepository,
+                            TransaksiRepository transaksiRepository,
+                            DetailTransaksiRepository detailTransaksiRepository,
+                            BulkIngestor bulkIngestor,
+                            CsvImporter csvImporter,
+                            RowCountCache rowCountCache,
+                            DeleteJobService deleteJobService,
+                            FieldProjection fieldProjection) {
         this.pelangganRepository = pelangganRepository;
+        this.transaksiRepository = transaksiRepository;
+        this.detailTransaksiRepository = detailTransaksiRepository;
+        this.bulkIngestor = bulkIngestor;
+        this.csvImporter = csvImporter;
+        this.rowCountCache = rowCountCache;
+        this.deleteJobService = deleteJobService;
+        this.fieldProjection = fieldProjection;
+        rowCountCache.register("pelanggan", pelangganRepository::count);
     }
 
+    @Transactional(readOnly = true)
     public List<Pelanggan> getAll() {
         return pelangganRepository.findAll();
     }
 
+    // untuk export streaming: harus dipanggil di dalam transaksi yang masih terbuka
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<Pelanggan> streamAll() {
+        return pelangganRepository.streamAll();
+    }
+
+    @Transactional(readOnly = true)
     public List<Pelanggan> getAllWithPagination(int page, int size) {
         return pelangganRepository
-                .findAll(PageRequest.of(page, size))
+                .findAllBy(PageRequest.of(page, size))
                 .getContent();
     }
 
+    @Transactional(readOnly = true)
+    public long getTotalCount() {
+        return rowCountCache.get("pelanggan");
+    }
+
+    @Transactional(readOnly = true)
     public Pelanggan getById(String id) {
         return pelangganRepository.findById(id)
                 .orElseThrow(() -> new DataNotFoundException("Pelanggan", id));
     }
 
-    public List<Pelanggan> searchByNama(String keyword) {
-        return pelangganRepository.findByNamaContainingIgnoreCase(keyword);
+    // index trigram dibangun setelah aplikasi start; sebelum selesai, search pakai LIKE
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildSearchIndex() {
+        try (Stream<Object[]> rows = pelangganRepository.streamSearchFields()) {
+            rows.forEach(r -> searchIndex.put((String) r[0], (String) r[1]));
+        }
+        searchIndex.markReady();
+    }
+
+    // hasil terurut ranking dari index, maksimal limit baris
+    @Transactional(readOnly = true)
+    public List<Pelanggan> searchByNama(String keyword, int limit) {
+        if (!searchIndex.isReady()) {
+            List<Pelanggan> hasil = pelangganRepository.findByNamaContainingIgnoreCase(keyword);
+            return hasil.size() > limit ? hasil.subList(0, limit) : hasil;
+        }
+
+        List<String> ids = searchIndex.search(keyword, limit);
+        Map<String, Pelanggan> byId = pelangganRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Pelanggan::getIdPelanggan, Function.identity()));
+        // pertahankan urutan ranking dari index
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    // === ?fields= : projection, hanya kolom terpilih yang dibaca (lihat FieldProjection) ===
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllProjected(String fields) {
+        return fieldProjection.find(fieldProjection.select(Pelanggan.class, fields), null, Map.of(), 0, -1);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllWithPaginationProjected(String fields, int page, int size) {
+        return fieldProjection.find(fieldProjection.select(Pelanggan.class, fields), null, Map.of(), page * size, size);
+    }
+
+    // ID selalu ikut di item (urutan ranking dari index dipetakan lewat ID)
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> searchByNamaProjected(String fields, String keyword, int limit) {
+        FieldProjection.Selection selection = fieldProjection.select(Pelanggan.class, fields).withId();
+        if (!searchIndex.isReady()) {
+            return fieldProjection.find(selection, "LOWER(e.nama) LIKE :keyword",
+                    Map.of("keyword", "%" + keyword.toLowerCase(Locale.ROOT) + "%"), 0, limit);
+        }
+        return fieldProjection.findAllById(selection, searchIndex.search(keyword, limit));
     }
 
     // CREATE
@@ -57,23 +164,120 @@ public class PelangganService {
         // validasi field wajib dan business rules
         validatePelanggan(pelanggan);
 
-        return pelangganRepository.save(pelanggan);
+        Pelanggan saved = pelangganRepository.save(pelanggan);
+        searchIndex.putAfterCommit(saved.getIdPelanggan(), saved.getNama());
+        return saved;
     }
 
     @Transactional
     public List<Pelanggan> saveBulk(List<Pelanggan> pelangganList) {
+        Set<String> ids = new HashSet<>();
         for (Pelanggan pelanggan : pelangganList) {
             if (pelanggan.getIdPelanggan() == null || pelanggan.getIdPelanggan().isBlank()) {
                 throw new InvalidDataException("idPelanggan", "wajib diisi untuk setiap pelanggan");
             }
 
-            if (pelangganRepository.existsById(pelanggan.getIdPelanggan())) {
+            // duplikat di dalam request itu sendiri
+            if (!ids.add(pelanggan.getIdPelanggan())) {
                 throw new DataAlreadyExistsException("Pelanggan", pelanggan.getIdPelanggan());
             }
 
             validatePelanggan(pelanggan);
         }
-        return pelangganRepository.saveAll(pelangganList);
+
+        // satu query IN per chunk, bukan existsById per pelanggan
+        Set<String> existing = bulkIngestor.findExistingIds(Pelanggan.class, "idPelanggan", ids);
+        if (!existing.isEmpty()) {
+            throw new DataAlreadyExistsException("Pelanggan", existing.iterator().next());
+        }
+
+        for (Pelanggan pelanggan : pelangganList) {
+            searchIndex.putAfterCommit(pelanggan.getIdPelanggan(), pelanggan.getNama());
+        }
+        return bulkIngestor.insertAll(pelangganList);
+    }
+
+    // IMPORT CSV (streaming), header: idPelanggan,nama,jenisKelamin,alamat,telepon,tglLahir,jenisPelanggan.
+    // Bukan satu transaksi besar: CsvImporter membuka transaksi pendek per batch
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CsvImporter.Result importCsv(InputStream in) throws IOException {
+        return csvImporter.importCsv(in, this::pelangganFromCsv, Pelanggan::getIdPelanggan, this::importBatch);
+    }
+
+    private Pelanggan pelangganFromCsv(CsvImporter.Row row) {
+        LocalDate tglLahir;
+        try {
+            tglLahir = row.get("tglLahir") != null ? LocalDate.parse(row.get("tglLahir")) : null;
+        } catch (DateTimeParseException e) {
+            throw new InvalidDataException("tglLahir", "format harus yyyy-MM-dd");
+        }
+        Pelanggan pelanggan = new Pelanggan(row.get("idPelanggan"), row.get("nama"), row.get("jenisKelamin"),
+                row.get("alamat"), row.get("telepon"), tglLahir, row.get("jenisPelanggan"));
+
+        if (pelanggan.getIdPelanggan() == null) {
+            throw new InvalidDataException("idPelanggan", "wajib diisi");
+        }
+        validatePelanggan(pelanggan);
+        return pelanggan;
+    }
+
+    // satu batch import (di dalam transaksi batch): ID yang sudah ada dilewati dan dilaporkan
+    private List<Pelanggan> importBatch(List<Pelanggan> batch) {
+        Set<String> existing = bulkIngestor.findExistingIds(Pelanggan.class, "idPelanggan",
+                batch.stream().map(Pelanggan::getIdPelanggan).toList());
+
+        List<Pelanggan> baru = new ArrayList<>(batch.size());
+        List<Pelanggan> ditolak = new ArrayList<>();
+        for (Pelanggan pelanggan : batch) {
+            if (existing.contains(pelanggan.getIdPelanggan())) {
+                ditolak.add(pelanggan);
+            } else {
+                baru.add(pelanggan);
+            }
+        }
+
+        bulkIngestor.insertAll(baru);
+        for (Pelanggan pelanggan : baru) {
+            searchIndex.putAfterCommit(pelanggan.getIdPelanggan(), pelanggan.getNama());
+        }
+        return ditolak;
+    }
+
+    // UPSERT BULK: pelanggan baru di-insert, yang sudah ada ditimpa.
+    // Set-based: satu query IN untuk ringkasan + multi-row INSERT ... ON DUPLICATE KEY UPDATE per chunk
+    @Transactional
+    public BulkIngestor.UpsertResult upsertBulk(List<Pelanggan> pelangganList) {
+        if (pelangganList == null || pelangganList.isEmpty()) {
+            throw new InvalidDataException("pelanggan", "minimal harus ada 1 pelanggan");
+        }
+
+        Set<String> ids = new HashSet<>();
+        List<Object[]> rows = new ArrayList<>(pelangganList.size());
+        for (Pelanggan pelanggan : pelangganList) {
+            if (pelanggan.getIdPelanggan() == null || pelanggan.getIdPelanggan().isBlank()) {
+                throw new InvalidDataException("idPelanggan", "wajib diisi untuk setiap pelanggan");
+            }
+            if (!ids.add(pelanggan.getIdPelanggan())) {
+                throw new InvalidDataException("idPelanggan", "duplikat di dalam request: " + pelanggan.getIdPelanggan());
+            }
+
+            validatePelanggan(pelanggan);
+            rows.add(new Object[] { pelanggan.getIdPelanggan(), pelanggan.getNama(), pelanggan.getJenisKelamin(),
+                    pelanggan.getAlamat(), pelanggan.getTelepon(), pelanggan.getTglLahir(),
+                    pelanggan.getJenisPelanggan() });
+        }
+
+        Set<String> existing = bulkIngestor.findExistingIds(Pelanggan.class, "idPelanggan", ids);
+
+        bulkIngestor.upsert("pelanggan",
+                List.of("id_pelanggan", "nama", "jenis_kelamin", "alamat", "telepon", "tgl_lahir", "jenis_pelanggan"),
+                BulkIngestor.overwrite("nama", "jenis_kelamin", "alamat", "telepon", "tgl_lahir", "jenis_pelanggan"),
+                rows);
+
+        for (Pelanggan pelanggan : pelangganList) {
+            searchIndex.putAfterCommit(pelanggan.getIdPelanggan(), pelanggan.getNama());
+        }
+        return new BulkIngestor.UpsertResult(pelangganList.size(), existing.size());
     }
 
     // UPDATE
@@ -89,7 +293,9 @@ public class PelangganService {
         existing.setTglLahir(updated.getTglLahir());
         existing.setJenisPelanggan(updated.getJenisPelanggan());
 
-        return pelangganRepository.save(existing);
+        Pelanggan saved = pelangganRepository.save(existing);
+        searchIndex.putAfterCommit(saved.getIdPelanggan(), saved.getNama());
+        return saved;
     }
 
     // DELETE
@@ -98,6 +304,7 @@ public class PelangganService {
             throw new DataNotFoundException("Pelanggan", id);
         }
         pelangganRepository.deleteById(id);
+        searchIndex.removeAfterCommit(id);
     }
 
     @Transactional
@@ -117,6 +324,27 @@ public class PelangganService {
         }
 
         pelangganRepository.deleteAllById(ids);
+        ids.forEach(searchIndex::removeAfterCommit);
+    }
+
+    // JOB HAPUS di background, tanpa batas 100 ID: dihapus per chunk dengan transaksi pendek,
+    // progress dan pembatalan lewat /api/delete-jobs/{id}
+    public DeleteJob submitDeleteJob(List<String> ids) {
+        return deleteJobService.submit("pelanggan", ids, this::deleteTransaksiChunk, this::deleteChunk);
+    }
+
+    // FK transaksi.id_pelanggan dan detail_transaksi.kode_transaksi ON DELETE CASCADE: transaksi pelanggan
+    // dihapus lebih dulu per potong (maksimal limit baris, detail dulu baru transaksinya), jadi DELETE
+    // pelanggan di deleteChunk tidak meng-cascade ke seluruh riwayat transaksi sekaligus
+    private int deleteTransaksiChunk(List<String> ids, int limit) {
+        int deleted = detailTransaksiRepository.deleteLimitedByIdPelangganIn(ids, limit);
+        return deleted > 0 ? deleted : transaksiRepository.deleteLimitedByIdPelangganIn(ids, limit);
+    }
+
+    // satu chunk job hapus: DELETE ... WHERE id IN (satu statement), tidak load entity satu per satu
+    private void deleteChunk(List<String> ids) {
+        pelangganRepository.deleteAllByIdInBatch(ids);
+        ids.forEach(searchIndex::removeAfterCommit);
     }
 
     // HELPER: validasi pelanggan
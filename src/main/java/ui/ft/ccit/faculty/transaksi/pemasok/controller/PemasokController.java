@@ -1,28 +1,42 @@
 package ui.ft.ccit.faculty.transaksi.pemasok.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import ui.ft.ccit.faculty.transaksi.BulkIngestor;
+import ui.ft.ccit.faculty.transaksi.NdjsonExporter;
+import ui.ft.ccit.faculty.transaksi.ReferenceCache;
+import ui.ft.ccit.faculty.transaksi.RowCountCache;
+import ui.ft.ccit.faculty.transaksi.deletejob.model.DeleteJob;
 import ui.ft.ccit.faculty.transaksi.pemasok.model.Pemasok;
 import ui.ft.ccit.faculty.transaksi.pemasok.view.PemasokService;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/pemasok")
 public class PemasokController {
 
     private final PemasokService service;
+    private final NdjsonExporter ndjsonExporter;
 
-    public PemasokController(PemasokService service) {
+    public PemasokController(PemasokService service, NdjsonExporter ndjsonExporter) {
         this.service = service;
+        this.ndjsonExporter = ndjsonExporter;
     }
 
     // GET list semua pemasok
     @GetMapping
     public List<Pemasok> list(
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer size) {
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
+            HttpServletResponse response) {
         // TANPA pagination
         if (page == null && size == null) {
             return service.getAll();
@@ -31,19 +45,70 @@ public class PemasokController {
         // DENGAN pagination
         int p = (page != null && page >= 0) ? page : 0;
         int s = (size != null && size > 0) ? size : 5;
+        if (count) {
+            response.setHeader(RowCountCache.HEADER, String.valueOf(service.getTotalCount()));
+        }
         return service.getAllWithPagination(p, s);
     }
 
+    // GET semua pemasok sebagai NDJSON streaming, hanya kalau diminta eksplisit (Accept: application/x-ndjson)
+    @GetMapping(produces = NdjsonExporter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> listStream(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) throws HttpMediaTypeNotAcceptableException {
+        NdjsonExporter.requireUnpaged(page, size);
+        return ndjsonExporter.export(service::streamAll);
+    }
+
+    // GET list dengan field terpilih saja: ?fields=idPemasok,nama (boleh ditambah page/size)
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> listFields(
+            @RequestParam String fields,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
+            HttpServletResponse response) {
+        if (page == null && size == null) {
+            return service.getAllProjected(fields);
+        }
+
+        int p = (page != null && page >= 0) ? page : 0;
+        int s = (size != null && size > 0) ? size : 5;
+        if (count) {
+            response.setHeader(RowCountCache.HEADER, String.valueOf(service.getTotalCount()));
+        }
+        return service.getAllWithPaginationProjected(fields, p, s);
+    }
+
     // GET satu pemasok by id
     @GetMapping("/{id}")
     public Pemasok get(@PathVariable String id) {
         return service.getById(id);
     }
 
+    // GET statistik near-cache pemasok (hit/miss/load)
+    @GetMapping("/cache/stats")
+    public ReferenceCache.Stats cacheStats() {
+        return service.getCacheStats();
+    }
+
     // SEARCH by nama
     @GetMapping("/search")
-    public List<Pemasok> search(@RequestParam String q) {
-        return service.searchByNama(q);
+    public List<Pemasok> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        int l = (limit != null && limit > 0) ? limit : 50;
+        return service.searchByNama(q, l);
+    }
+
+    // SEARCH by nama, field terpilih saja
+    @GetMapping(value = "/search", params = "fields")
+    public List<Map<String, Object>> searchFields(
+            @RequestParam String q,
+            @RequestParam String fields,
+            @RequestParam(required = false) Integer limit) {
+        int l = (limit != null && limit > 0) ? limit : 50;
+        return service.searchByNamaProjected(fields, q, l);
     }
 
     // POST - create pemasok baru
@@ -60,12 +125,25 @@ public class PemasokController {
         return service.saveBulk(pemasok);
     }
 
+    // PUT - upsert pemasok bulk: yang belum ada dibuat, yang sudah ada ditimpa
+    @PutMapping("/bulk")
+    public BulkIngestor.UpsertResult upsertBulk(@RequestBody List<Pemasok> pemasok) {
+        return service.upsertBulk(pemasok);
+    }
+
     // PUT - edit/update pemasok
     @PutMapping("/{id}")
     public Pemasok update(@PathVariable String id, @RequestBody Pemasok pemasok) {
         return service.update(id, pemasok);
     }
 
+    // POST - job hapus besar di background (tanpa batas 100 ID), progress di /api/delete-jobs/{id}
+    @PostMapping("/delete-jobs")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public DeleteJob submitDeleteJob(@RequestBody List<String> ids) {
+        return service.submitDeleteJob(ids);
+    }
+
     // DELETE - hapus multiple pemasok
     @DeleteMapping("/bulk")
     public void deleteBulk(@RequestBody List<String> ids) {
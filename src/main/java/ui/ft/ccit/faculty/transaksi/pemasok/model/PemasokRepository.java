@@ -1,11 +1,20 @@
 package ui.ft.ccit.faculty.transaksi.pemasok.model;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface PemasokRepository extends JpaRepository<Pemasok, String> {
 
+    // halaman tanpa COUNT(*) (Slice, bukan Page)
+    Slice<Pemasok> findAllBy(Pageable pageable);
+
     // cari berdasarkan nama mengandung kata tertentu
     List<Pemasok> findByNamaContainingIgnoreCase(String keyword);
 
@@ -20,4 +29,17 @@ public interface PemasokRepository extends JpaRepository<Pemasok, String> {
 
     // hitung berapa banyak pemasok dengan idPemasok dalam daftar tertentu
     long countByIdPemasokIn(List<String> idPemasokList);
-}
\ No newline at end of file
+
+    // stream semua pemasok (fetch size MIN_VALUE = streaming result set MySQL, read-only)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT p FROM Pemasok p")
+    Stream<Pemasok> streamAll();
+
+    // (id, nama, alamat) untuk membangun index pencarian trigram, streaming tanpa entity
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query("SELECT p.idPemasok, p.nama, p.alamat FROM Pemasok p")
+    Stream<Object[]> streamSearchFields();
+}
@@ -1,44 +1,158 @@
 package ui.ft.ccit.faculty.transaksi.pemasok.view;
 
+import ui.ft.ccit.faculty.transaksi.BulkIngestor;
 import ui.ft.ccit.faculty.transaksi.DataAlreadyExistsException;
 import ui.ft.ccit.faculty.transaksi.DataNotFoundException;
+import ui.ft.ccit.faculty.transaksi.FieldProjection;
 import ui.ft.ccit.faculty.transaksi.InvalidDataException;
+import ui.ft.ccit.faculty.transaksi.ReferenceCache;
+import ui.ft.ccit.faculty.transaksi.TableVersions;
+import ui.ft.ccit.faculty.transaksi.TrigramIndex;
+import ui.ft.ccit.faculty.transaksi.barang.view.BarangService;
+import ui.ft.ccit.faculty.transaksi.deletejob.model.DeleteJob;
+import ui.ft.ccit.faculty.transaksi.deletejob.view.DeleteJobService;
 import ui.ft.ccit.faculty.transaksi.pemasok.model.Pemasok;
 import ui.ft.ccit.faculty.transaksi.pemasok.model.PemasokRepository;
 
-import org.springframework.data.domain.PageRequest;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class PemasokService {
 
     private final PemasokRepository pemasokRepository;
+    private final BulkIngestor bulkIngestor;
+    private final TableVersions tableVersions;
+    private final DeleteJobService deleteJobService;
+    private final FieldProjection fieldProjection;
+    private final BarangService barangService;
 
-    public PemasokService(PemasokRepository pemasokRepository) {
+    // snapshot seluruh tabel pemasok di memori, di-invalidate setiap write
+    private final ReferenceCache<String, Pemasok> cache;
+
+    // index trigram untuk /search (nama, alamat), dijaga incremental setiap write
+    private final TrigramIndex<String> searchIndex = new TrigramIndex<>();
+
+    public PemasokService(PemasokRepository pemasokRepository,
+                          BulkIngestor bulkIngestor,
+                          TableVersions tableVersions,
+                          DeleteJobService deleteJobService,
+                          FieldProjection fieldProjection,
+                          BarangService barangService,
+                          PlatformTransactionManager transactionManager) {
         this.pemasokRepository = pemasokRepository;
+        this.bulkIngestor = bulkIngestor;
+        this.tableVersions = tableVersions;
+        this.deleteJobService = deleteJobService;
+        this.fieldProjection = fieldProjection;
+        this.barangService = barangService;
+        // snapshot selalu dimuat dari primary (transaksi baru, bukan read-only): snapshot dari replica
+        // yang tertinggal akan menahan data lama di cache sampai write berikutnya
+        TransactionTemplate primaryRead = new TransactionTemplate(transactionManager);
+        primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cache = new ReferenceCache<>("pemasok",
+                () -> primaryRead.execute(status -> pemasokRepository.findAll()),
+                Pemasok::getIdPemasok,
+                Comparator.comparing(Pemasok::getIdPemasok));
     }
 
+    @Transactional(readOnly = true)
     public List<Pemasok> getAll() {
-        return pemasokRepository.findAll();
+        return cache.all();
+    }
+
+    // untuk export streaming: harus dipanggil di dalam transaksi yang masih terbuka
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<Pemasok> streamAll() {
+        return pemasokRepository.streamAll();
     }
 
+    // pagination langsung dari snapshot (urut id), tanpa query
+    @Transactional(readOnly = true)
     public List<Pemasok> getAllWithPagination(int page, int size) {
-        return pemasokRepository
-                .findAll(PageRequest.of(page, size))
-                .getContent();
+        List<Pemasok> all = cache.all();
+        int from = (int) Math.min((long) page * size, all.size());
+        int to = Math.min(from + size, all.size());
+        return all.subList(from, to);
     }
 
+    @Transactional(readOnly = true)
+    public long getTotalCount() {
+        return cache.all().size();
+    }
+
+    @Transactional(readOnly = true)
     public Pemasok getById(String id) {
-        return pemasokRepository.findById(id)
+        return cache.get(id)
                 .orElseThrow(() -> new DataNotFoundException("Pemasok", id));
     }
 
-    public List<Pemasok> searchByNama(String keyword) {
-        return pemasokRepository.findByNamaContainingIgnoreCase(keyword);
+    // index trigram siap dibangun setelah aplikasi start; sebelum selesai, search pakai filter snapshot
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildSearchIndex() {
+        try (Stream<Object[]> rows = pemasokRepository.streamSearchFields()) {
+            rows.forEach(r -> searchIndex.put((String) r[0], (String) r[1], (String) r[2]));
+        }
+        searchIndex.markReady();
+    }
+
+    // cari di nama dan alamat, hasil terurut ranking, maksimal limit baris
+    @Transactional(readOnly = true)
+    public List<Pemasok> searchByNama(String keyword, int limit) {
+        if (!searchIndex.isReady()) {
+            String k = keyword.toLowerCase();
+            return cache.all().stream()
+                    .filter(p -> (p.getNama() != null && p.getNama().toLowerCase().contains(k))
+                            || (p.getAlamat() != null && p.getAlamat().toLowerCase().contains(k)))
+                    .limit(limit)
+                    .toList();
+        }
+        return searchIndex.search(keyword, limit).stream()
+                .flatMap(id -> cache.get(id).stream())
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public ReferenceCache.Stats getCacheStats() {
+        return cache.getStats();
+    }
+
+    // === ?fields= : data sudah ada di ReferenceCache, jadi field terpilih diambil dari snapshot
+    // tanpa query; response tetap hanya berisi field terpilih ===
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllProjected(String fields) {
+        FieldProjection.Selection selection = fieldProjection.select(Pemasok.class, fields);
+        return getAll().stream().map(selection::project).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllWithPaginationProjected(String fields, int page, int size) {
+        FieldProjection.Selection selection = fieldProjection.select(Pemasok.class, fields);
+        return getAllWithPagination(page, size).stream().map(selection::project).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> searchByNamaProjected(String fields, String keyword, int limit) {
+        FieldProjection.Selection selection = fieldProjection.select(Pemasok.class, fields);
+        return searchByNama(keyword, limit).stream().map(selection::project).toList();
     }
 
     // CREATE
@@ -63,28 +177,104 @@ public class PemasokService {
             }
         }
 
-        return pemasokRepository.save(pemasok);
+        cache.invalidate();
+        tableVersions.bump("pemasok");
+        Pemasok saved = pemasokRepository.save(pemasok);
+        searchIndex.putAfterCommit(saved.getIdPemasok(), saved.getNama(), saved.getAlamat());
+        return saved;
     }
 
     @Transactional
     public List<Pemasok> saveBulk(List<Pemasok> pemasokList) {
+        Set<String> ids = new HashSet<>();
         for (Pemasok pemasok : pemasokList) {
             if (pemasok.getIdPemasok() == null || pemasok.getIdPemasok().isBlank()) {
                 throw new InvalidDataException("idPemasok", "wajib diisi untuk setiap pemasok");
             }
 
-            if (pemasokRepository.existsById(pemasok.getIdPemasok())) {
+            // duplikat di dalam request itu sendiri
+            if (!ids.add(pemasok.getIdPemasok())) {
                 throw new DataAlreadyExistsException("Pemasok", pemasok.getIdPemasok());
             }
 
             validateRequiredFields(pemasok);
         }
-        return pemasokRepository.saveAll(pemasokList);
+
+        // satu query IN per chunk, bukan existsById per pemasok
+        Set<String> existing = bulkIngestor.findExistingIds(Pemasok.class, "idPemasok", ids);
+        if (!existing.isEmpty()) {
+            throw new DataAlreadyExistsException("Pemasok", existing.iterator().next());
+        }
+
+        cache.invalidate();
+        tableVersions.bump("pemasok");
+        for (Pemasok pemasok : pemasokList) {
+            searchIndex.putAfterCommit(pemasok.getIdPemasok(), pemasok.getNama(), pemasok.getAlamat());
+        }
+        return bulkIngestor.insertAll(pemasokList);
+    }
+
+    // UPSERT BULK: pemasok baru di-insert, yang sudah ada ditimpa.
+    // Set-based: keberadaan ID dan keunikan email dicek dari snapshot (tanpa query),
+    // lalu multi-row INSERT ... ON DUPLICATE KEY UPDATE per chunk
+    @Transactional
+    public BulkIngestor.UpsertResult upsertBulk(List<Pemasok> pemasokList) {
+        if (pemasokList == null || pemasokList.isEmpty()) {
+            throw new InvalidDataException("pemasok", "minimal harus ada 1 pemasok");
+        }
+
+        Set<String> ids = new HashSet<>();
+        List<Object[]> rows = new ArrayList<>(pemasokList.size());
+        int existing = 0;
+        for (Pemasok pemasok : pemasokList) {
+            if (pemasok.getIdPemasok() == null || pemasok.getIdPemasok().isBlank()) {
+                throw new InvalidDataException("idPemasok", "wajib diisi untuk setiap pemasok");
+            }
+            if (!ids.add(pemasok.getIdPemasok())) {
+                throw new InvalidDataException("idPemasok", "duplikat di dalam request: " + pemasok.getIdPemasok());
+            }
+
+            validateRequiredFields(pemasok);
+            if (cache.get(pemasok.getIdPemasok()).isPresent()) {
+                existing++;
+            }
+            rows.add(new Object[] { pemasok.getIdPemasok(), pemasok.getNama(), pemasok.getAlamat(),
+                    pemasok.getTelepon(), pemasok.getEmail() });
+        }
+
+        // email unik dicek terhadap kondisi SETELAH upsert: pemasok yang tidak ikut di request
+        // tetap memegang emailnya, pemasok di request memakai email barunya
+        Map<String, String> emailOwner = new HashMap<>();
+        for (Pemasok p : cache.all()) {
+            if (!ids.contains(p.getIdPemasok()) && p.getEmail() != null && !p.getEmail().isBlank()) {
+                emailOwner.put(p.getEmail().toLowerCase(), p.getIdPemasok());
+            }
+        }
+        for (Pemasok pemasok : pemasokList) {
+            if (pemasok.getEmail() != null && !pemasok.getEmail().isBlank()
+                    && emailOwner.putIfAbsent(pemasok.getEmail().toLowerCase(), pemasok.getIdPemasok()) != null) {
+                throw new InvalidDataException("email", "sudah digunakan pemasok lain: " + pemasok.getEmail());
+            }
+        }
+
+        bulkIngestor.upsert("pemasok",
+                List.of("id_pemasok", "nama", "alamat", "telepon", "email"),
+                BulkIngestor.overwrite("nama", "alamat", "telepon", "email"),
+                rows);
+
+        cache.invalidate();
+        tableVersions.bump("pemasok");
+        for (Pemasok pemasok : pemasokList) {
+            searchIndex.putAfterCommit(pemasok.getIdPemasok(), pemasok.getNama(), pemasok.getAlamat());
+        }
+        return new BulkIngestor.UpsertResult(pemasokList.size(), existing);
     }
 
     // UPDATE
     public Pemasok update(String id, Pemasok updated) {
-        Pemasok existing = getById(id);
+        // baca dari DB, bukan snapshot: objek di snapshot dipakai bersama dan tidak boleh diubah
+        Pemasok existing = pemasokRepository.findById(id)
+                .orElseThrow(() -> new DataNotFoundException("Pemasok", id));
 
         validateRequiredFields(updated);
 
@@ -101,7 +291,11 @@ public class PemasokService {
         existing.setTelepon(updated.getTelepon());
         existing.setEmail(updated.getEmail());
 
-        return pemasokRepository.save(existing);
+        cache.invalidate();
+        tableVersions.bump("pemasok");
+        Pemasok saved = pemasokRepository.save(existing);
+        searchIndex.putAfterCommit(saved.getIdPemasok(), saved.getNama(), saved.getAlamat());
+        return saved;
     }
 
     // DELETE
@@ -109,7 +303,11 @@ public class PemasokService {
         if (!pemasokRepository.existsById(id)) {
             throw new DataNotFoundException("Pemasok", id);
         }
+        barangService.evictCascadedByPemasok(List.of(id));
+        cache.invalidate();
+        tableVersions.bump("pemasok");
         pemasokRepository.deleteById(id);
+        searchIndex.removeAfterCommit(id);
     }
 
     @Transactional
@@ -128,7 +326,28 @@ public class PemasokService {
             throw new IllegalStateException("Sebagian ID tidak ditemukan, operasi dibatalkan");
         }
 
+        barangService.evictCascadedByPemasok(ids);
+        cache.invalidate();
+        tableVersions.bump("pemasok");
         pemasokRepository.deleteAllById(ids);
+        ids.forEach(searchIndex::removeAfterCommit);
+    }
+
+    // JOB HAPUS di background, tanpa batas 100 ID: dihapus per chunk dengan transaksi pendek,
+    // progress dan pembatalan lewat /api/delete-jobs/{id}
+    public DeleteJob submitDeleteJob(List<String> ids) {
+        // barang (dan detail transaksinya) dihapus lebih dulu per potong, lihat BarangService.deleteCascadedByPemasok
+        return deleteJobService.submit("pemasok", ids, barangService::deleteCascadedByPemasok, this::deleteChunk);
+    }
+
+    // satu chunk job hapus: DELETE ... WHERE id IN (satu statement), tidak load entity satu per satu
+    private void deleteChunk(List<String> ids) {
+        cache.invalidate();
+        tableVersions.bump("pemasok");
+        // barang sudah dihapus per potong; yang masuk setelahnya tetap ikut ter-cascade
+        barangService.evictCascadedByPemasok(ids);
+        pemasokRepository.deleteAllByIdInBatch(ids);
+        ids.forEach(searchIndex::removeAfterCommit);
     }
 
     // HELPER: validasi field wajib
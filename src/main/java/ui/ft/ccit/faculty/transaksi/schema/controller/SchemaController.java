@@ -0,0 +1,50 @@
+package ui.ft.ccit.faculty.transaksi.schema.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import ui.ft.ccit.faculty.transaksi.AvroHttpMessageConverter;
+import ui.ft.ccit.faculty.transaksi.DataNotFoundException;
+import ui.ft.ccit.faculty.transaksi.barang.model.Barang;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksi;
+import ui.ft.ccit.faculty.transaksi.jenisbarang.model.JenisBarang;
+import ui.ft.ccit.faculty.transaksi.karyawan.model.Karyawan;
+import ui.ft.ccit.faculty.transaksi.pelanggan.model.Pelanggan;
+import ui.ft.ccit.faculty.transaksi.pemasok.model.Pemasok;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.Transaksi;
+
+import java.util.Map;
+import java.util.TreeSet;
+
+// Schema Avro (.avsc) per resource, untuk klien yang meminta Accept: application/avro.
+// Nama resource sama dengan path API-nya (mis. /api/detail-transaksi -> detail-transaksi).
+// Response list = array dengan item record ini.
+@RestController
+@RequestMapping("/api/schema")
+public class SchemaController {
+
+    private static final Map<String, Class<?>> ENTITIES = Map.of(
+            "barang", Barang.class,
+            "detail-transaksi", DetailTransaksi.class,
+            "jenis-barang", JenisBarang.class,
+            "karyawan", Karyawan.class,
+            "pelanggan", Pelanggan.class,
+            "pemasok", Pemasok.class,
+            "transaksi", Transaksi.class);
+
+    // GET daftar resource yang punya schema
+    @GetMapping
+    public TreeSet<String> list() {
+        return new TreeSet<>(ENTITIES.keySet());
+    }
+
+    // GET schema Avro satu resource
+    @GetMapping(value = "/{resource}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public String get(@PathVariable String resource) {
+        Class<?> entity = ENTITIES.get(resource);
+        if (entity == null) {
+            throw new DataNotFoundException("Schema", resource);
+        }
+        return AvroHttpMessageConverter.schemaFor(entity).getAvroSchema().toString(true);
+    }
+}
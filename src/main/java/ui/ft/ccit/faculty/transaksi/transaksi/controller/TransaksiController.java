@@ -0,0 +1,126 @@
+package ui.ft.ccit.faculty.transaksi.transaksi.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import ui.ft.ccit.faculty.transaksi.NdjsonExporter;
+import ui.ft.ccit.faculty.transaksi.RowCountCache;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.CheckoutRequest;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.CheckoutResponse;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.Invoice;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.Transaksi;
+import ui.ft.ccit.faculty.transaksi.transaksi.view.TransaksiService;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/transaksi")
+public class TransaksiController {
+
+    private final TransaksiService service;
+    private final NdjsonExporter ndjsonExporter;
+
+    public TransaksiController(TransaksiService service, NdjsonExporter ndjsonExporter) {
+        this.service = service;
+        this.ndjsonExporter = ndjsonExporter;
+    }
+
+    // GET list semua transaksi
+    @GetMapping
+    public List<Transaksi> list(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
+            HttpServletResponse response) {
+        // TANPA pagination
+        if (page == null && size == null) {
+            return service.getAll();
+        }
+
+        // DENGAN pagination
+        int p = (page != null && page >= 0) ? page : 0;
+        int s = (size != null && size > 0) ? size : 5;
+        if (count) {
+            response.setHeader(RowCountCache.HEADER, String.valueOf(service.getTotalCount()));
+        }
+        return service.getAllWithPagination(p, s);
+    }
+
+    // GET semua transaksi sebagai NDJSON streaming, hanya kalau diminta eksplisit (Accept: application/x-ndjson)
+    @GetMapping(produces = NdjsonExporter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> listStream(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) throws HttpMediaTypeNotAcceptableException {
+        NdjsonExporter.requireUnpaged(page, size);
+        return ndjsonExporter.export(service::streamAll);
+    }
+
+    // GET list dengan field terpilih saja: ?fields=kodeTransaksi,tglTransaksi (boleh ditambah page/size)
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> listFields(
+            @RequestParam String fields,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
+            HttpServletResponse response) {
+        if (page == null && size == null) {
+            return service.getAllProjected(fields);
+        }
+
+        int p = (page != null && page >= 0) ? page : 0;
+        int s = (size != null && size > 0) ? size : 5;
+        if (count) {
+            response.setHeader(RowCountCache.HEADER, String.valueOf(service.getTotalCount()));
+        }
+        return service.getAllWithPaginationProjected(fields, p, s);
+    }
+
+    // GET satu transaksi by kode
+    @GetMapping("/{kodeTransaksi}")
+    public Transaksi get(@PathVariable String kodeTransaksi) {
+        return service.getById(kodeTransaksi);
+    }
+
+    // GET total nota satu transaksi (subtotal, diskon, total) dari satu query agregat
+    @GetMapping("/{kodeTransaksi}/invoice")
+    public Invoice invoice(@PathVariable String kodeTransaksi) {
+        return service.getInvoice(kodeTransaksi);
+    }
+
+    // GET total nota banyak transaksi: ?kode=J001,J002,... (maks. 1000), tetap satu query
+    @GetMapping("/invoice")
+    public List<Invoice> invoices(@RequestParam List<String> kode) {
+        return service.getInvoices(kode);
+    }
+
+    // POST - create header transaksi baru
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Transaksi create(@RequestBody Transaksi transaksi) {
+        return service.save(transaksi);
+    }
+
+    // POST - checkout: header + detail + stok dalam satu request
+    @PostMapping("/checkout")
+    @ResponseStatus(HttpStatus.CREATED)
+    public CheckoutResponse checkout(@RequestBody CheckoutRequest request) {
+        return service.checkout(request);
+    }
+
+    // PUT - edit/update header transaksi
+    @PutMapping("/{kodeTransaksi}")
+    public Transaksi update(@PathVariable String kodeTransaksi, @RequestBody Transaksi transaksi) {
+        return service.update(kodeTransaksi, transaksi);
+    }
+
+    // DELETE - hapus transaksi
+    @DeleteMapping("/{kodeTransaksi}")
+    public void delete(@PathVariable String kodeTransaksi) {
+        service.delete(kodeTransaksi);
+    }
+}
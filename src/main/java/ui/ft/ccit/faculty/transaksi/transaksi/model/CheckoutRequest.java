@@ -0,0 +1,100 @@
+package ui.ft.ccit.faculty.transaksi.transaksi.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// payload checkout: header transaksi + semua item dalam satu request
+public class CheckoutRequest {
+
+    private String kodeTransaksi;
+    private LocalDateTime tglTransaksi;
+    private String idPelanggan;
+    private String idKaryawan;
+    private List<Item> items;
+
+    public CheckoutRequest() {
+    }
+
+    public CheckoutRequest(String kodeTransaksi, LocalDateTime tglTransaksi,
+                           String idPelanggan, String idKaryawan, List<Item> items) {
+        this.kodeTransaksi = kodeTransaksi;
+        this.tglTransaksi = tglTransaksi;
+        this.idPelanggan = idPelanggan;
+        this.idKaryawan = idKaryawan;
+        this.items = items;
+    }
+
+    // === GETTERS & SETTERS ===
+
+    public String getKodeTransaksi() {
+        return kodeTransaksi;
+    }
+
+    public void setKodeTransaksi(String kodeTransaksi) {
+        this.kodeTransaksi = kodeTransaksi;
+    }
+
+    public LocalDateTime getTglTransaksi() {
+        return tglTransaksi;
+    }
+
+    public void setTglTransaksi(LocalDateTime tglTransaksi) {
+        this.tglTransaksi = tglTransaksi;
+    }
+
+    public String getIdPelanggan() {
+        return idPelanggan;
+    }
+
+    public void setIdPelanggan(String idPelanggan) {
+        this.idPelanggan = idPelanggan;
+    }
+
+    public String getIdKaryawan() {
+        return idKaryawan;
+    }
+
+    public void setIdKaryawan(String idKaryawan) {
+        this.idKaryawan = idKaryawan;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    // === ITEM (satu baris belanja) ===
+
+    public static class Item {
+
+        private String idBarang;
+        private Short jumlah;
+
+        public Item() {
+        }
+
+        public Item(String idBarang, Short jumlah) {
+            this.idBarang = idBarang;
+            this.jumlah = jumlah;
+        }
+
+        public String getIdBarang() {
+            return idBarang;
+        }
+
+        public void setIdBarang(String idBarang) {
+            this.idBarang = idBarang;
+        }
+
+        public Short getJumlah() {
+            return jumlah;
+        }
+
+        public void setJumlah(Short jumlah) {
+            this.jumlah = jumlah;
+        }
+    }
+}
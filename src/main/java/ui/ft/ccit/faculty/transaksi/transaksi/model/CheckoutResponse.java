@@ -0,0 +1,25 @@
+package ui.ft.ccit.faculty.transaksi.transaksi.model;
+
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksi;
+
+import java.util.List;
+
+// hasil checkout: header yang tersimpan + detail yang ikut tersimpan
+public class CheckoutResponse {
+
+    private final Transaksi transaksi;
+    private final List<DetailTransaksi> detail;
+
+    public CheckoutResponse(Transaksi transaksi, List<DetailTransaksi> detail) {
+        this.transaksi = transaksi;
+        this.detail = detail;
+    }
+
+    public Transaksi getTransaksi() {
+        return transaksi;
+    }
+
+    public List<DetailTransaksi> getDetail() {
+        return detail;
+    }
+}
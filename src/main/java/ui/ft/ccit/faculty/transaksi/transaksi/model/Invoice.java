@@ -0,0 +1,71 @@
+package ui.ft.ccit.faculty.transaksi.transaksi.model;
+
+import java.time.LocalDateTime;
+
+// total nota satu transaksi, dihitung di database (lihat TransaksiRepository.findInvoices):
+//   harga jual  = harga * (1 + persen_laba / 100)
+//   subtotal    = jumlah x harga jual, dijumlah semua baris
+//   totalDiskon = subtotal baris x diskon / 100, dijumlah semua baris
+//   total       = subtotal - totalDiskon
+public class Invoice {
+
+    private final String kodeTransaksi;
+    private final LocalDateTime tglTransaksi;
+    private final String idPelanggan;
+    private final String idKaryawan;
+    private final long jumlahBaris;
+    private final long jumlahBarang;
+    private final double subtotal;
+    private final double totalDiskon;
+
+    // dipanggil dari constructor expression JPQL; SUM bernilai null kalau transaksi belum punya detail
+    public Invoice(String kodeTransaksi, LocalDateTime tglTransaksi, String idPelanggan, String idKaryawan,
+                   Number jumlahBaris, Number jumlahBarang, Number subtotal, Number totalDiskon) {
+        this.kodeTransaksi = kodeTransaksi;
+        this.tglTransaksi = tglTransaksi;
+        this.idPelanggan = idPelanggan;
+        this.idKaryawan = idKaryawan;
+        this.jumlahBaris = jumlahBaris != null ? jumlahBaris.longValue() : 0;
+        this.jumlahBarang = jumlahBarang != null ? jumlahBarang.longValue() : 0;
+        this.subtotal = subtotal != null ? subtotal.doubleValue() : 0;
+        this.totalDiskon = totalDiskon != null ? totalDiskon.doubleValue() : 0;
+    }
+
+    public String getKodeTransaksi() {
+        return kodeTransaksi;
+    }
+
+    public LocalDateTime getTglTransaksi() {
+        return tglTransaksi;
+    }
+
+    public String getIdPelanggan() {
+        return idPelanggan;
+    }
+
+    public String getIdKaryawan() {
+        return idKaryawan;
+    }
+
+    // banyaknya baris detail (barang berbeda)
+    public long getJumlahBaris() {
+        return jumlahBaris;
+    }
+
+    // total kuantitas semua baris
+    public long getJumlahBarang() {
+        return jumlahBarang;
+    }
+
+    public double getSubtotal() {
+        return subtotal;
+    }
+
+    public double getTotalDiskon() {
+        return totalDiskon;
+    }
+
+    public double getTotal() {
+        return subtotal - totalDiskon;
+    }
+}
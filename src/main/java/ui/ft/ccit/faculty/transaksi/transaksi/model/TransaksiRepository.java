@@ -0,0 +1,65 @@
+package ui.ft.ccit.faculty.transaksi.transaksi.model;
+
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TransaksiRepository extends JpaRepository<Transaksi, String> {
+
+    // halaman tanpa COUNT(*) (Slice, bukan Page)
+    Slice<Transaksi> findAllBy(Pageable pageable);
+
+    // cari semua transaksi milik pelanggan tertentu
+    List<Transaksi> findByIdPelanggan(String idPelanggan);
+
+    // cari semua transaksi yang dilayani karyawan tertentu
+    List<Transaksi> findByIdKaryawan(String idKaryawan);
+
+    // cari transaksi dalam rentang tanggal tertentu
+    List<Transaksi> findByTglTransaksiBetween(LocalDateTime from, LocalDateTime to);
+
+    // hitung berapa banyak transaksi dengan kodeTransaksi dalam daftar tertentu
+    long countByKodeTransaksiIn(List<String> kodeTransaksiList);
+
+    // total nota untuk banyak transaksi sekaligus: satu query agregat transaksi + detail + barang
+    // (bukan 1 query detail + N query barang per nota). Transaksi tanpa detail tetap muncul (LEFT JOIN)
+    @Query("SELECT new ui.ft.ccit.faculty.transaksi.transaksi.model.Invoice("
+            + " t.kodeTransaksi, t.tglTransaksi, t.idPelanggan, t.idKaryawan,"
+            + " COUNT(d.id.idBarang), SUM(d.jumlah),"
+            + " SUM(d.jumlah * b.harga * (1 + b.persenLaba / 100)),"
+            + " SUM(d.jumlah * b.harga * (1 + b.persenLaba / 100) * b.diskon / 100))"
+            + " FROM Transaksi t"
+            + " LEFT JOIN DetailTransaksi d ON d.id.kodeTransaksi = t.kodeTransaksi"
+            + " LEFT JOIN Barang b ON b.idBarang = d.id.idBarang"
+            + " WHERE t.kodeTransaksi IN :kode"
+            + " GROUP BY t.kodeTransaksi, t.tglTransaksi, t.idPelanggan, t.idKaryawan")
+    List<Invoice> findInvoices(@Param("kode") Collection<String> kode);
+
+    // job hapus pelanggan / karyawan: transaksinya dihapus lebih dulu per potong (maksimal limit baris),
+    // setelah detail transaksinya habis, supaya tidak ada cascade yang tidak terbatas
+    @Modifying
+    @Query(value = "DELETE FROM transaksi WHERE id_pelanggan IN (:idPelanggan) LIMIT :limit", nativeQuery = true)
+    int deleteLimitedByIdPelangganIn(@Param("idPelanggan") Collection<String> idPelanggan, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM transaksi WHERE id_karyawan IN (:idKaryawan) LIMIT :limit", nativeQuery = true)
+    int deleteLimitedByIdKaryawanIn(@Param("idKaryawan") Collection<String> idKaryawan, @Param("limit") int limit);
+
+    // stream semua transaksi (fetch size MIN_VALUE = streaming result set MySQL, read-only)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT t FROM Transaksi t")
+    Stream<Transaksi> streamAll();
+}
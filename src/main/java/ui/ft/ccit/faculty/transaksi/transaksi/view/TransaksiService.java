@@ -0,0 +1,252 @@
+package ui.ft.ccit.faculty.transaksi.transaksi.view;
+
+import ui.ft.ccit.faculty.transaksi.DataAlreadyExistsException;
+import ui.ft.ccit.faculty.transaksi.DataNotFoundException;
+import ui.ft.ccit.faculty.transaksi.FieldProjection;
+import ui.ft.ccit.faculty.transaksi.InvalidDataException;
+import ui.ft.ccit.faculty.transaksi.RowCountCache;
+import ui.ft.ccit.faculty.transaksi.barang.view.BarangService;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksi;
+import ui.ft.ccit.faculty.transaksi.karyawan.model.KaryawanRepository;
+import ui.ft.ccit.faculty.transaksi.pelanggan.model.PelangganRepository;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.CheckoutRequest;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.CheckoutResponse;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.Invoice;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.Transaksi;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.TransaksiRepository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+@Service
+@Transactional
+public class TransaksiService {
+
+    private final TransaksiRepository transaksiRepository;
+    private final BarangService barangService;
+    private final PelangganRepository pelangganRepository;
+    private final KaryawanRepository karyawanRepository;
+    private final EntityManager entityManager;
+    private final RowCountCache rowCountCache;
+    private final FieldProjection fieldProjection;
+
+    public TransaksiService(TransaksiRepository transaksiRepository,
+                            BarangService barangService,
+                            PelangganRepository pelangganRepository,
+                            KaryawanRepository karyawanRepository,
+                            EntityManager entityManager,
+                            RowCountCache rowCountCache,
+                            FieldProjection fieldProjection) {
+        this.transaksiRepository = transaksiRepository;
+        this.barangService = barangService;
+        this.pelangganRepository = pelangganRepository;
+        this.karyawanRepository = karyawanRepository;
+        this.entityManager = entityManager;
+        this.rowCountCache = rowCountCache;
+        this.fieldProjection = fieldProjection;
+        rowCountCache.register("transaksi", transaksiRepository::count);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Transaksi> getAll() {
+        return transaksiRepository.findAll();
+    }
+
+    // untuk export streaming: harus dipanggil di dalam transaksi yang masih terbuka
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<Transaksi> streamAll() {
+        return transaksiRepository.streamAll();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Transaksi> getAllWithPagination(int page, int size) {
+        return transaksiRepository
+                .findAllBy(PageRequest.of(page, size))
+                .getContent();
+    }
+
+    @Transactional(readOnly = true)
+    public long getTotalCount() {
+        return rowCountCache.get("transaksi");
+    }
+
+    @Transactional(readOnly = true)
+    public Transaksi getById(String kodeTransaksi) {
+        return transaksiRepository.findById(kodeTransaksi)
+                .orElseThrow(() -> new DataNotFoundException("Transaksi", kodeTransaksi));
+    }
+
+    // === INVOICE: total nota dihitung di database, satu query agregat (lihat Invoice) ===
+
+    @Transactional(readOnly = true)
+    public Invoice getInvoice(String kodeTransaksi) {
+        List<Invoice> invoices = transaksiRepository.findInvoices(List.of(kodeTransaksi));
+        if (invoices.isEmpty()) {
+            throw new DataNotFoundException("Transaksi", kodeTransaksi);
+        }
+        return invoices.get(0);
+    }
+
+    // banyak nota sekaligus (mis. rekonsiliasi akhir hari); urutan mengikuti kode di request,
+    // kode yang tidak ada dilewati
+    @Transactional(readOnly = true)
+    public List<Invoice> getInvoices(List<String> kodeTransaksi) {
+        Set<String> kode = new LinkedHashSet<>();
+        for (String k : kodeTransaksi) {
+            if (k != null && !k.isBlank()) {
+                kode.add(k.trim());
+            }
+        }
+        if (kode.isEmpty()) {
+            throw new InvalidDataException("kode", "minimal satu kode transaksi");
+        }
+        if (kode.size() > 1000) {
+            throw new InvalidDataException("kode", "Maksimal 1000 kode per request");
+        }
+
+        Map<String, Invoice> byKode = new HashMap<>();
+        for (Invoice invoice : transaksiRepository.findInvoices(kode)) {
+            byKode.put(invoice.getKodeTransaksi(), invoice);
+        }
+        List<Invoice> result = new ArrayList<>(byKode.size());
+        for (String k : kode) {
+            Invoice invoice = byKode.get(k);
+            if (invoice != null) {
+                result.add(invoice);
+            }
+        }
+        return result;
+    }
+
+    // === ?fields= : projection, hanya kolom terpilih yang dibaca (lihat FieldProjection) ===
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllProjected(String fields) {
+        return fieldProjection.find(fieldProjection.select(Transaksi.class, fields), null, Map.of(), 0, -1);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllWithPaginationProjected(String fields, int page, int size) {
+        return fieldProjection.find(fieldProjection.select(Transaksi.class, fields), null, Map.of(), page * size, size);
+    }
+
+    // CREATE (header saja)
+    public Transaksi save(Transaksi transaksi) {
+        validateHeader(transaksi.getKodeTransaksi(), transaksi.getIdPelanggan(), transaksi.getIdKaryawan());
+
+        if (transaksiRepository.existsById(transaksi.getKodeTransaksi())) {
+            throw new DataAlreadyExistsException("Transaksi", transaksi.getKodeTransaksi());
+        }
+
+        if (transaksi.getTglTransaksi() == null) {
+            transaksi.setTglTransaksi(LocalDateTime.now());
+        }
+
+        return transaksiRepository.save(transaksi);
+    }
+
+    // CHECKOUT: header + semua detail + pengurangan stok dalam satu transaksi
+    public CheckoutResponse checkout(CheckoutRequest request) {
+        validateHeader(request.getKodeTransaksi(), request.getIdPelanggan(), request.getIdKaryawan());
+
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new InvalidDataException("items", "minimal harus ada 1 item");
+        }
+
+        if (transaksiRepository.existsById(request.getKodeTransaksi())) {
+            throw new DataAlreadyExistsException("Transaksi", request.getKodeTransaksi());
+        }
+        if (!pelangganRepository.existsById(request.getIdPelanggan())) {
+            throw new DataNotFoundException("Pelanggan", request.getIdPelanggan());
+        }
+        if (!karyawanRepository.existsById(request.getIdKaryawan())) {
+            throw new DataNotFoundException("Karyawan", request.getIdKaryawan());
+        }
+
+        // gabungkan item dengan idBarang sama; TreeMap supaya urutan update stok
+        // selalu sama (urut idBarang) sehingga dua checkout tidak saling deadlock
+        SortedMap<String, Integer> jumlahPerBarang = new TreeMap<>();
+        for (CheckoutRequest.Item item : request.getItems()) {
+            if (item.getIdBarang() == null || item.getIdBarang().isBlank()) {
+                throw new InvalidDataException("idBarang", "wajib diisi untuk setiap item");
+            }
+            if (item.getJumlah() == null || item.getJumlah() <= 0) {
+                throw new InvalidDataException("jumlah", "harus lebih dari 0 untuk setiap item");
+            }
+            jumlahPerBarang.merge(item.getIdBarang(), (int) item.getJumlah(), Integer::sum);
+        }
+
+        // kurangi stok: satu UPDATE bersyarat per barang, gagal = rollback semua
+        barangService.kurangiStok(jumlahPerBarang);
+
+        LocalDateTime tgl = request.getTglTransaksi() != null ? request.getTglTransaksi() : LocalDateTime.now();
+        Transaksi header = new Transaksi(request.getKodeTransaksi(), tgl,
+                request.getIdPelanggan(), request.getIdKaryawan());
+
+        // persist (bukan save/merge) supaya tidak ada SELECT per baris;
+        // header di-flush dulu karena detail punya FK ke transaksi
+        entityManager.persist(header);
+        entityManager.flush();
+
+        // detail ditulis lewat JDBC batch (hibernate.jdbc.batch_size) saat commit
+        List<DetailTransaksi> detail = new ArrayList<>(jumlahPerBarang.size());
+        for (Map.Entry<String, Integer> entry : jumlahPerBarang.entrySet()) {
+            DetailTransaksi dt = new DetailTransaksi(
+                    request.getKodeTransaksi(), entry.getKey(), entry.getValue().shortValue());
+            entityManager.persist(dt);
+            detail.add(dt);
+        }
+
+        return new CheckoutResponse(header, detail);
+    }
+
+    // UPDATE
+    public Transaksi update(String kodeTransaksi, Transaksi updated) {
+        Transaksi existing = getById(kodeTransaksi);
+
+        validateHeader(kodeTransaksi, updated.getIdPelanggan(), updated.getIdKaryawan());
+
+        if (updated.getTglTransaksi() != null) {
+            existing.setTglTransaksi(updated.getTglTransaksi());
+        }
+        existing.setIdPelanggan(updated.getIdPelanggan());
+        existing.setIdKaryawan(updated.getIdKaryawan());
+
+        return transaksiRepository.save(existing);
+    }
+
+    // DELETE (detail ikut terhapus lewat ON DELETE CASCADE)
+    public void delete(String kodeTransaksi) {
+        if (!transaksiRepository.existsById(kodeTransaksi)) {
+            throw new DataNotFoundException("Transaksi", kodeTransaksi);
+        }
+        transaksiRepository.deleteById(kodeTransaksi);
+    }
+
+    // HELPER: validasi field wajib header
+    private void validateHeader(String kodeTransaksi, String idPelanggan, String idKaryawan) {
+        if (kodeTransaksi == null || kodeTransaksi.isBlank()) {
+            throw new InvalidDataException("kodeTransaksi", "wajib diisi");
+        }
+        if (idPelanggan == null || idPelanggan.isBlank()) {
+            throw new InvalidDataException("idPelanggan", "wajib diisi");
+        }
+        if (idKaryawan == null || idKaryawan.isBlank()) {
+            throw new InvalidDataException("idKaryawan", "wajib diisi");
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Offline: JWK set dari LocalJwkServer, tanpa MySQL dan tanpa IdP sungguhan.
+class CachingJwtDecoderTest {
+
+        private LocalJwkServer jwk;
+        private MutableClock clock;
+        private AtomicInteger verifications;
+        private CachingJwtDecoder decoder;
+
+        @BeforeEach
+        void setUp() throws Exception {
+                jwk = new LocalJwkServer();
+                clock = new MutableClock(Instant.now());
+                verifications = new AtomicInteger();
+
+                JwtDecoder nimbus = JwtDecoderConfig.nimbusDecoder(jwk.jwkSetUri(), LocalJwkServer.ISSUER, 300_000);
+                JwtDecoder counting = token -> {
+                        verifications.incrementAndGet();
+                        return nimbus.decode(token);
+                };
+                decoder = new CachingJwtDecoder(counting, 2, clock);
+        }
+
+        @AfterEach
+        void tearDown() {
+                jwk.close();
+        }
+
+        @Test
+        void tokenSama_diverifikasiSekali() throws Exception {
+                String token = jwk.token("kasir-01", Instant.now().plus(Duration.ofMinutes(10)));
+
+                Jwt first = decoder.decode(token);
+                Jwt second = decoder.decode(token);
+
+                assertThat(second).isSameAs(first);
+                assertThat(second.getSubject()).isEqualTo("kasir-01");
+                assertThat(verifications.get()).isEqualTo(1);
+                assertThat(decoder.getHits()).isEqualTo(1);
+                assertThat(jwk.getJwkRequests()).isEqualTo(1);
+        }
+
+        @Test
+        void tokenDimanipulasi_ditolakDanTidakDiCache() throws Exception {
+                String token = jwk.token("kasir-01", Instant.now().plus(Duration.ofMinutes(10)));
+                String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+                assertThatThrownBy(() -> decoder.decode(tampered)).isInstanceOf(JwtException.class);
+                assertThatThrownBy(() -> decoder.decode(tampered)).isInstanceOf(JwtException.class);
+                assertThat(verifications.get()).isEqualTo(2);
+                assertThat(decoder.size()).isZero();
+        }
+
+        @Test
+        void issuerLain_ditolak() throws Exception {
+                String token = jwk.token("https://issuer.lain", "kasir-01", Instant.now().plus(Duration.ofMinutes(10)));
+
+                assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtException.class);
+                assertThat(decoder.size()).isZero();
+        }
+
+        @Test
+        void entryLewatExp_diverifikasiUlang() throws Exception {
+                String token = jwk.token("kasir-01", Instant.now().plus(Duration.ofMinutes(10)));
+                decoder.decode(token);
+
+                clock.advance(Duration.ofMinutes(11));
+
+                // menurut jam cache sudah expired -> delegate (jam sungguhan) dipanggil lagi
+                decoder.decode(token);
+                assertThat(verifications.get()).isEqualTo(2);
+        }
+
+        @Test
+        void ukuranCacheDibatasi() throws Exception {
+                for (int i = 0; i < 5; i++) {
+                        decoder.decode(jwk.token("kasir-0" + i, Instant.now().plus(Duration.ofMinutes(10))));
+                }
+                assertThat(decoder.size()).isEqualTo(2);
+        }
+
+        @Test
+        void cachePenuh_entryPalingLamaTidakDipakaiDibuang() throws Exception {
+                Instant exp = Instant.now().plus(Duration.ofMinutes(10));
+                String a = jwk.token("kasir-a", exp);
+                String b = jwk.token("kasir-b", exp);
+                String c = jwk.token("kasir-c", exp);
+
+                decoder.decode(a);
+                decoder.decode(b);
+                decoder.decode(a);
+                // cache penuh (2) oleh token yang belum expired: c tetap masuk, b (LRU) yang dibuang
+                decoder.decode(c);
+                assertThat(verifications.get()).isEqualTo(3);
+
+                decoder.decode(a);
+                decoder.decode(c);
+                assertThat(verifications.get()).isEqualTo(3);
+
+                decoder.decode(b);
+                assertThat(verifications.get()).isEqualTo(4);
+                assertThat(decoder.size()).isEqualTo(2);
+        }
+
+        private static class MutableClock extends Clock {
+                private Instant now;
+
+                MutableClock(Instant now) {
+                        this.now = now;
+                }
+
+                void advance(Duration d) {
+                        now = now.plus(d);
+                }
+
+                @Override
+                public ZoneId getZone() {
+                        return ZoneOffset.UTC;
+                }
+
+                @Override
+                public Clock withZone(ZoneId zone) {
+                        return this;
+                }
+
+                @Override
+                public Instant instant() {
+                        return now;
+                }
+        }
+}
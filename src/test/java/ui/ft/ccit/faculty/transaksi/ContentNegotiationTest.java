@@ -0,0 +1,143 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.apache.avro.Schema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.avro.AvroMapper;
+import tools.jackson.dataformat.avro.AvroSchema;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Accept menentukan converter: JSON (default, juga untuk */*), CBOR, Smile, dan Avro dengan schema
+// dari /api/schema/{resource}. Body tiap format di-decode lagi dan dibandingkan dengan data seed B001.
+// NDJSON list hanya untuk Accept: application/x-ndjson eksplisit.
+@SpringBootTest
+@ActiveProfiles("local")
+class ContentNegotiationTest {
+
+        private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+        private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+        private static final MediaType NDJSON = MediaType.parseMediaType(NdjsonExporter.MEDIA_TYPE);
+
+        @Autowired
+        private WebApplicationContext context;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        private MockMvc mockMvc;
+
+        @BeforeEach
+        void setUp() {
+                mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        }
+
+        @Test
+        void acceptSembarangTetapJson() throws Exception {
+                MockHttpServletResponse res = fetch("/api/barang/B001", MediaType.ALL);
+
+                assertThat(MediaType.parseMediaType(res.getContentType()).isCompatibleWith(MediaType.APPLICATION_JSON))
+                                .isTrue();
+                assertThat(objectMapper.readTree(res.getContentAsByteArray()).get("nama").asString())
+                                .isEqualTo("Chitato");
+        }
+
+        @Test
+        void listTanpaAcceptAtauSembarangTetapJsonArray() throws Exception {
+                // curl/browser: tanpa Accept atau Accept */* -> JSON array seperti sebelum ada NDJSON
+                mockMvc.perform(get("/api/barang"))
+                                .andExpect(status().isOk())
+                                .andExpect(request().asyncNotStarted())
+                                .andExpect(jsonPath("$[0].idBarang").value("B001"));
+                mockMvc.perform(get("/api/barang").accept(MediaType.ALL))
+                                .andExpect(status().isOk())
+                                .andExpect(request().asyncNotStarted())
+                                .andExpect(jsonPath("$[0].idBarang").value("B001"));
+        }
+
+        @Test
+        void ndjsonHanyaKalauDimintaEksplisit() throws Exception {
+                MvcResult started = mockMvc.perform(get("/api/barang").accept(NDJSON))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                MockHttpServletResponse res = mockMvc.perform(asyncDispatch(started))
+                                .andExpect(status().isOk())
+                                .andReturn()
+                                .getResponse();
+
+                assertThat(MediaType.parseMediaType(res.getContentType()).isCompatibleWith(NDJSON)).isTrue();
+                String firstLine = res.getContentAsString().lines().findFirst().orElseThrow();
+                assertThat(objectMapper.readTree(firstLine).get("idBarang").asString()).isEqualTo("B001");
+        }
+
+        @Test
+        void ndjsonDenganPageAtauCursorDitolak406() throws Exception {
+                mockMvc.perform(get("/api/barang").param("page", "0").param("size", "2").accept(NDJSON))
+                                .andExpect(status().isNotAcceptable());
+                mockMvc.perform(get("/api/barang").param("cursor", KeysetCursor.encode("B002")).accept(NDJSON))
+                                .andExpect(status().isNotAcceptable());
+        }
+
+        @Test
+        void cborDanSmileMemakaiConverterMasingMasing() throws Exception {
+                MockHttpServletResponse cbor = fetch("/api/barang/B001", CBOR);
+                assertThat(MediaType.parseMediaType(cbor.getContentType()).isCompatibleWith(CBOR)).isTrue();
+                assertThat(new CBORMapper().readTree(cbor.getContentAsByteArray()).get("nama").asString())
+                                .isEqualTo("Chitato");
+
+                MockHttpServletResponse smile = fetch("/api/barang/B001", SMILE);
+                assertThat(MediaType.parseMediaType(smile.getContentType()).isCompatibleWith(SMILE)).isTrue();
+                assertThat(new SmileMapper().readTree(smile.getContentAsByteArray()).get("nama").asString())
+                                .isEqualTo("Chitato");
+        }
+
+        @Test
+        void avroDibacaDenganSchemaYangDipublikasikan() throws Exception {
+                String avsc = fetch("/api/schema/barang", MediaType.APPLICATION_JSON).getContentAsString();
+                Schema schema = new Schema.Parser().parse(avsc);
+                AvroMapper avroMapper = new AvroMapper();
+
+                MockHttpServletResponse one = fetch("/api/barang/B001", AvroHttpMessageConverter.APPLICATION_AVRO);
+                assertThat(MediaType.parseMediaType(one.getContentType())
+                                .isCompatibleWith(AvroHttpMessageConverter.APPLICATION_AVRO)).isTrue();
+                JsonNode barang = avroMapper.readerFor(JsonNode.class)
+                                .with(new AvroSchema(schema))
+                                .readValue(one.getContentAsByteArray());
+                assertThat(barang.get("idBarang").asString()).isEqualTo("B001");
+                assertThat(barang.get("harga").asDouble()).isEqualTo(3500.0);
+
+                // list = array Avro dengan item record yang sama
+                MockHttpServletResponse list = fetch("/api/barang?page=0&size=3",
+                                AvroHttpMessageConverter.APPLICATION_AVRO);
+                JsonNode items = avroMapper.readerFor(JsonNode.class)
+                                .with(new AvroSchema(Schema.createArray(schema)))
+                                .readValue(list.getContentAsByteArray());
+                assertThat(items.size()).isEqualTo(3);
+                assertThat(items.get(0).get("idBarang").asString()).startsWith("B");
+        }
+
+        private MockHttpServletResponse fetch(String url, MediaType accept) throws Exception {
+                return mockMvc.perform(get(url).accept(accept))
+                                .andExpect(status().isOk())
+                                .andReturn()
+                                .getResponse();
+        }
+}
@@ -0,0 +1,137 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Offline: "database" = list di memori, transaksi per batch dicatat oleh transaction manager palsu.
+class CsvImporterTest {
+
+        private final AtomicInteger commits = new AtomicInteger();
+
+        private final PlatformTransactionManager txManager = new PlatformTransactionManager() {
+                @Override
+                public TransactionStatus getTransaction(TransactionDefinition definition) {
+                        return new SimpleTransactionStatus();
+                }
+
+                @Override
+                public void commit(TransactionStatus status) {
+                        commits.incrementAndGet();
+                }
+
+                @Override
+                public void rollback(TransactionStatus status) {
+                }
+        };
+
+        private final List<String[]> written = new CopyOnWriteArrayList<>();
+
+        @Test
+        void barisValidMasukPerBatchDanErrorDilaporkanPerBaris() throws IOException {
+                CsvImporter importer = new CsvImporter(txManager, 2, 1);
+                String csv = """
+                                id,nama,stok
+                                A001,"Kopi, Bubuk",10
+                                A002,"Teh ""Celup""",5
+                                A003,Gula,abc
+
+                                A001,Duplikat,1
+                                A004,"Multi
+                                Baris",7
+                                A005,Sudah Ada,1
+                                """;
+
+                CsvImporter.Result result = importer.importCsv(stream(csv), this::map, r -> r[0], batch -> {
+                        batch.stream().filter(r -> !r[0].equals("A005")).forEach(written::add);
+                        return batch.stream().filter(r -> r[0].equals("A005")).toList();
+                });
+
+                assertThat(result.getTotalRows()).isEqualTo(6);
+                assertThat(result.getImported()).isEqualTo(3);
+                assertThat(result.getRejected()).isEqualTo(3);
+                assertThat(written).extracting(r -> r[1]).containsExactly("Kopi, Bubuk", "Teh \"Celup\"", "Multi\nBaris");
+                // A001, A002 | A004, A005
+                assertThat(commits).hasValue(2);
+
+                assertThat(result.getErrors()).extracting(CsvImporter.RowError::getLine).containsExactly(4, 6, 9);
+                assertThat(result.getErrors().get(0).getField()).isEqualTo("stok");
+                assertThat(result.getErrors().get(2).getMessage()).contains("sudah ada");
+        }
+
+        @Test
+        void batchGagalTidakMenghentikanImport() throws IOException {
+                CsvImporter importer = new CsvImporter(txManager, 1, 1);
+                String csv = "id,nama,stok\r\nA001,Satu,1\r\nA002,Dua,2\r\nA003,Tiga,3\r\n";
+
+                CsvImporter.Result result = importer.importCsv(stream(csv), this::map, r -> r[0], batch -> {
+                        if (batch.get(0)[0].equals("A002")) {
+                                throw new IllegalStateException("foreign key gagal");
+                        }
+                        written.addAll(batch);
+                        return List.of();
+                });
+
+                assertThat(result.getImported()).isEqualTo(2);
+                assertThat(result.getErrors()).singleElement()
+                                .satisfies(e -> assertThat(e.getLine()).isEqualTo(3))
+                                .satisfies(e -> assertThat(e.getMessage()).contains("foreign key gagal"));
+        }
+
+        @Test
+        void parserMenungguWriterYangLambat() throws IOException {
+                // antrian 1 batch: parser tidak boleh lebih dari ~2 batch di depan writer
+                CsvImporter importer = new CsvImporter(txManager, 10, 1);
+                StringBuilder csv = new StringBuilder("id,nama,stok\n");
+                for (int i = 0; i < 200; i++) {
+                        csv.append(String.format("B%03d,Barang %d,%d%n", i, i, i));
+                }
+                AtomicInteger parsed = new AtomicInteger();
+                AtomicInteger maxAhead = new AtomicInteger();
+
+                CsvImporter.Result result = importer.importCsv(stream(csv.toString()), row -> {
+                        parsed.incrementAndGet();
+                        return map(row);
+                }, r -> r[0], batch -> {
+                        maxAhead.accumulateAndGet(parsed.get() - written.size(), Math::max);
+                        sleep(5);
+                        written.addAll(batch);
+                        return List.of();
+                });
+
+                assertThat(result.getImported()).isEqualTo(200);
+                assertThat(maxAhead.get()).isLessThanOrEqualTo(40);
+        }
+
+        private String[] map(CsvImporter.Row row) {
+                if (row.get("id") == null) {
+                        throw new InvalidDataException("id", "wajib diisi");
+                }
+                row.getShort("stok");
+                return new String[] { row.get("id"), row.get("nama") };
+        }
+
+        private static InputStream stream(String csv) {
+                return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static void sleep(long millis) {
+                try {
+                        Thread.sleep(millis);
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                }
+        }
+}
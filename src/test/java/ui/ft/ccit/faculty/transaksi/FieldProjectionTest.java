@@ -0,0 +1,112 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import ui.ft.ccit.faculty.transaksi.barang.model.Barang;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// ?fields= terhadap data seed (barang B001..B013, detail transaksi J001): validasi nama field,
+// hanya kolom terpilih yang dikembalikan, dan pagination tetap jalan bersama fields.
+@SpringBootTest
+@ActiveProfiles("local")
+class FieldProjectionTest {
+
+        @Autowired
+        private WebApplicationContext context;
+
+        @Autowired
+        private FieldProjection fieldProjection;
+
+        private MockMvc mockMvc;
+
+        @BeforeEach
+        void setUp() {
+                mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        }
+
+        @Test
+        void fieldTidakDikenalDitolak400() throws Exception {
+                mockMvc.perform(get("/api/barang").param("fields", "nama,hargaJual"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.code").value("INVALID_DATA"))
+                                .andExpect(jsonPath("$.resource").value("fields"));
+                mockMvc.perform(get("/api/barang").param("fields", " , "))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void hanyaFieldTerpilihYangDikembalikan() throws Exception {
+                mockMvc.perform(get("/api/barang").param("fields", "idBarang,harga"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0]", aMapWithSize(2)))
+                                .andExpect(jsonPath("$[0].idBarang").value("B001"))
+                                .andExpect(jsonPath("$[0].harga").value(3500.0))
+                                .andExpect(jsonPath("$[0].nama").doesNotExist());
+        }
+
+        @Test
+        void paginationBersamaFields() throws Exception {
+                mockMvc.perform(get("/api/barang").param("fields", "nama").param("page", "1").param("size", "5"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$", hasSize(5)))
+                                .andExpect(jsonPath("$[0]", aMapWithSize(1)))
+                                // urut primary key: halaman 2 dimulai dari B006
+                                .andExpect(jsonPath("$[0].nama").value("Sapu"));
+        }
+
+        @Test
+        void keysetBersamaFieldsSelaluMembawaId() throws Exception {
+                mockMvc.perform(get("/api/barang")
+                                .param("fields", "nama")
+                                .param("cursor", KeysetCursor.encode("B002"))
+                                .param("size", "2"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items", hasSize(2)))
+                                .andExpect(jsonPath("$.items[0].idBarang").value("B003"))
+                                .andExpect(jsonPath("$.items[0].nama").value("Sprite"))
+                                .andExpect(jsonPath("$.items[0].harga").doesNotExist())
+                                .andExpect(jsonPath("$.nextCursor", notNullValue()));
+        }
+
+        @Test
+        void fieldEmbeddedIdDetailTransaksi() throws Exception {
+                mockMvc.perform(get("/api/detail-transaksi").param("fields", "kodeTransaksi,jumlah")
+                                .param("page", "0").param("size", "1"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0]", aMapWithSize(2)))
+                                .andExpect(jsonPath("$[0].kodeTransaksi").value("J001"))
+                                .andExpect(jsonPath("$[0].idBarang").doesNotExist());
+        }
+
+        @Test
+        void urutanFieldMengikutiParameterDanDuplikatDibuang() {
+                FieldProjection.Selection selection = fieldProjection.select(Barang.class, "harga, nama,harga");
+                assertThat(selection.getFields()).containsExactly("harga", "nama");
+                assertThat(selection.withId().getFields()).containsExactly("idBarang", "harga", "nama");
+
+                List<Map<String, Object>> rows = fieldProjection.find(selection, "e.idBarang = :id",
+                                Map.of("id", "B003"), 0, -1);
+                assertThat(rows).containsExactly(Map.of("harga", 1650.0, "nama", "Sprite"));
+
+                assertThatThrownBy(() -> fieldProjection.select(Barang.class, "stokGudang"))
+                                .isInstanceOf(InvalidDataException.class);
+        }
+}
@@ -0,0 +1,151 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Offline: filter dipanggil langsung dengan request/response mock, "controller" diganti FilterChain
+// yang menghitung berapa kali ia benar-benar dijalankan.
+class IdempotencyFilterTest {
+
+        private static final String BODY = "[{\"idBarang\":\"B001\",\"nama\":\"Pensil\"}]";
+
+        private AtomicInteger executions;
+        private IdempotencyFilter filter;
+
+        @BeforeEach
+        void setUp() {
+                executions = new AtomicInteger();
+                filter = new IdempotencyFilter(new IdempotencyStore(100, 1_000_000, 100_000, 60_000), JsonMapper.builder().build(), 10_000);
+        }
+
+        @Test
+        void duplikatBersamaanHanyaDijalankanSekali() throws Exception {
+                int threads = 8;
+                CountDownLatch start = new CountDownLatch(1);
+                FilterChain slowChain = (req, res) -> {
+                        executions.incrementAndGet();
+                        // tahan request pertama supaya duplikat datang saat masih in-flight
+                        try {
+                                Thread.sleep(200);
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                        }
+                        res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                        ((HttpServletResponse) res).setStatus(201);
+                        res.getOutputStream().write(req.getInputStream().readAllBytes());
+                };
+
+                List<Future<MockHttpServletResponse>> results = new ArrayList<>();
+                try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+                        for (int i = 0; i < threads; i++) {
+                                results.add(pool.submit(() -> {
+                                        start.await();
+                                        MockHttpServletResponse res = new MockHttpServletResponse();
+                                        filter.doFilter(bulkPost("key-1", BODY), res, slowChain);
+                                        return res;
+                                }));
+                        }
+                        start.countDown();
+
+                        int replayed = 0;
+                        for (Future<MockHttpServletResponse> f : results) {
+                                MockHttpServletResponse res = f.get(30, TimeUnit.SECONDS);
+                                assertThat(res.getStatus()).isEqualTo(201);
+                                assertThat(res.getContentAsString()).isEqualTo(BODY);
+                                if ("true".equals(res.getHeader(IdempotencyFilter.REPLAYED_HEADER))) {
+                                        replayed++;
+                                }
+                        }
+                        assertThat(executions).hasValue(1);
+                        assertThat(replayed).isEqualTo(threads - 1);
+                }
+        }
+
+        @Test
+        void retrySetelahSelesaiDijawabDariStore() throws Exception {
+                FilterChain chain = okChain();
+                filter.doFilter(bulkPost("key-2", BODY), new MockHttpServletResponse(), chain);
+
+                MockHttpServletResponse retry = new MockHttpServletResponse();
+                filter.doFilter(bulkPost("key-2", BODY), retry, chain);
+
+                assertThat(executions).hasValue(1);
+                assertThat(retry.getStatus()).isEqualTo(201);
+                assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        }
+
+        @Test
+        void keySamaBodyBerbedaDitolak() throws Exception {
+                FilterChain chain = okChain();
+                filter.doFilter(bulkPost("key-3", BODY), new MockHttpServletResponse(), chain);
+
+                MockHttpServletResponse other = new MockHttpServletResponse();
+                filter.doFilter(bulkPost("key-3", "[]"), other, chain);
+
+                assertThat(executions).hasValue(1);
+                assertThat(other.getStatus()).isEqualTo(400);
+                assertThat(other.getContentAsString()).contains("IDEMPOTENCY_KEY_REUSED");
+        }
+
+        @Test
+        void requestGagalBolehDiulang() throws Exception {
+                FilterChain failing = (req, res) -> {
+                        executions.incrementAndGet();
+                        ((HttpServletResponse) res).setStatus(409);
+                };
+                filter.doFilter(bulkPost("key-4", BODY), new MockHttpServletResponse(), failing);
+
+                MockHttpServletResponse retry = new MockHttpServletResponse();
+                filter.doFilter(bulkPost("key-4", BODY), retry, okChain());
+
+                assertThat(executions).hasValue(2);
+                assertThat(retry.getStatus()).isEqualTo(201);
+                assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        }
+
+        @Test
+        void tanpaHeaderTidakDisentuh() throws Exception {
+                FilterChain chain = okChain();
+                filter.doFilter(bulkPost(null, BODY), new MockHttpServletResponse(), chain);
+                filter.doFilter(bulkPost(null, BODY), new MockHttpServletResponse(), chain);
+
+                assertThat(executions).hasValue(2);
+        }
+
+        private FilterChain okChain() {
+                return (req, res) -> {
+                        executions.incrementAndGet();
+                        ((HttpServletResponse) res).setStatus(201);
+                        res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                        res.getOutputStream().write(req.getInputStream().readAllBytes());
+                };
+        }
+
+        private static MockHttpServletRequest bulkPost(String key, String body) {
+                MockHttpServletRequest req = new MockHttpServletRequest("POST", "/api/barang/bulk");
+                req.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                req.setContent(body.getBytes(StandardCharsets.UTF_8));
+                if (key != null) {
+                        req.addHeader(IdempotencyFilter.HEADER, key);
+                }
+                return req;
+        }
+}
@@ -0,0 +1,52 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Offline: batas jumlah entry dan total byte store, tanpa filter/servlet.
+class IdempotencyStoreTest {
+
+        @Test
+        void entryInFlightTidakPernahDiEvict() {
+                IdempotencyStore store = new IdempotencyStore(2, 1_000, 100, 60_000);
+                IdempotencyStore.Entry first = store.claim("a", "fp").getEntry();
+                store.claim("b", "fp");
+                store.claim("c", "fp");
+
+                // store penuh oleh entry in-flight: tidak ada yang dibuang
+                assertThat(store.size()).isEqualTo(3);
+                assertThat(store.claim("a", "fp").isOwner()).isFalse();
+                assertThat(store.claim("a", "fp").getEntry()).isSameAs(first);
+        }
+
+        @Test
+        void entrySelesaiTerlamaDibuangSaatByteMelebihiBatas() {
+                IdempotencyStore store = new IdempotencyStore(100, 100, 100, 60_000);
+                complete(store, "a", 60);
+                complete(store, "b", 60);
+
+                assertThat(store.bytes()).isEqualTo(60);
+                assertThat(store.size()).isEqualTo(1);
+                // "a" sudah tergusur -> klaim baru
+                assertThat(store.claim("a", "fp").isOwner()).isTrue();
+                assertThat(store.claim("b", "fp").isOwner()).isFalse();
+        }
+
+        @Test
+        void bodyTerlaluBesarHanyaMenyimpanStatus() throws Exception {
+                IdempotencyStore store = new IdempotencyStore(100, 1_000, 10, 60_000);
+                IdempotencyStore.Entry entry = complete(store, "a", 50);
+
+                IdempotencyStore.StoredResponse stored = entry.getResult().get();
+                assertThat(stored.getStatus()).isEqualTo(201);
+                assertThat(stored.getBody()).isEmpty();
+                assertThat(store.bytes()).isZero();
+        }
+
+        private static IdempotencyStore.Entry complete(IdempotencyStore store, String key, int bodyBytes) {
+                IdempotencyStore.Entry entry = store.claim(key, "fp").getEntry();
+                store.complete(key, entry, new IdempotencyStore.StoredResponse(201, "application/json", new byte[bodyBytes]));
+                return entry;
+        }
+}
@@ -0,0 +1,112 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Benchmark: throughput POST ter-autentikasi dengan dan tanpa cache JWT.
+// JWK dari LocalJwkServer (offline). Endpoint yang dipakai POST /api/transaksi/checkout dengan
+// body kosong: lolos autentikasi lalu langsung 400 dari validasi, jadi yang terukur terutama biaya auth.
+// Jalankan dengan: mvn test -Pbenchmark  (butuh MySQL local untuk start aplikasi)
+@Tag("benchmark")
+class JwtCacheBenchmarkTest {
+
+        private static final int THREADS = 16;
+        private static final int TOKENS = 50;  // 50 terminal POS, masing-masing 1 token
+        private static final Duration DURATION = Duration.ofSeconds(10);
+
+        @Test
+        void authenticatedPost_denganVsTanpaCache() throws Exception {
+                try (LocalJwkServer jwk = new LocalJwkServer()) {
+                        List<String> tokens = new ArrayList<>();
+                        for (int i = 0; i < TOKENS; i++) {
+                                tokens.add(jwk.token("kasir-" + i, Instant.now().plus(Duration.ofHours(1))));
+                        }
+
+                        double tanpaCache = run(jwk, tokens, 0);
+                        double denganCache = run(jwk, tokens, 10_000);
+
+                        System.out.printf("[jwt-cache-benchmark] %d thread, %d token%n", THREADS, TOKENS);
+                        System.out.printf("  tanpa cache : %,10.0f req/detik%n", tanpaCache);
+                        System.out.printf("  dengan cache: %,10.0f req/detik%n", denganCache);
+                        System.out.printf("  speedup     : %10.2fx%n", denganCache / tanpaCache);
+                }
+        }
+
+        private double run(LocalJwkServer jwk, List<String> tokens, int cacheSize) throws Exception {
+                String[] args = {
+                                "--spring.profiles.active=local",
+                                "--server.port=0",
+                                "--spring.security.oauth2.resourceserver.jwt.issuer-uri=" + LocalJwkServer.ISSUER,
+                                "--spring.security.oauth2.resourceserver.jwt.jwk-set-uri=" + jwk.jwkSetUri(),
+                                "--transaksi.jwt.cache-size=" + cacheSize,
+                                "--spring.jpa.show-sql=false",
+                                "--logging.level.root=WARN",
+                                "--logging.level.ui.ft.ccit.faculty.transaksi=WARN",
+                                "--logging.level.org.springframework.web=WARN",
+                                "--logging.level.org.hibernate.SQL=WARN" };
+
+                try (ConfigurableApplicationContext context = SpringApplication.run(TransaksiApplication.class, args);
+                                HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+                        URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                                        + "/api/transaksi/checkout");
+
+                        // tanpa token tetap 401
+                        HttpResponse<Void> anonymous = http.send(post(uri, null), HttpResponse.BodyHandlers.discarding());
+                        assertThat(anonymous.statusCode()).isEqualTo(401);
+
+                        load(http, uri, tokens, Duration.ofSeconds(3)); // pemanasan
+                        AtomicLong ok = load(http, uri, tokens, DURATION);
+                        return ok.get() / (double) DURATION.toSeconds();
+                }
+        }
+
+        private AtomicLong load(HttpClient http, URI uri, List<String> tokens, Duration duration) throws Exception {
+                AtomicLong ok = new AtomicLong();
+                long deadline = System.nanoTime() + duration.toNanos();
+                ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+                for (int t = 0; t < THREADS; t++) {
+                        int offset = t;
+                        pool.submit(() -> {
+                                int i = offset;
+                                while (System.nanoTime() < deadline) {
+                                        String token = tokens.get(i++ % tokens.size());
+                                        HttpResponse<Void> res = http.send(post(uri, token), HttpResponse.BodyHandlers.discarding());
+                                        // 400 = sudah lolos autentikasi, ditolak validasi body
+                                        assertThat(res.statusCode()).isEqualTo(400);
+                                        ok.incrementAndGet();
+                                }
+                                return null;
+                        });
+                }
+                pool.shutdown();
+                assertThat(pool.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)).isTrue();
+                return ok;
+        }
+
+        private static HttpRequest post(URI uri, String token) {
+                HttpRequest.Builder b = HttpRequest.newBuilder(uri)
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString("{}"));
+                if (token != null) {
+                        b.header("Authorization", "Bearer " + token);
+                }
+                return b.build();
+        }
+}
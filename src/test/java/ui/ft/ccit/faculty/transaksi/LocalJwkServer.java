@@ -0,0 +1,76 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pengganti IdP untuk test offline: menyajikan JWK set (RSA 2048) di http://localhost:<port>/jwks
+// dan menandatangani token RS256 dengan key yang sama.
+class LocalJwkServer implements AutoCloseable {
+
+        static final String ISSUER = "http://localhost/test-issuer";
+
+        private final RSAKey key;
+        private final HttpServer server;
+        private final AtomicInteger jwkRequests = new AtomicInteger();
+
+        LocalJwkServer() throws JOSEException, IOException {
+                key = new RSAKeyGenerator(2048).keyID("local-test").generate();
+                byte[] body = new JWKSet(key.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+
+                server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+                server.createContext("/jwks", exchange -> {
+                        jwkRequests.incrementAndGet();
+                        exchange.getResponseHeaders().add("Content-Type", "application/json");
+                        exchange.sendResponseHeaders(200, body.length);
+                        exchange.getResponseBody().write(body);
+                        exchange.close();
+                });
+                server.start();
+        }
+
+        String jwkSetUri() {
+                return "http://localhost:" + server.getAddress().getPort() + "/jwks";
+        }
+
+        int getJwkRequests() {
+                return jwkRequests.get();
+        }
+
+        String token(String subject, Instant expiresAt) throws JOSEException {
+                return token(ISSUER, subject, expiresAt);
+        }
+
+        String token(String issuer, String subject, Instant expiresAt) throws JOSEException {
+                JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                                .issuer(issuer)
+                                .subject(subject)
+                                .issueTime(new Date())
+                                .expirationTime(Date.from(expiresAt))
+                                .jwtID(UUID.randomUUID().toString())
+                                .build();
+                SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+                jwt.sign(new RSASSASigner(key));
+                return jwt.serialize();
+        }
+
+        @Override
+        public void close() {
+                server.stop(0);
+        }
+}
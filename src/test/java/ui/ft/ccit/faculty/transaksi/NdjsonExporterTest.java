@@ -0,0 +1,75 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+// Offline: Stream di memori dan transaction manager mock; yang dicek baris yang ditulis,
+// detach per baris, dan batas export bersamaan.
+class NdjsonExporterTest {
+
+        private final EntityManager entityManager = mock(EntityManager.class);
+
+        private NdjsonExporter exporter(int maxConcurrent) {
+                return new NdjsonExporter(JsonMapper.builder().build(), entityManager,
+                                mock(PlatformTransactionManager.class), maxConcurrent);
+        }
+
+        @Test
+        void barisDitulisPerBarisLaluDiDetachDanStreamDitutup() throws Exception {
+                AtomicBoolean closed = new AtomicBoolean();
+                StreamingResponseBody body = exporter(1)
+                                .export(() -> Stream.of("a", "b", "c").onClose(() -> closed.set(true)))
+                                .getBody();
+
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                body.writeTo(out);
+
+                assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("\"a\"\n\"b\"\n\"c\"\n");
+                verify(entityManager).detach("a");
+                verify(entityManager).detach("c");
+                assertThat(closed).isTrue();
+        }
+
+        @Test
+        void exportMelebihiBatasDijawab503SampaiSlotKembali() throws Exception {
+                NdjsonExporter exporter = exporter(1);
+
+                ResponseEntity<StreamingResponseBody> first = exporter.export(() -> Stream.of("a"));
+                ResponseEntity<StreamingResponseBody> second = exporter.export(() -> Stream.of("b"));
+                assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(second.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                assertThat(second.getBody()).isNull();
+
+                // slot dilepas setelah body selesai ditulis
+                first.getBody().writeTo(new ByteArrayOutputStream());
+                assertThat(exporter.export(() -> Stream.of("c")).getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+
+        @Test
+        void slotDilepasWalaupunExportGagal() throws Exception {
+                NdjsonExporter exporter = exporter(1);
+
+                StreamingResponseBody failing = exporter.<String>export(() -> {
+                        throw new IllegalStateException("koneksi putus");
+                }).getBody();
+                assertThatThrownBy(() -> failing.writeTo(new ByteArrayOutputStream()))
+                                .isInstanceOf(IllegalStateException.class);
+
+                assertThat(exporter.export(() -> Stream.of("a")).getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+}
@@ -0,0 +1,367 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import ui.ft.ccit.faculty.transaksi.barang.model.Barang;
+import ui.ft.ccit.faculty.transaksi.barang.view.BarangService;
+
+import javax.sql.DataSource;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Load test seluruh REST API: aplikasi utuh (Tomcat + Security + JPA) di port acak di atas H2 in-memory,
+// dibebani campuran traffic kasir (POS):
+//   by-id    GET /api/barang/{id}          (id Zipf: barang laris lebih sering dicari)
+//   search   GET /api/barang/search?q=
+//   list     GET /api/barang?page=&size=20
+//   checkout POST /api/transaksi/checkout (1-8 item, ber-token)
+//   bulk     POST /api/barang/bulk         (20 barang baru, ber-token)
+// Model terbuka: request datang mengikuti laju target (jarak antar kedatangan eksponensial) dan dikirim
+// tanpa menunggu response sebelumnya. Latency dihitung dari jadwal kedatangan, bukan saat request
+// benar-benar terkirim, jadi antrian di client maupun server ikut terukur (tanpa coordinated omission).
+// Laporan: throughput + persentil HdrHistogram per route; distribusi lengkap di target/load-test/<route>.hgrm.
+// Jalankan dengan: mvn test -Pbenchmark -Dtest=PosLoadTest
+//   opsi: -Dload.rate=200 (req/detik) -Dload.duration=30 -Dload.warmup=10 (detik) -Dload.seed=42
+//         -Dload.mix=by-id:50,search:15,list:15,checkout:15,bulk:5
+@Tag("benchmark")
+class PosLoadTest {
+
+        private static final int RATE = Integer.getInteger("load.rate", 200);
+        private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration", 30));
+        private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+        private static final long SEED = Long.getLong("load.seed", 42);
+        private static final String MIX = System.getProperty("load.mix", "by-id:50,search:15,list:15,checkout:15,bulk:5");
+
+        private static final int BARANG = 5_000;
+        private static final int PELANGGAN = 2_000;
+        private static final int KARYAWAN = 50;
+        private static final int BULK_SIZE = 20;
+
+        private static final String[] WORDS = {
+                        "sabun", "beras", "minyak", "gula", "kopi", "teh", "susu", "roti",
+                        "mie", "kecap", "saus", "garam", "tepung", "telur", "air", "snack" };
+
+        // latency > 1 menit dicatat sebagai 1 menit
+        private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+        private final SplittableRandom rnd = new SplittableRandom(SEED);
+        private double[] barangCdf;
+        private String baseUrl;
+        private String token;
+
+        // ID baru untuk checkout (T000, T001, ...) dan bulk (L000, L001, ...), tidak bentrok dengan data awal
+        private int nextKode;
+        private int nextBulkId;
+
+        @Test
+        void posTrafficMix() throws Exception {
+                List<Route> routes = parseMix(MIX);
+                barangCdf = zipfCdf(BARANG, 1.0);
+
+                try (LocalJwkServer jwk = new LocalJwkServer();
+                                ConfigurableApplicationContext context = SpringApplication.run(TransaksiApplication.class, args(jwk));
+                                ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+                                HttpClient http = HttpClient.newBuilder()
+                                                .version(HttpClient.Version.HTTP_1_1)
+                                                .connectTimeout(Duration.ofSeconds(10))
+                                                .executor(clients)
+                                                .build()) {
+                        seed(context);
+                        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                        token = jwk.token("kasir-load", Instant.now().plus(Duration.ofHours(2)));
+
+                        run(http, routes, WARMUP);
+                        routes.forEach(Route::reset);
+                        long elapsed = run(http, routes, DURATION);
+
+                        report(routes, elapsed);
+                }
+        }
+
+        // kirim request sesuai jadwal kedatangan Poisson selama durasi, lalu tunggu semua response
+        private long run(HttpClient http, List<Route> routes, Duration duration) throws Exception {
+                List<CompletableFuture<?>> inFlight = new ArrayList<>();
+                long start = System.nanoTime();
+                long end = start + duration.toNanos();
+                double meanGapNanos = 1e9 / RATE;
+
+                for (long next = start; next < end; next += (long) (-Math.log(1 - rnd.nextDouble()) * meanGapNanos)) {
+                        long wait = next - System.nanoTime();
+                        if (wait > 0) {
+                                LockSupport.parkNanos(wait);
+                        }
+                        Route route = pick(routes);
+                        long scheduled = next;
+                        inFlight.add(http.sendAsync(route.request(this), HttpResponse.BodyHandlers.discarding())
+                                        .whenComplete((res, err) -> route.record(scheduled, res, err)));
+                }
+                CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                                .handle((v, err) -> null)
+                                .get(2, TimeUnit.MINUTES);
+                return System.nanoTime() - start;
+        }
+
+        private void report(List<Route> routes, long elapsedNanos) throws Exception {
+                Path dir = Files.createDirectories(Path.of("target", "load-test"));
+                double seconds = elapsedNanos / 1e9;
+                Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+                long errors = 0;
+
+                System.out.printf("[pos-load] model terbuka, target %d req/s, %d s (+%d s pemanasan), mix %s%n",
+                                RATE, DURATION.toSeconds(), WARMUP.toSeconds(), MIX);
+                System.out.printf("[pos-load] %-9s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+                                "route", "req", "req/s", "error%", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+                for (Route route : routes) {
+                        print(route.name, route.latency, route.errors.get(), seconds);
+                        total.add(route.latency);
+                        errors += route.errors.get();
+                        try (PrintStream out = new PrintStream(dir.resolve(route.name + ".hgrm").toFile())) {
+                                route.latency.outputPercentileDistribution(out, 1e6);
+                        }
+                }
+                print("total", total, errors, seconds);
+
+                long requests = total.getTotalCount();
+                assertThat(requests).isPositive();
+                assertThat(errors / (double) requests).isLessThan(0.01);
+        }
+
+        private static void print(String name, Histogram h, long errors, double seconds) {
+                System.out.printf("[pos-load] %-9s %,9d %,9.1f %6.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                                name, h.getTotalCount(), h.getTotalCount() / seconds,
+                                h.getTotalCount() == 0 ? 0 : errors * 100.0 / h.getTotalCount(),
+                                ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)),
+                                ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+        }
+
+        private static double ms(long nanos) {
+                return nanos / 1e6;
+        }
+
+        // ==================== traffic ====================
+
+        private HttpRequest byId() {
+                return get("/api/barang/" + barangId(zipf()));
+        }
+
+        private HttpRequest search() {
+                return get("/api/barang/search?q=" + WORDS[rnd.nextInt(WORDS.length)] + "&limit=20");
+        }
+
+        private HttpRequest list() {
+                return get("/api/barang?page=" + rnd.nextInt(BARANG / 20) + "&size=20");
+        }
+
+        private HttpRequest checkout() {
+                int items = 1 + rnd.nextInt(8);
+                List<Integer> barang = new ArrayList<>();
+                StringBuilder json = new StringBuilder("{\"kodeTransaksi\":\"").append(id('T', nextKode++))
+                                .append("\",\"tglTransaksi\":\"").append(LocalDateTime.now().withNano(0))
+                                .append("\",\"idPelanggan\":\"").append(id('P', rnd.nextInt(PELANGGAN)))
+                                .append("\",\"idKaryawan\":\"").append(id('K', rnd.nextInt(KARYAWAN)))
+                                .append("\",\"items\":[");
+                while (barang.size() < items) {
+                        int b = zipf();
+                        if (barang.contains(b)) {
+                                continue;
+                        }
+                        if (!barang.isEmpty()) {
+                                json.append(',');
+                        }
+                        barang.add(b);
+                        json.append("{\"idBarang\":\"").append(barangId(b)).append("\",\"jumlah\":").append(1 + rnd.nextInt(3)).append('}');
+                }
+                return post("/api/transaksi/checkout", json.append("]}").toString());
+        }
+
+        private HttpRequest bulk() {
+                StringBuilder json = new StringBuilder("[");
+                for (int i = 0; i < BULK_SIZE; i++) {
+                        int n = nextBulkId++;
+                        if (i > 0) {
+                                json.append(',');
+                        }
+                        json.append("{\"idBarang\":\"").append(id('L', n))
+                                        .append("\",\"nama\":\"").append(nama(n))
+                                        .append("\",\"stok\":100,\"harga\":").append(1000 + n % 5000)
+                                        .append(",\"persenLaba\":5.0,\"diskon\":0.0,\"idJenisBarang\":101,\"idPemasok\":\"S001\"}");
+                }
+                return post("/api/barang/bulk", json.append(']').toString());
+        }
+
+        private HttpRequest get(String path) {
+                return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET().build();
+        }
+
+        private HttpRequest post(String path, String body) {
+                return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                                .timeout(Duration.ofSeconds(30))
+                                .header("Content-Type", "application/json")
+                                .header("Authorization", "Bearer " + token)
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build();
+        }
+
+        private Route pick(List<Route> routes) {
+                double u = rnd.nextDouble() * routes.get(routes.size() - 1).cumulativeWeight;
+                for (Route route : routes) {
+                        if (u < route.cumulativeWeight) {
+                                return route;
+                        }
+                }
+                return routes.get(routes.size() - 1);
+        }
+
+        private int zipf() {
+                int i = Arrays.binarySearch(barangCdf, rnd.nextDouble());
+                return Math.min(i >= 0 ? i + 1 : -i - 1, BARANG - 1);
+        }
+
+        private static double[] zipfCdf(int n, double s) {
+                double[] cdf = new double[n];
+                double sum = 0;
+                for (int i = 0; i < n; i++) {
+                        sum += 1 / Math.pow(i + 1, s);
+                        cdf[i] = sum;
+                }
+                for (int i = 0; i < n; i++) {
+                        cdf[i] /= sum;
+                }
+                return cdf;
+        }
+
+        // ==================== setup ====================
+
+        private static String[] args(LocalJwkServer jwk) {
+                return new String[] {
+                                // profile tanpa file konfigurasi: menimpa spring.profiles.active=local di application.yaml
+                                "--spring.profiles.active=load-test",
+                                "--server.port=0",
+                                "--spring.datasource.url=jdbc:h2:mem:load-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                                "--spring.datasource.driver-class-name=org.h2.Driver",
+                                "--spring.datasource.username=sa",
+                                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                                "--spring.jpa.open-in-view=false",
+                                "--spring.security.oauth2.resourceserver.jwt.issuer-uri=" + LocalJwkServer.ISSUER,
+                                "--spring.security.oauth2.resourceserver.jwt.jwk-set-uri=" + jwk.jwkSetUri(),
+                                "--logging.level.root=WARN" };
+        }
+
+        // master data lewat JDBC; barang lewat service supaya index search ikut terisi
+        private void seed(ConfigurableApplicationContext context) {
+                JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+                jdbc.update("INSERT INTO jenis_barang (id_jenis_brg, nama_jenis_brg) VALUES (101, 'Umum')");
+                jdbc.update("INSERT INTO pemasok (id_pemasok, nama, alamat, telepon) VALUES ('S001', 'Pemasok', 'Jl. Load', '0800')");
+
+                List<Object[]> karyawan = new ArrayList<>();
+                for (int i = 0; i < KARYAWAN; i++) {
+                        karyawan.add(new Object[] { id('K', i), "Kasir " + i, "L", "Jl. Kasir", LocalDate.of(1990, 1, 1), 5_000_000.0 });
+                }
+                jdbc.batchUpdate("INSERT INTO karyawan (id_karyawan, nama, jenis_kelamin, alamat, tgl_lahir, gaji) VALUES (?, ?, ?, ?, ?, ?)",
+                                karyawan);
+
+                List<Object[]> pelanggan = new ArrayList<>();
+                for (int i = 0; i < PELANGGAN; i++) {
+                        pelanggan.add(new Object[] { id('P', i), "Pelanggan " + i, "P", "Jl. Pelanggan", LocalDate.of(1990, 1, 1),
+                                        i % 5 == 0 ? "G" : "S" });
+                }
+                jdbc.batchUpdate("INSERT INTO pelanggan (id_pelanggan, nama, jenis_kelamin, alamat, tgl_lahir, jenis_pelanggan) VALUES (?, ?, ?, ?, ?, ?)",
+                                pelanggan);
+
+                List<Barang> barang = new ArrayList<>(BARANG);
+                for (int i = 0; i < BARANG; i++) {
+                        barang.add(new Barang(barangId(i), nama(i), Short.MAX_VALUE, 1000.0 + i, 5.0, 0.0, (byte) 101, "S001"));
+                }
+                context.getBean(BarangService.class).saveBulk(barang);
+        }
+
+        private static String barangId(int n) {
+                return id('B', n);
+        }
+
+        // id char(4): prefix huruf + 3 digit base36; lewat ZZZ lanjut ke huruf berikutnya
+        private static String id(char prefix, int n) {
+                String s = Integer.toString(n % 46_656, 36).toUpperCase();
+                return (char) (prefix + n / 46_656) + "0".repeat(3 - s.length()) + s;
+        }
+
+        private static String nama(int n) {
+                return WORDS[n % WORDS.length] + " " + WORDS[(n / WORDS.length) % WORDS.length] + " " + (n % 1000);
+        }
+
+        private static List<Route> parseMix(String mix) {
+                List<Route> routes = new ArrayList<>();
+                double cumulative = 0;
+                for (String part : mix.split(",")) {
+                        String[] kv = part.trim().split(":");
+                        assertThat(kv[0]).as("route di load.mix").isIn("by-id", "search", "list", "checkout", "bulk");
+                        cumulative += Double.parseDouble(kv[1]);
+                        routes.add(new Route(kv[0], cumulative));
+                }
+                assertThat(routes).isNotEmpty();
+                return routes;
+        }
+
+        private static class Route {
+                final String name;
+                final double cumulativeWeight;
+                ConcurrentHistogram latency = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+                final AtomicLong errors = new AtomicLong();
+
+                Route(String name, double cumulativeWeight) {
+                        this.name = name;
+                        this.cumulativeWeight = cumulativeWeight;
+                }
+
+                HttpRequest request(PosLoadTest test) {
+                        return switch (name) {
+                                case "by-id" -> test.byId();
+                                case "search" -> test.search();
+                                case "list" -> test.list();
+                                case "checkout" -> test.checkout();
+                                case "bulk" -> test.bulk();
+                                default -> throw new IllegalStateException(name);
+                        };
+                }
+
+                // response apa pun dicatat latency-nya (dihitung dari jadwal kedatangan); non-2xx/gagal = error
+                void record(long scheduledNanos, HttpResponse<?> response, Throwable error) {
+                        latency.recordValue(Math.min(System.nanoTime() - scheduledNanos, MAX_LATENCY_NANOS));
+                        if (error != null || response.statusCode() / 100 != 2) {
+                                errors.incrementAndGet();
+                        }
+                }
+
+                void reset() {
+                        latency = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+                        errors.set(0);
+                }
+        }
+}
@@ -0,0 +1,151 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Offline: dua H2 in-memory berperan sebagai primary dan replica. Setiap DB punya tabel penanda
+// berisi namanya sendiri, jadi hasil query menunjukkan ke mana koneksi diarahkan. Lag replica
+// disimulasikan lewat tabel replika_lag (detik) yang dibaca lagQuery.
+class ReadWriteRoutingDataSourceTest {
+
+        private JdbcTemplate primaryDb;
+        private JdbcTemplate replicaDb;
+        private ReadWriteRoutingDataSource routing;
+        private JdbcTemplate jdbc;
+        private TransactionTemplate readOnlyTx;
+        private TransactionTemplate readWriteTx;
+
+        @BeforeEach
+        void setUp() {
+                primaryDb = new JdbcTemplate(h2("primary"));
+                replicaDb = new JdbcTemplate(h2("replica"));
+                primaryDb.execute("CREATE TABLE penanda (nama VARCHAR(10))");
+                primaryDb.update("INSERT INTO penanda VALUES ('primary')");
+                replicaDb.execute("CREATE TABLE penanda (nama VARCHAR(10))");
+                replicaDb.update("INSERT INTO penanda VALUES ('replica')");
+                replicaDb.execute("CREATE TABLE replika_lag (detik INT)");
+                replicaDb.update("INSERT INTO replika_lag VALUES (0)");
+
+                // interval cek panjang: pengukuran dipicu manual lewat checkLag()
+                routing = new ReadWriteRoutingDataSource(primaryDb.getDataSource(),
+                        List.of(replicaDb.getDataSource()), 1000, 60_000, "SELECT detik FROM replika_lag");
+                routing.checkLag();
+
+                jdbc = new JdbcTemplate(routing);
+                DataSourceTransactionManager txManager = new DataSourceTransactionManager(routing);
+                readOnlyTx = new TransactionTemplate(txManager);
+                readOnlyTx.setReadOnly(true);
+                readWriteTx = new TransactionTemplate(txManager);
+        }
+
+        @AfterEach
+        void tearDown() throws Exception {
+                ReadWriteRoutingDataSource.clearPrimaryOnly();
+                routing.close();
+                primaryDb.execute("SHUTDOWN");
+                replicaDb.execute("SHUTDOWN");
+        }
+
+        @Test
+        void transaksiReadOnlyKeReplica() {
+                assertThat(readOnlyTx.execute(status -> penanda())).isEqualTo("replica");
+        }
+
+        @Test
+        void transaksiReadWriteKePrimary() {
+                assertThat(readWriteTx.execute(status -> penanda())).isEqualTo("primary");
+                assertThat(penanda()).isEqualTo("primary");
+        }
+
+        @Test
+        void replicaMelewatiBatasLagDilewati() {
+                replicaDb.update("UPDATE replika_lag SET detik = 5");
+                routing.checkLag();
+                assertThat(readOnlyTx.execute(status -> penanda())).isEqualTo("primary");
+
+                replicaDb.update("UPDATE replika_lag SET detik = 0");
+                routing.checkLag();
+                assertThat(readOnlyTx.execute(status -> penanda())).isEqualTo("replica");
+        }
+
+        @Test
+        void lagTidakTerukurDianggapTertinggal() {
+                replicaDb.update("DELETE FROM replika_lag");
+                routing.checkLag();
+                assertThat(readOnlyTx.execute(status -> penanda())).isEqualTo("primary");
+        }
+
+        @Test
+        void primaryOnlyMemaksaReadOnlyKePrimary() {
+                ReadWriteRoutingDataSource.setPrimaryOnly();
+                assertThat(readOnlyTx.execute(status -> penanda())).isEqualTo("primary");
+
+                ReadWriteRoutingDataSource.clearPrimaryOnly();
+                assertThat(readOnlyTx.execute(status -> penanda())).isEqualTo("replica");
+        }
+
+        // aplikasi memakai JpaTransactionManager (Hibernate), bukan DataSourceTransactionManager:
+        // flag read-only harus sudah terpasang di koneksi lazy sebelum Hibernate menjalankan query pertama
+        @Test
+        void jpaTransactionManagerMengikutiReadOnly() {
+                LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+                factory.setDataSource(routing);
+                factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+                factory.setManagedTypes(PersistenceManagedTypes.of(Penanda.class.getName()));
+                factory.afterPropertiesSet();
+                EntityManagerFactory emf = factory.getObject();
+                try {
+                        EntityManager em = SharedEntityManagerCreator.createSharedEntityManager(emf);
+                        JpaTransactionManager jpaTx = new JpaTransactionManager(emf);
+                        TransactionTemplate jpaReadOnly = new TransactionTemplate(jpaTx);
+                        jpaReadOnly.setReadOnly(true);
+                        TransactionTemplate jpaReadWrite = new TransactionTemplate(jpaTx);
+
+                        assertThat(jpaReadOnly.execute(status -> penanda(em))).isEqualTo("replica");
+                        assertThat(jpaReadWrite.execute(status -> penanda(em))).isEqualTo("primary");
+
+                        ReadWriteRoutingDataSource.setPrimaryOnly();
+                        assertThat(jpaReadOnly.execute(status -> penanda(em))).isEqualTo("primary");
+                } finally {
+                        emf.close();
+                }
+        }
+
+        private static String penanda(EntityManager em) {
+                return em.createQuery("SELECT p.nama FROM Penanda p", String.class).getSingleResult();
+        }
+
+        private String penanda() {
+                return jdbc.queryForObject("SELECT nama FROM penanda", String.class);
+        }
+
+        private static DriverManagerDataSource h2(String name) {
+                return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        }
+
+        @Entity(name = "Penanda")
+        @Table(name = "penanda")
+        static class Penanda {
+                @Id
+                private String nama;
+        }
+}
@@ -0,0 +1,156 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Benchmark waktu startup sampai request PERTAMA terlayani (GET /api/jenis-barang = 200),
+// diukur dari proses JVM baru, bukan dari log "Started ...".
+// Mode: default, profile fast-startup, + AOT (kalau jar di-build dengan -Pfast-startup), + CDS.
+// Siapkan jar dulu:
+//   mvn -B -DskipTests -Pfast-startup -Daot.profiles=local,fast-startup package
+//   mvn test -Pbenchmark -Dtest=StartupTimeBenchmarkTest   (butuh MySQL local)
+@Tag("benchmark")
+class StartupTimeBenchmarkTest {
+
+        private static final int RUNS = 5;
+        private static final Duration TIMEOUT = Duration.ofSeconds(120);
+
+        private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        @Test
+        void startupSampaiRequestPertama() throws Exception {
+                Path jar = findJar();
+                assumeTrue(jar != null, "jar belum ada, jalankan mvn package dulu");
+
+                // layout extract (app.jar + lib/) supaya CDS bisa mengarsipkan class dependency
+                Path dir = Path.of("target", "startup-bench");
+                if (!Files.exists(dir.resolve("app.jar"))) {
+                        exec(List.of(java(), "-Djarmode=tools", "-jar", jar.toString(), "extract",
+                                        "--destination", dir.toString(), "--force"), null);
+                        Files.move(dir.resolve(jar.getFileName()), dir.resolve("app.jar"));
+                }
+                boolean aot = hasAot(dir.resolve("app.jar"));
+
+                List<String> report = new ArrayList<>();
+                report.add(measure("default", dir, List.of(), "local"));
+                report.add(measure("fast-startup", dir, List.of(), "local,fast-startup"));
+                if (aot) {
+                        report.add(measure("fast-startup + AOT", dir, List.of("-Dspring.aot.enabled=true"), "local,fast-startup"));
+                }
+
+                // training run CDS: refresh context lalu keluar
+                List<String> aotFlag = aot ? List.of("-Dspring.aot.enabled=true") : List.of();
+                List<String> training = new ArrayList<>(List.of(java(), "-XX:ArchiveClassesAtExit=application.jsa",
+                                "-Dspring.context.exit=onRefresh", "-Dspring.profiles.active=local,fast-startup"));
+                training.addAll(aotFlag);
+                training.addAll(List.of("-jar", "app.jar"));
+                exec(training, dir.toFile());
+
+                List<String> cds = new ArrayList<>(List.of("-XX:SharedArchiveFile=application.jsa"));
+                cds.addAll(aotFlag);
+                report.add(measure(aot ? "fast-startup + AOT + CDS" : "fast-startup + CDS", dir, cds, "local,fast-startup"));
+
+                System.out.println("[startup-benchmark] waktu sampai request pertama (" + RUNS + " run, ms)");
+                report.forEach(System.out::println);
+        }
+
+        private String measure(String mode, Path dir, List<String> jvmArgs, String profiles) throws Exception {
+                long[] ms = new long[RUNS];
+                for (int i = 0; i < RUNS; i++) {
+                        ms[i] = startOnce(dir, jvmArgs, profiles);
+                }
+                Arrays.sort(ms);
+                return String.format("  %-26s median %6d  min %6d  max %6d", mode, ms[RUNS / 2], ms[0], ms[RUNS - 1]);
+        }
+
+        private long startOnce(Path dir, List<String> jvmArgs, String profiles) throws Exception {
+                int port = freePort();
+                List<String> cmd = new ArrayList<>();
+                cmd.add(java());
+                cmd.addAll(jvmArgs);
+                cmd.addAll(List.of("-jar", "app.jar",
+                                "--spring.profiles.active=" + profiles,
+                                "--server.port=" + port,
+                                "--logging.level.root=WARN",
+                                "--spring.jpa.show-sql=false"));
+
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/jenis-barang"))
+                                .timeout(Duration.ofSeconds(5)).GET().build();
+
+                long start = System.nanoTime();
+                Process process = new ProcessBuilder(cmd).directory(dir.toFile())
+                                .redirectErrorStream(true)
+                                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                                .start();
+                try {
+                        while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                                assertThat(process.isAlive()).as("aplikasi berhenti sebelum siap").isTrue();
+                                try {
+                                        HttpResponse<Void> res = http.send(request, HttpResponse.BodyHandlers.discarding());
+                                        if (res.statusCode() == 200) {
+                                                return (System.nanoTime() - start) / 1_000_000;
+                                        }
+                                } catch (ConnectException belumListen) {
+                                        // port belum dibuka
+                                }
+                                Thread.sleep(10);
+                        }
+                        throw new AssertionError("tidak siap dalam " + TIMEOUT);
+                } finally {
+                        process.destroy();
+                        process.waitFor();
+                }
+        }
+
+        private static Path findJar() throws IOException {
+                try (var files = Files.list(Path.of("target"))) {
+                        return files.filter(p -> p.getFileName().toString().matches("transaksi-.*\\.jar"))
+                                        .filter(p -> !p.getFileName().toString().endsWith("-plain.jar"))
+                                        .findFirst()
+                                        .orElse(null);
+                } catch (NoSuchFileException e) {
+                        return null;
+                }
+        }
+
+        private static boolean hasAot(Path appJar) throws IOException {
+                try (JarFile jar = new JarFile(appJar.toFile())) {
+                        return jar.getEntry("ui/ft/ccit/faculty/transaksi/TransaksiApplication__ApplicationContextInitializer.class") != null;
+                }
+        }
+
+        private static void exec(List<String> cmd, File dir) throws Exception {
+                Process p = new ProcessBuilder(cmd).directory(dir).inheritIO().start();
+                assertThat(p.waitFor()).as(String.join(" ", cmd)).isZero();
+        }
+
+        private static String java() {
+                return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        }
+
+        private static int freePort() throws IOException {
+                try (ServerSocket s = new ServerSocket(0)) {
+                        return s.getLocalPort();
+                }
+        }
+}
@@ -0,0 +1,138 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import ui.ft.ccit.faculty.transaksi.barang.model.Barang;
+import ui.ft.ccit.faculty.transaksi.barang.model.BarangRepository;
+import ui.ft.ccit.faculty.transaksi.barang.view.BarangService;
+import ui.ft.ccit.faculty.transaksi.jenisbarang.model.JenisBarang;
+import ui.ft.ccit.faculty.transaksi.jenisbarang.model.JenisBarangRepository;
+import ui.ft.ccit.faculty.transaksi.jenisbarang.view.JenisBarangService;
+import ui.ft.ccit.faculty.transaksi.pemasok.model.Pemasok;
+import ui.ft.ccit.faculty.transaksi.pemasok.model.PemasokRepository;
+import ui.ft.ccit.faculty.transaksi.pemasok.view.PemasokService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// ETag per tabel (WebConfig.TableEtagInterceptor): write lewat service lalu GET kondisional.
+// GET /api/** terbuka tanpa JWT, jadi cukup MockMvc dari context; write dilakukan langsung ke service.
+@SpringBootTest
+@ActiveProfiles("local")
+class TableEtagTest {
+
+        private static final String NAMA_JENIS = "Jenis Tes ETag";
+
+        @Autowired
+        private WebApplicationContext context;
+
+        @Autowired
+        private BarangService barangService;
+
+        @Autowired
+        private PemasokService pemasokService;
+
+        @Autowired
+        private JenisBarangService jenisBarangService;
+
+        @Autowired
+        private BarangRepository barangRepository;
+
+        @Autowired
+        private PemasokRepository pemasokRepository;
+
+        @Autowired
+        private JenisBarangRepository jenisBarangRepository;
+
+        private MockMvc mockMvc;
+
+        @BeforeEach
+        void setUp() {
+                mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        }
+
+        @Test
+        void etagSamaDijawab304DanBerubahSetelahWrite() throws Exception {
+                String etag = etagOf("/api/barang");
+
+                mockMvc.perform(get("/api/barang").header(HttpHeaders.IF_NONE_MATCH, etag))
+                                .andExpect(status().isNotModified());
+
+                barangService.save(new Barang("E001", "Barang ETag", (short) 1, 1000.0, 5.0, 0.0, (byte) 103, "S003"));
+
+                mockMvc.perform(get("/api/barang").header(HttpHeaders.IF_NONE_MATCH, etag))
+                                .andExpect(status().isOk())
+                                .andExpect(content().string(containsString("E001")));
+        }
+
+        @Test
+        void hapusPemasokMengubahEtagBarangYangIkutTerhapus() throws Exception {
+                pemasokService.save(new Pemasok("E901", "Pemasok ETag", "Jl. Tes", "0210000"));
+                barangService.save(new Barang("E001", "Barang ETag", (short) 1, 1000.0, 5.0, 0.0, (byte) 103, "E901"));
+                String etag = etagOf("/api/barang");
+                assertThat(barangService.searchByNama("Barang ETag", 10)).extracting(Barang::getIdBarang).contains("E001");
+
+                // FK cascade: barang E001 ikut terhapus di database
+                pemasokService.delete("E901");
+
+                mockMvc.perform(get("/api/barang").header(HttpHeaders.IF_NONE_MATCH, etag))
+                                .andExpect(status().isOk())
+                                .andExpect(content().string(not(containsString("E001"))));
+                assertThat(barangService.searchByNama("Barang ETag", 10)).extracting(Barang::getIdBarang)
+                                .doesNotContain("E001");
+        }
+
+        @Test
+        void hapusJenisBarangMengubahEtagBarangYangIkutTerhapus() throws Exception {
+                JenisBarang jenis = jenisBarangService.save(new JenisBarang(NAMA_JENIS));
+                barangService.save(new Barang("E001", "Barang ETag", (short) 1, 1000.0, 5.0, 0.0,
+                                jenis.getIdJenisBarang(), "S003"));
+                String etag = etagOf("/api/barang");
+
+                jenisBarangService.delete(jenis.getIdJenisBarang());
+
+                mockMvc.perform(get("/api/barang").header(HttpHeaders.IF_NONE_MATCH, etag))
+                                .andExpect(status().isOk())
+                                .andExpect(content().string(not(containsString("E001"))));
+                assertThat(barangService.searchByNama("Barang ETag", 10)).extracting(Barang::getIdBarang)
+                                .doesNotContain("E001");
+        }
+
+        private String etagOf(String url) throws Exception {
+                String etag = mockMvc.perform(get(url))
+                                .andExpect(status().isOk())
+                                .andExpect(header().exists(HttpHeaders.ETAG))
+                                .andReturn()
+                                .getResponse()
+                                .getHeader(HttpHeaders.ETAG);
+                assertThat(etag).startsWith("W/\"");
+                return etag;
+        }
+
+        @AfterEach
+        void tearDown() {
+                if (barangRepository.existsById("E001")) {
+                        barangService.delete("E001");
+                }
+                if (pemasokRepository.existsById("E901")) {
+                        pemasokService.delete("E901");
+                }
+                jenisBarangRepository.findAll().stream()
+                                .filter(j -> NAMA_JENIS.equals(j.getNamaJenis()))
+                                .forEach(j -> jenisBarangService.delete(j.getIdJenisBarang()));
+        }
+}
@@ -0,0 +1,142 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Load test: platform thread (default Tomcat, 200 thread) vs profile virtual.
+// Setiap mode dijalankan sebagai aplikasi terpisah di port acak, lalu dibanjiri GET
+// dengan concurrency bertingkat. Dilaporkan p99 dan error rate per tingkat, serta
+// concurrency maksimum yang masih memenuhi SLO (error < 1%, p99 < 1 detik).
+// Jalankan dengan: mvn test -Pbenchmark  (butuh MySQL local + data penjualan.sql)
+@Tag("benchmark")
+class ThreadModeLoadTest {
+
+        private static final int[] CONCURRENCY = { 50, 200, 500, 1000, 2000 };
+        private static final Duration DURATION = Duration.ofSeconds(10);
+        private static final long SLO_P99_MS = 1000;
+
+        @Test
+        void platformVsVirtualThreads() throws Exception {
+                int maxPlatform = run("platform", "--spring.profiles.active=local", "--spring.threads.virtual.enabled=false");
+                int maxVirtual = run("virtual", "--spring.profiles.active=local,virtual");
+
+                System.out.printf("[thread-mode-load] concurrency maksimum dalam SLO: platform=%d, virtual=%d%n",
+                                maxPlatform, maxVirtual);
+                assertThat(maxPlatform).isPositive();
+                assertThat(maxVirtual).isPositive();
+        }
+
+        private int run(String mode, String... profileArgs) throws Exception {
+                List<String> args = new ArrayList<>(List.of(profileArgs));
+                args.add("--server.port=0");
+                args.add("--spring.jpa.show-sql=false");
+                args.add("--logging.level.root=WARN");
+                args.add("--logging.level.ui.ft.ccit.faculty.transaksi=WARN");
+                args.add("--logging.level.org.springframework.web=WARN");
+                args.add("--logging.level.org.hibernate.SQL=WARN");
+
+                int maxDalamSlo = 0;
+                try (ConfigurableApplicationContext context =
+                                SpringApplication.run(TransaksiApplication.class, args.toArray(String[]::new))) {
+                        String port = context.getEnvironment().getProperty("local.server.port");
+                        URI uri = URI.create("http://localhost:" + port + "/api/barang?page=0&size=20");
+
+                        // pemanasan
+                        level(uri, 20, Duration.ofSeconds(3));
+
+                        for (int c : CONCURRENCY) {
+                                Result r = level(uri, c, DURATION);
+                                boolean dalamSlo = r.errorRate() < 0.01 && r.p99Ms() < SLO_P99_MS;
+                                System.out.printf("[thread-mode-load] %-8s c=%5d: %,8d req, %,8.0f req/s, p50 %6d ms, p99 %6d ms, error %5.2f%%%s%n",
+                                                mode, c, r.total(), r.total() / (double) DURATION.toSeconds(),
+                                                r.percentileMs(0.50), r.p99Ms(), r.errorRate() * 100, dalamSlo ? "" : "  (di luar SLO)");
+                                if (dalamSlo) {
+                                        maxDalamSlo = c;
+                                }
+                        }
+                }
+                return maxDalamSlo;
+        }
+
+        // c client concurrent (virtual thread di sisi client), masing-masing request terus selama durasi
+        private Result level(URI uri, int c, Duration duration) throws Exception {
+                Result r = new Result();
+                long deadline = System.nanoTime() + duration.toNanos();
+
+                try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+                                HttpClient http = HttpClient.newBuilder()
+                                                .version(HttpClient.Version.HTTP_1_1)
+                                                .connectTimeout(Duration.ofSeconds(10))
+                                                .executor(clients)
+                                                .build()) {
+                        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+                        for (int i = 0; i < c; i++) {
+                                clients.submit(() -> {
+                                        while (System.nanoTime() < deadline) {
+                                                long start = System.nanoTime();
+                                                try {
+                                                        HttpResponse<Void> res = http.send(request, HttpResponse.BodyHandlers.discarding());
+                                                        if (res.statusCode() == 200) {
+                                                                r.latencies.add(System.nanoTime() - start);
+                                                        } else {
+                                                                r.errors.incrementAndGet();
+                                                        }
+                                                } catch (Exception e) {
+                                                        r.errors.incrementAndGet();
+                                                }
+                                        }
+                                        return null;
+                                });
+                        }
+                        clients.shutdown();
+                        assertThat(clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)).isTrue();
+                }
+                return r;
+        }
+
+        private static class Result {
+                final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+                final AtomicLong errors = new AtomicLong();
+                private long[] sorted;
+
+                long total() {
+                        return latencies.size() + errors.get();
+                }
+
+                double errorRate() {
+                        return total() == 0 ? 1.0 : errors.get() / (double) total();
+                }
+
+                long p99Ms() {
+                        return percentileMs(0.99);
+                }
+
+                long percentileMs(double p) {
+                        if (sorted == null) {
+                                sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+                        }
+                        if (sorted.length == 0) {
+                                return Long.MAX_VALUE;
+                        }
+                        int i = (int) Math.ceil(p * sorted.length) - 1;
+                        return sorted[Math.max(i, 0)] / 1_000_000;
+                }
+        }
+}
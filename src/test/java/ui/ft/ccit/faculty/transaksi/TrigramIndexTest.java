@@ -0,0 +1,106 @@
+package ui.ft.ccit.faculty.transaksi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Offline: ranking dan konsistensi posting list saat put/remove berjalan bersamaan.
+class TrigramIndexTest {
+
+        @Test
+        void rankingAwalTeksLaluAwalKata() {
+                TrigramIndex<String> index = new TrigramIndex<>();
+                index.put("B1", "Susu Kopi");
+                index.put("B2", "Kopi Susu");
+                index.put("B3", "Es Kopiko");
+                index.put("B4", "Teh");
+
+                assertThat(index.search("kopi", 10)).containsExactly("B2", "B1", "B3");
+
+                index.put("B2", "Teh Manis");
+                assertThat(index.search("kopi", 10)).containsExactly("B1", "B3");
+                assertThat(index.search("manis", 10)).containsExactly("B2");
+
+                index.remove("B1");
+                assertThat(index.search("kopi", 10)).containsExactly("B3");
+        }
+
+        @Test
+        void putDanRemoveBersamaanTidakKehilanganPosting() throws Exception {
+                TrigramIndex<Integer> index = new TrigramIndex<>();
+                int threads = 8;
+                int perThread = 200;
+                CountDownLatch start = new CountDownLatch(1);
+                ExecutorService pool = Executors.newFixedThreadPool(threads);
+                try {
+                        List<Future<?>> futures = new ArrayList<>();
+                        for (int t = 0; t < threads; t++) {
+                                int from = t * perThread;
+                                futures.add(pool.submit(() -> {
+                                        start.await();
+                                        // semua dokumen berbagi trigram yang sama -> set posting terus kosong/terisi
+                                        for (int round = 0; round < 20; round++) {
+                                                for (int id = from; id < from + perThread; id++) {
+                                                        index.put(id, "kopi susu " + round);
+                                                        index.remove(id);
+                                                }
+                                        }
+                                        for (int id = from; id < from + perThread; id++) {
+                                                index.put(id, "kopi susu");
+                                        }
+                                        return null;
+                                }));
+                        }
+                        start.countDown();
+                        for (Future<?> f : futures) {
+                                f.get();
+                        }
+                } finally {
+                        pool.shutdownNow();
+                }
+
+                assertThat(index.size()).isEqualTo(threads * perThread);
+                assertThat(index.search("kopi", Integer.MAX_VALUE))
+                                .containsExactlyInAnyOrderElementsOf(IntStream.range(0, threads * perThread).boxed().toList());
+        }
+
+        @Test
+        void updateBersamaanIdSamaMeninggalkanSatuVersi() throws Exception {
+                TrigramIndex<String> index = new TrigramIndex<>();
+                ExecutorService pool = Executors.newFixedThreadPool(2);
+                try {
+                        for (int round = 0; round < 500; round++) {
+                                CountDownLatch start = new CountDownLatch(1);
+                                Future<?> a = pool.submit(() -> {
+                                        start.await();
+                                        index.put("B1", "kopi hitam");
+                                        return null;
+                                });
+                                Future<?> b = pool.submit(() -> {
+                                        start.await();
+                                        index.put("B1", "teh manis");
+                                        return null;
+                                });
+                                start.countDown();
+                                a.get();
+                                b.get();
+
+                                // tepat satu versi yang bisa dicari, tidak ada posting sisa versi lain
+                                boolean kopi = !index.search("hitam", 10).isEmpty();
+                                boolean teh = !index.search("manis", 10).isEmpty();
+                                assertThat(kopi ^ teh).isTrue();
+                                assertThat(index.search(kopi ? "manis" : "hitam", 10)).isEmpty();
+                        }
+                } finally {
+                        pool.shutdownNow();
+                }
+        }
+}
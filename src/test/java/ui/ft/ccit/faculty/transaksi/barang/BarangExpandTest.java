@@ -0,0 +1,115 @@
+package ui.ft.ccit.faculty.transaksi.barang;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import ui.ft.ccit.faculty.transaksi.jenisbarang.model.JenisBarang;
+import ui.ft.ccit.faculty.transaksi.jenisbarang.model.JenisBarangRepository;
+import ui.ft.ccit.faculty.transaksi.jenisbarang.view.JenisBarangService;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET /api/barang?expand= terhadap data seed: B001 (jenis 101 Minuman, pemasok S001 Pungkas Mandiri)
+@SpringBootTest
+@ActiveProfiles("local")
+class BarangExpandTest {
+
+        private static final String NAMA_JENIS = "Jenis Tes Expand";
+
+        @Autowired
+        private WebApplicationContext context;
+
+        @Autowired
+        private JenisBarangService jenisBarangService;
+
+        @Autowired
+        private JenisBarangRepository jenisBarangRepository;
+
+        private MockMvc mockMvc;
+
+        @BeforeEach
+        void setUp() {
+                mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        }
+
+        @Test
+        void expandDenganPagination_fieldBarangTetapDiLevelAtas() throws Exception {
+                mockMvc.perform(get("/api/barang").param("expand", "jenis,pemasok").param("page", "0").param("size", "2"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$", hasSize(2)))
+                                // @JsonUnwrapped: field barang tidak dibungkus objek "barang"
+                                .andExpect(jsonPath("$[0].idBarang").value("B001"))
+                                .andExpect(jsonPath("$[0].nama").value("Chitato"))
+                                .andExpect(jsonPath("$[0].barang").doesNotExist())
+                                .andExpect(jsonPath("$[0].jenis.namaJenis").value("Minuman"))
+                                .andExpect(jsonPath("$[0].pemasok.nama").value("Pungkas Mandiri"))
+                                .andExpect(jsonPath("$[1].idBarang").value("B002"));
+        }
+
+        @Test
+        void expandJenisSaja() throws Exception {
+                mockMvc.perform(get("/api/barang").param("expand", "jenis"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].jenis.idJenisBarang").value(101))
+                                .andExpect(jsonPath("$[0].pemasok").doesNotExist());
+        }
+
+        @Test
+        void expandTidakDikenalAtauKosongDitolak400() throws Exception {
+                mockMvc.perform(get("/api/barang").param("expand", "jenis,kategori"))
+                                .andExpect(status().isBadRequest());
+                mockMvc.perform(get("/api/barang").param("expand", ""))
+                                .andExpect(status().isBadRequest());
+                mockMvc.perform(get("/api/barang").param("expand", " , "))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void expandDenganFieldsDitolak400() throws Exception {
+                mockMvc.perform(get("/api/barang").param("expand", "jenis").param("fields", "nama"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.resource").value("expand"));
+                mockMvc.perform(get("/api/barang").param("expand", "jenis").param("fields", "nama").param("cursor", ""))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void etagExpandIkutBerubahSaatJenisBarangBerubah() throws Exception {
+                String etagPlain = etagOf("/api/barang");
+                String etagExpand = etagOf("/api/barang?expand=jenis");
+
+                jenisBarangService.save(new JenisBarang(NAMA_JENIS));
+
+                // jenis_barang berubah: list biasa tetap 304, list dengan expand tidak
+                mockMvc.perform(get("/api/barang").header(HttpHeaders.IF_NONE_MATCH, etagPlain))
+                                .andExpect(status().isNotModified());
+                mockMvc.perform(get("/api/barang").param("expand", "jenis").header(HttpHeaders.IF_NONE_MATCH, etagExpand))
+                                .andExpect(status().isOk());
+        }
+
+        private String etagOf(String url) throws Exception {
+                return mockMvc.perform(get(url))
+                                .andExpect(status().isOk())
+                                .andReturn()
+                                .getResponse()
+                                .getHeader(HttpHeaders.ETAG);
+        }
+
+        @AfterEach
+        void tearDown() {
+                jenisBarangRepository.findAll().stream()
+                                .filter(j -> NAMA_JENIS.equals(j.getNamaJenis()))
+                                .forEach(j -> jenisBarangService.delete(j.getIdJenisBarang()));
+        }
+}
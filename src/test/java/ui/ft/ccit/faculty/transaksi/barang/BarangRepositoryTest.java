@@ -8,6 +8,8 @@ import org.springframework.test.context.ActiveProfiles;
 
 import ui.ft.ccit.faculty.transaksi.barang.model.Barang;
 import ui.ft.ccit.faculty.transaksi.barang.model.BarangRepository;
+import ui.ft.ccit.faculty.transaksi.jenisbarang.model.JenisBarang;
+import ui.ft.ccit.faculty.transaksi.pemasok.model.Pemasok;
 
 import java.util.List;
 
@@ -56,6 +58,20 @@ class BarangRepositoryTest {
                                 .isEqualTo("T002");
         }
 
+        @Test
+        void findAllExpanded_shouldJoinJenisAndPemasok() {
+                barangRepository.save(
+                                new Barang("T001", "Sabun Mandi", (short) 10, 5000.0, 20.0, 0.0, (byte) 103, "S003"));
+
+                Object[] row = barangRepository.findAllExpanded().stream()
+                                .filter(r -> ((Barang) r[0]).getIdBarang().equals("T001"))
+                                .findFirst()
+                                .orElseThrow();
+
+                assertThat(((JenisBarang) row[1]).getNamaJenis()).isEqualTo("Alat Pembersih");
+                assertThat(((Pemasok) row[2]).getNama()).isEqualTo("Sabar Subur");
+        }
+
         @AfterEach
         void tearDown() {
                 barangRepository.deleteById("T001");
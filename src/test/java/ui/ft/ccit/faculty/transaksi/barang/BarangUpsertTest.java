@@ -0,0 +1,78 @@
+package ui.ft.ccit.faculty.transaksi.barang;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ui.ft.ccit.faculty.transaksi.InvalidDataException;
+import ui.ft.ccit.faculty.transaksi.barang.model.Barang;
+import ui.ft.ccit.faculty.transaksi.barang.model.BarangRepository;
+import ui.ft.ccit.faculty.transaksi.barang.view.BarangService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// PUT /api/barang/bulk: validasi dan default sama dengan import CSV
+@SpringBootTest
+@ActiveProfiles("local")
+class BarangUpsertTest {
+
+        @Autowired
+        private BarangService barangService;
+
+        @Autowired
+        private BarangRepository barangRepository;
+
+        @Test
+        void persenLabaKosongMemakaiDefault() {
+                barangService.upsertBulk(List.of(
+                                new Barang("U001", "Barang Upsert", (short) 10, 1000.0, null, null, (byte) 103, "S003")));
+
+                Barang saved = barangRepository.findById("U001").orElseThrow();
+                assertThat(saved.getPersenLaba()).isEqualTo(5.0);
+                assertThat(saved.getDiskon()).isEqualTo(0.0);
+        }
+
+        @Test
+        void barangBaruTanpaStokDitolak() {
+                assertThatThrownBy(() -> barangService.upsertBulk(List.of(
+                                new Barang("U001", "Barang Upsert", null, 1000.0, 5.0, 0.0, (byte) 103, "S003"))))
+                                .isInstanceOf(InvalidDataException.class);
+
+                assertThat(barangRepository.existsById("U001")).isFalse();
+        }
+
+        @Test
+        void namaAtauHargaKosongDitolak() {
+                assertThatThrownBy(() -> barangService.upsertBulk(List.of(
+                                new Barang("U001", null, (short) 10, 1000.0, 5.0, 0.0, (byte) 103, "S003"))))
+                                .isInstanceOf(InvalidDataException.class);
+                assertThatThrownBy(() -> barangService.upsertBulk(List.of(
+                                new Barang("U001", "Barang Upsert", (short) 10, null, 5.0, 0.0, (byte) 103, "S003"))))
+                                .isInstanceOf(InvalidDataException.class);
+        }
+
+        @Test
+        void barangLamaTanpaStokMempertahankanStok() {
+                barangService.upsertBulk(List.of(
+                                new Barang("U001", "Barang Upsert", (short) 10, 1000.0, 5.0, 0.0, (byte) 103, "S003")));
+
+                barangService.upsertBulk(List.of(
+                                new Barang("U001", "Barang Upsert 2", null, 2000.0, 5.0, 0.0, (byte) 103, "S003")));
+
+                Barang saved = barangRepository.findById("U001").orElseThrow();
+                assertThat(saved.getStok()).isEqualTo((short) 10);
+                assertThat(saved.getHarga()).isEqualTo(2000.0);
+        }
+
+        @AfterEach
+        void tearDown() {
+                if (barangRepository.existsById("U001")) {
+                        barangService.delete("U001");
+                }
+        }
+}
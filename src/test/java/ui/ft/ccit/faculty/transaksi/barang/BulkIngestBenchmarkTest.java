@@ -0,0 +1,103 @@
+package ui.ft.ccit.faculty.transaksi.barang;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ui.ft.ccit.faculty.transaksi.BulkIngestor;
+import ui.ft.ccit.faculty.transaksi.barang.model.Barang;
+import ui.ft.ccit.faculty.transaksi.barang.model.BarangRepository;
+import ui.ft.ccit.faculty.transaksi.barang.view.BarangService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Benchmark: BarangService.saveBulk dan upsertBulk (jalur BulkIngestor) untuk 1k / 10k / 100k baris.
+// Jalankan dengan: mvn test -Pbenchmark  (butuh MySQL local + data penjualan.sql)
+@SpringBootTest
+@ActiveProfiles("local")
+@Tag("benchmark")
+class BulkIngestBenchmarkTest {
+
+        @Autowired
+        private BarangService barangService;
+
+        @Autowired
+        private BarangRepository barangRepository;
+
+        private final List<String> ids = new ArrayList<>();
+
+        @ParameterizedTest
+        @ValueSource(ints = { 1_000, 10_000, 100_000 })
+        void saveBulk_rowsPerSecond(int rows) {
+                List<Barang> batch = new ArrayList<>(rows);
+                for (int i = 0; i < rows; i++) {
+                        String id = benchId(i);
+                        ids.add(id);
+                        batch.add(new Barang(id, "Bench " + i, (short) 100, 1000.0, 5.0, 0.0, (byte) 101, "S001"));
+                }
+
+                long start = System.nanoTime();
+                barangService.saveBulk(batch);
+                long elapsed = System.nanoTime() - start;
+
+                System.out.printf("[bulk-ingest-benchmark] %,7d baris: %8.1f ms, %,10.0f baris/detik%n",
+                                rows, elapsed / 1e6, rows / (elapsed / 1e9));
+
+                assertThat(barangRepository.countByIdBarangIn(ids.subList(0, Math.min(rows, 1000))))
+                                .isEqualTo(Math.min(rows, 1000));
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = { 1_000, 10_000, 100_000 })
+        void upsertBulk_insertLaluTimpa(int rows) {
+                List<Barang> batch = new ArrayList<>(rows);
+                for (int i = 0; i < rows; i++) {
+                        String id = benchId(i);
+                        ids.add(id);
+                        batch.add(new Barang(id, "Bench " + i, (short) 100, 1000.0, 5.0, 0.0, (byte) 101, "S001"));
+                }
+
+                long start = System.nanoTime();
+                BulkIngestor.UpsertResult inserted = barangService.upsertBulk(batch);
+                long insertNanos = System.nanoTime() - start;
+
+                // sinkronisasi harga: semua baris sudah ada, stok tidak dikirim (tidak ditimpa)
+                for (Barang barang : batch) {
+                        barang.setHarga(2000.0);
+                        barang.setStok(null);
+                }
+                start = System.nanoTime();
+                BulkIngestor.UpsertResult updated = barangService.upsertBulk(batch);
+                long updateNanos = System.nanoTime() - start;
+
+                System.out.printf("[bulk-upsert-benchmark] %,7d baris: insert %8.1f ms, update %8.1f ms (%,10.0f baris/detik)%n",
+                                rows, insertNanos / 1e6, updateNanos / 1e6, rows / (updateNanos / 1e9));
+
+                assertThat(inserted.getInserted()).isEqualTo(rows);
+                assertThat(updated.getUpdated()).isEqualTo(rows);
+                Barang first = barangRepository.findById(benchId(0)).orElseThrow();
+                assertThat(first.getHarga()).isEqualTo(2000.0);
+                assertThat(first.getStok()).isEqualTo((short) 100);
+        }
+
+        // id_barang char(4): base36 dengan digit di depan supaya tidak bentrok dengan data seed (B001 dst)
+        private static String benchId(int n) {
+                String s = Integer.toString(n, 36).toUpperCase();
+                return "0".repeat(4 - s.length()) + s;
+        }
+
+        @AfterEach
+        void tearDown() {
+                for (int from = 0; from < ids.size(); from += 1000) {
+                        barangRepository.deleteAllByIdInBatch(ids.subList(from, Math.min(from + 1000, ids.size())));
+                }
+                ids.clear();
+        }
+}
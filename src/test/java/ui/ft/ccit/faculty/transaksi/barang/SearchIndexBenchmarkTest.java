@@ -0,0 +1,110 @@
+package ui.ft.ccit.faculty.transaksi.barang;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ui.ft.ccit.faculty.transaksi.barang.model.Barang;
+import ui.ft.ccit.faculty.transaksi.barang.model.BarangRepository;
+import ui.ft.ccit.faculty.transaksi.barang.view.BarangService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Benchmark: /search barang lewat index trigram vs LIKE '%q%' (baseline) pada 1M baris.
+// Jalankan dengan: mvn test -Pbenchmark  (butuh MySQL local + data penjualan.sql)
+@SpringBootTest
+@ActiveProfiles("local")
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SearchIndexBenchmarkTest {
+
+        private static final int ROWS = 1_000_000;
+        private static final int CHUNK = 50_000;
+        private static final int ROUNDS = 20;
+        private static final int DELETE_CHUNK = 100;
+
+        private static final String[] WORDS = {
+                        "sabun", "beras", "minyak", "gula", "kopi", "teh", "susu", "roti",
+                        "mie", "kecap", "saus", "garam", "tepung", "telur", "air", "snack" };
+
+        private static final String[] QUERIES = { "kopi", "abun", "susu roti", "tepung telur 42", "zzz" };
+
+        @Autowired
+        private BarangService barangService;
+
+        @Autowired
+        private BarangRepository barangRepository;
+
+        private final List<String> ids = new ArrayList<>(ROWS);
+
+        @BeforeAll
+        void seed() {
+                for (int from = 0; from < ROWS; from += CHUNK) {
+                        List<Barang> batch = new ArrayList<>(CHUNK);
+                        for (int i = from; i < Math.min(from + CHUNK, ROWS); i++) {
+                                String id = benchId(i);
+                                ids.add(id);
+                                batch.add(new Barang(id, benchNama(i), (short) 100, 1000.0, 5.0, 0.0, (byte) 101, "S001"));
+                        }
+                        // saveBulk juga mengisi index setelah commit
+                        barangService.saveBulk(batch);
+                }
+        }
+
+        @Test
+        void search_indexVsLike() {
+                for (String q : QUERIES) {
+                        // warm-up
+                        barangService.searchByNama(q, 50);
+                        barangRepository.findByNamaContainingIgnoreCase(q);
+
+                        long start = System.nanoTime();
+                        List<Barang> indexed = List.of();
+                        for (int r = 0; r < ROUNDS; r++) {
+                                indexed = barangService.searchByNama(q, 50);
+                        }
+                        double indexMs = (System.nanoTime() - start) / 1e6 / ROUNDS;
+
+                        start = System.nanoTime();
+                        List<Barang> like = List.of();
+                        for (int r = 0; r < ROUNDS; r++) {
+                                like = barangRepository.findByNamaContainingIgnoreCase(q);
+                        }
+                        double likeMs = (System.nanoTime() - start) / 1e6 / ROUNDS;
+
+                        System.out.printf("[search-benchmark] q=%-16s index: %8.2f ms (%2d hasil)  LIKE: %8.2f ms (%,7d hasil)%n",
+                                        "'" + q + "'", indexMs, indexed.size(), likeMs, like.size());
+
+                        assertThat(indexed).hasSize(Math.min(50, like.size()));
+                        assertThat(indexed).allMatch(b -> b.getNama().toLowerCase().contains(q));
+                }
+        }
+
+        // id_barang char(4): karakter pertama digit atau C..S (bukan B, prefix data seed), sisanya base36
+        private static String benchId(int n) {
+                String first = "0123456789CDEFGHIJKLMNOPQRS";
+                String rest = Integer.toString(n % 46_656, 36).toUpperCase();
+                return first.charAt(n / 46_656) + "0".repeat(3 - rest.length()) + rest;
+        }
+
+        private static String benchNama(int n) {
+                return WORDS[n % WORDS.length] + " " + WORDS[(n / WORDS.length) % WORDS.length] + " " + (n % 1000);
+        }
+
+        // lewat service supaya ikut keluar dari index; deleteBulk maksimal 100 ID per panggilan
+        @AfterAll
+        void tearDown() {
+                for (int from = 0; from < ids.size(); from += DELETE_CHUNK) {
+                        barangService.deleteBulk(ids.subList(from, Math.min(from + DELETE_CHUNK, ids.size())));
+                }
+                ids.clear();
+        }
+}
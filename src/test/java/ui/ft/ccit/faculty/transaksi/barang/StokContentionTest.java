@@ -0,0 +1,139 @@
+package ui.ft.ccit.faculty.transaksi.barang;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ui.ft.ccit.faculty.transaksi.barang.model.Barang;
+import ui.ft.ccit.faculty.transaksi.barang.model.BarangRepository;
+import ui.ft.ccit.faculty.transaksi.barang.model.ReservasiStokRequest;
+import ui.ft.ccit.faculty.transaksi.barang.view.BarangService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Uji kontensi: banyak "kasir" mereservasi barang yang sama bersamaan.
+// Membuktikan stok tidak pernah oversold dan reservasi multi-barang tidak deadlock.
+// Jalankan dengan: mvn test -Pbenchmark  (butuh MySQL local + data penjualan.sql)
+@SpringBootTest
+@ActiveProfiles("local")
+@Tag("benchmark")
+class StokContentionTest {
+
+        private static final int THREADS = 32;
+        private static final short STOK_AWAL = 1000;
+
+        @Autowired
+        private BarangService barangService;
+
+        @Autowired
+        private BarangRepository barangRepository;
+
+        private final List<String> barangIds = List.of("Y001", "Y002", "Y003", "Y004");
+
+        @BeforeEach
+        void setUp() {
+                for (String id : barangIds) {
+                        barangRepository.save(new Barang(id, "Contention " + id, STOK_AWAL, 1000.0, 5.0, 0.0,
+                                        (byte) 101, "S001"));
+                }
+        }
+
+        @Test
+        void reserveSatuBarang_tidakOversold() throws Exception {
+                List<ReservasiStokRequest.Item> items = List.of(new ReservasiStokRequest.Item("Y001", (short) 1));
+
+                Result r = hammer(() -> new ReservasiStokRequest(items));
+                report("1 barang", r);
+
+                assertThat(r.errors).isEmpty();
+                assertThat(r.sukses.get()).isEqualTo(STOK_AWAL);
+                assertThat(barangRepository.findById("Y001").orElseThrow().getStok()).isEqualTo((short) 0);
+        }
+
+        @Test
+        void reserveMultiBarang_urutanAcak_tidakDeadlock() throws Exception {
+                // setiap request mengirim item dalam urutan acak; service tetap mengunci urut idBarang
+                Result r = hammer(() -> {
+                        List<ReservasiStokRequest.Item> items = new ArrayList<>();
+                        for (String id : barangIds.subList(1, 4)) {
+                                items.add(new ReservasiStokRequest.Item(id, (short) 1));
+                        }
+                        Collections.shuffle(items, ThreadLocalRandom.current());
+                        return new ReservasiStokRequest(items);
+                });
+                report("3 barang", r);
+
+                assertThat(r.errors).isEmpty();
+                assertThat(r.sukses.get()).isEqualTo(STOK_AWAL);
+                for (String id : barangIds.subList(1, 4)) {
+                        assertThat(barangRepository.findById(id).orElseThrow().getStok()).isEqualTo((short) 0);
+                }
+        }
+
+        // semua thread mereservasi terus sampai stok habis (IllegalStateException = 409)
+        private Result hammer(Supplier<ReservasiStokRequest> request) throws Exception {
+                Result r = new Result();
+                ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+                CountDownLatch start = new CountDownLatch(1);
+
+                for (int t = 0; t < THREADS; t++) {
+                        pool.submit(() -> {
+                                start.await();
+                                while (true) {
+                                        try {
+                                                barangService.reserveStok(request.get());
+                                                r.sukses.incrementAndGet();
+                                        } catch (IllegalStateException habis) {
+                                                r.ditolak.incrementAndGet();
+                                                return null;
+                                        } catch (RuntimeException e) {
+                                                r.errors.add(e);
+                                                return null;
+                                        }
+                                }
+                        });
+                }
+
+                long t0 = System.nanoTime();
+                start.countDown();
+                pool.shutdown();
+                assertThat(pool.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+                r.nanos = System.nanoTime() - t0;
+                return r;
+        }
+
+        private void report(String label, Result r) {
+                System.out.printf("[stok-contention] %s, %d thread: %,d reservasi dalam %.1f ms (%,.0f/detik), %d ditolak, %d error%n",
+                                label, THREADS, r.sukses.get(), r.nanos / 1e6, r.sukses.get() / (r.nanos / 1e9),
+                                r.ditolak.get(), r.errors.size());
+        }
+
+        private static class Result {
+                final AtomicInteger sukses = new AtomicInteger();
+                final AtomicInteger ditolak = new AtomicInteger();
+                final Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+                long nanos;
+        }
+
+        @AfterEach
+        void tearDown() {
+                barangRepository.deleteAllById(barangIds);
+        }
+}
@@ -0,0 +1,151 @@
+package ui.ft.ccit.faculty.transaksi.deletejob;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import ui.ft.ccit.faculty.transaksi.deletejob.model.DeleteJob;
+import ui.ft.ccit.faculty.transaksi.deletejob.view.DeleteJobService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Offline: transaksi per chunk dicatat oleh transaction manager palsu, "DELETE" dicatat di list.
+class DeleteJobServiceTest {
+
+        private final AtomicInteger commits = new AtomicInteger();
+        private final AtomicInteger rollbacks = new AtomicInteger();
+
+        private final PlatformTransactionManager txManager = new PlatformTransactionManager() {
+                @Override
+                public TransactionStatus getTransaction(TransactionDefinition definition) {
+                        return new SimpleTransactionStatus();
+                }
+
+                @Override
+                public void commit(TransactionStatus status) {
+                        commits.incrementAndGet();
+                }
+
+                @Override
+                public void rollback(TransactionStatus status) {
+                        rollbacks.incrementAndGet();
+                }
+        };
+
+        private final DeleteJobService service = new DeleteJobService(txManager, 100, 1, 10);
+
+        @AfterEach
+        void tearDown() {
+                service.shutdown();
+        }
+
+        @Test
+        void dihapusPerChunkDenganSatuTransaksiPerChunk() throws Exception {
+                List<List<String>> chunks = new CopyOnWriteArrayList<>();
+                DeleteJob job = service.submit("barang", ids(1050), chunk -> chunks.add(List.copyOf(chunk)));
+
+                awaitFinished(job);
+
+                assertThat(job.getStatus()).isEqualTo(DeleteJob.Status.COMPLETED);
+                assertThat(job.getProcessed()).isEqualTo(1050);
+                assertThat(job.getProgress()).isEqualTo(100.0);
+                assertThat(chunks).hasSize(11);
+                assertThat(chunks.get(10)).hasSize(50);
+                assertThat(commits).hasValue(11);
+        }
+
+        @Test
+        void dibatalkanDiAntaraChunk() throws Exception {
+                CountDownLatch firstChunk = new CountDownLatch(1);
+                CountDownLatch cancelled = new CountDownLatch(1);
+                DeleteJob job = service.submit("barang", ids(1000), chunk -> {
+                        firstChunk.countDown();
+                        await(cancelled);
+                });
+
+                assertThat(firstChunk.await(5, TimeUnit.SECONDS)).isTrue();
+                service.cancel(job.getId());
+                cancelled.countDown();
+                awaitFinished(job);
+
+                assertThat(job.getStatus()).isEqualTo(DeleteJob.Status.CANCELLED);
+                assertThat(job.getProcessed()).isEqualTo(100);
+        }
+
+        @Test
+        void chunkGagalDiRollbackDanJobBerhenti() throws Exception {
+                AtomicInteger calls = new AtomicInteger();
+                DeleteJob job = service.submit("barang", ids(300), chunk -> {
+                        if (calls.incrementAndGet() == 2) {
+                                throw new IllegalStateException("lock wait timeout");
+                        }
+                });
+
+                awaitFinished(job);
+
+                assertThat(job.getStatus()).isEqualTo(DeleteJob.Status.FAILED);
+                assertThat(job.getProcessed()).isEqualTo(100);
+                assertThat(job.getError()).contains("lock wait timeout");
+                assertThat(rollbacks).hasValue(1);
+                assertThat(calls).hasValue(2);
+        }
+
+        @Test
+        void turunanDihapusPerChunkSebelumInduk() throws Exception {
+                // 250 baris turunan per chunk induk, dihapus maksimal 100 per transaksi
+                Map<List<String>, AtomicInteger> sisa = new ConcurrentHashMap<>();
+                List<String> urutan = new CopyOnWriteArrayList<>();
+                DeleteJob job = service.submit("pemasok", ids(200), (chunk, limit) -> {
+                        int left = sisa.computeIfAbsent(List.copyOf(chunk), c -> new AtomicInteger(250)).get();
+                        int deleted = Math.min(limit, left);
+                        sisa.get(chunk).addAndGet(-deleted);
+                        urutan.add("turunan:" + deleted);
+                        return deleted;
+                }, chunk -> urutan.add("induk:" + chunk.size()));
+
+                awaitFinished(job);
+
+                assertThat(job.getStatus()).isEqualTo(DeleteJob.Status.COMPLETED);
+                assertThat(job.getDependentsDeleted()).isEqualTo(500);
+                assertThat(urutan).containsExactly(
+                                "turunan:100", "turunan:100", "turunan:50", "turunan:0", "induk:100",
+                                "turunan:100", "turunan:100", "turunan:50", "turunan:0", "induk:100");
+                // 6 potong turunan + 2 induk + 2 pengecekan terakhir yang tidak menghapus apa pun
+                assertThat(commits).hasValue(10);
+        }
+
+        private static List<String> ids(int n) {
+                List<String> ids = new ArrayList<>(n);
+                IntStream.range(0, n).forEach(i -> ids.add(String.format("%04d", i)));
+                return ids;
+        }
+
+        private static void await(CountDownLatch latch) {
+                try {
+                        latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                }
+        }
+
+        private static void awaitFinished(DeleteJob job) throws InterruptedException {
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (!job.isFinished() && System.nanoTime() < deadline) {
+                        Thread.sleep(5);
+                }
+                assertThat(job.isFinished()).as("job selesai").isTrue();
+        }
+}
@@ -0,0 +1,129 @@
+package ui.ft.ccit.faculty.transaksi.detailtransaksi;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import ui.ft.ccit.faculty.transaksi.InvalidDataException;
+import ui.ft.ccit.faculty.transaksi.KeysetCursor;
+import ui.ft.ccit.faculty.transaksi.KeysetPage;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksi;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksiRepository;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.view.DetailTransaksiService;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Keyset pagination detail transaksi terhadap data seed (J001: B001, B002, B003; J002: B001; J003: B001, B005; ...)
+@SpringBootTest
+@ActiveProfiles("local")
+class DetailTransaksiKeysetTest {
+
+        @Autowired
+        private DetailTransaksiService detailTransaksiService;
+
+        @Autowired
+        private DetailTransaksiRepository detailTransaksiRepository;
+
+        @Autowired
+        private EntityManager entityManager;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private WebApplicationContext context;
+
+        @Test
+        void seekMelewatiBatasKodeTransaksi() {
+                // akhir J001 -> lanjut ke J002, bukan id_barang > B003 di semua transaksi
+                assertThat(keys(detailTransaksiService.getPageAfter(KeysetCursor.encode("J001", "B003"), 2).getItems()))
+                                .containsExactly("J002/B001", "J003/B001");
+                // di tengah J003 -> sisa J003 dulu
+                assertThat(keys(detailTransaksiService.getPageAfter(KeysetCursor.encode("J003", "B001"), 2).getItems()))
+                                .containsExactly("J003/B005", "J004/B004");
+        }
+
+        @Test
+        void cursorBolakBalikMenelusuriSemuaBarisTanpaDuplikat() {
+                List<String> expected = keys(detailTransaksiRepository.findAll().stream()
+                                .sorted(Comparator.comparing(DetailTransaksi::getKodeTransaksi)
+                                                .thenComparing(DetailTransaksi::getIdBarang))
+                                .toList());
+
+                List<String> seen = new ArrayList<>();
+                String cursor = "";
+                do {
+                        KeysetPage<DetailTransaksi> page = detailTransaksiService.getPageAfter(cursor, 4);
+                        assertThat(page.getItems()).hasSizeLessThanOrEqualTo(4);
+                        seen.addAll(keys(page.getItems()));
+                        cursor = page.getNextCursor();
+                } while (cursor != null);
+
+                assertThat(seen).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        void endpointMengembalikanNextCursorYangBisaDikirimUlang() throws Exception {
+                MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+                String body = mockMvc.perform(get("/api/detail-transaksi").param("cursor", "").param("size", "3"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items", hasSize(3)))
+                                .andExpect(jsonPath("$.items[0].kodeTransaksi").value("J001"))
+                                .andExpect(jsonPath("$.items[2].idBarang").value("B003"))
+                                .andReturn()
+                                .getResponse()
+                                .getContentAsString();
+                JsonNode page = objectMapper.readTree(body);
+
+                mockMvc.perform(get("/api/detail-transaksi")
+                                .param("cursor", page.get("nextCursor").asString())
+                                .param("size", "3"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items[0].kodeTransaksi").value("J002"))
+                                .andExpect(jsonPath("$.items[0].idBarang").value("B001"));
+
+                mockMvc.perform(get("/api/detail-transaksi").param("cursor", "bukan-cursor!"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void cursorDenganJumlahBagianSalahDitolak() {
+                assertThatThrownBy(() -> detailTransaksiService.getPageAfter(KeysetCursor.encode("J001"), 2))
+                                .isInstanceOf(InvalidDataException.class);
+        }
+
+        @Test
+        @Transactional
+        void queryKeysetMemakaiIndexPrimary() {
+                // kolom EXPLAIN: id, select_type, table, partitions, type, possible_keys, key, ...
+                Object[] plan = (Object[]) entityManager.createNativeQuery("EXPLAIN SELECT * FROM detail_transaksi "
+                                + "WHERE kode_transaksi > 'J003' OR (kode_transaksi = 'J003' AND id_barang > 'B001') "
+                                + "ORDER BY kode_transaksi, id_barang LIMIT 5")
+                                .getSingleResult();
+
+                assertThat(plan[6]).hasToString("PRIMARY");
+                assertThat(String.valueOf(plan[4])).isIn("range", "index");
+        }
+
+        private static List<String> keys(List<DetailTransaksi> rows) {
+                return rows.stream().map(d -> d.getKodeTransaksi() + "/" + d.getIdBarang()).toList();
+        }
+}
@@ -0,0 +1,79 @@
+package ui.ft.ccit.faculty.transaksi.detailtransaksi;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ui.ft.ccit.faculty.transaksi.BulkIngestor;
+import ui.ft.ccit.faculty.transaksi.InvalidDataException;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksi;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksi.DetailTransaksiId;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksiRepository;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.view.DetailTransaksiService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// PUT /api/detail-transaksi/bulk?mode=...: seed J001-B001 jumlah 5, J001-B013 belum ada
+@SpringBootTest
+@ActiveProfiles("local")
+class DetailTransaksiUpsertTest {
+
+        private static final DetailTransaksiId LAMA = new DetailTransaksiId("J001", "B001");
+        private static final DetailTransaksiId BARU = new DetailTransaksiId("J001", "B013");
+
+        @Autowired
+        private DetailTransaksiService detailTransaksiService;
+
+        @Autowired
+        private DetailTransaksiRepository detailTransaksiRepository;
+
+        @Test
+        void modeReplaceMenimpaJumlah() {
+                BulkIngestor.UpsertResult result = detailTransaksiService.upsertBulk(List.of(
+                                new DetailTransaksi("J001", "B001", (short) 2),
+                                new DetailTransaksi("J001", "B013", (short) 1)), "replace");
+
+                assertThat(result.getInserted()).isEqualTo(1);
+                assertThat(result.getUpdated()).isEqualTo(1);
+                assertThat(jumlah(LAMA)).isEqualTo((short) 2);
+                assertThat(jumlah(BARU)).isEqualTo((short) 1);
+        }
+
+        @Test
+        void modeIncrementMenambahJumlah() {
+                BulkIngestor.UpsertResult result = detailTransaksiService.upsertBulk(List.of(
+                                new DetailTransaksi("J001", "B001", (short) 2),
+                                new DetailTransaksi("J001", "B013", (short) 1)), "increment");
+
+                assertThat(result.getInserted()).isEqualTo(1);
+                assertThat(result.getUpdated()).isEqualTo(1);
+                assertThat(jumlah(LAMA)).isEqualTo((short) 7);
+                assertThat(jumlah(BARU)).isEqualTo((short) 1);
+        }
+
+        @Test
+        void modeTidakDikenalDitolak() {
+                assertThatThrownBy(() -> detailTransaksiService.upsertBulk(
+                                List.of(new DetailTransaksi("J001", "B001", (short) 2)), "tambah"))
+                                .isInstanceOf(InvalidDataException.class);
+
+                assertThat(jumlah(LAMA)).isEqualTo((short) 5);
+        }
+
+        private Short jumlah(DetailTransaksiId id) {
+                return detailTransaksiRepository.findById(id).orElseThrow().getJumlah();
+        }
+
+        @AfterEach
+        void tearDown() {
+                detailTransaksiRepository.save(new DetailTransaksi(LAMA, (short) 5));
+                if (detailTransaksiRepository.existsById(BARU)) {
+                        detailTransaksiRepository.deleteById(BARU);
+                }
+        }
+}
@@ -0,0 +1,113 @@
+package ui.ft.ccit.faculty.transaksi.transaksi;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ui.ft.ccit.faculty.transaksi.barang.model.Barang;
+import ui.ft.ccit.faculty.transaksi.barang.model.BarangRepository;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.model.DetailTransaksi;
+import ui.ft.ccit.faculty.transaksi.detailtransaksi.view.DetailTransaksiService;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.CheckoutRequest;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.Transaksi;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.TransaksiRepository;
+import ui.ft.ccit.faculty.transaksi.transaksi.view.TransaksiService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Benchmark: alur lama (header + 1 save per baris) vs POST /checkout.
+// Jalankan dengan: mvn test -Pbenchmark  (butuh MySQL local + data penjualan.sql)
+@SpringBootTest
+@ActiveProfiles("local")
+@Tag("benchmark")
+class CheckoutBenchmarkTest {
+
+        private static final int LINES = 20;
+        private static final int ROUNDS = 50;
+
+        @Autowired
+        private TransaksiService transaksiService;
+
+        @Autowired
+        private DetailTransaksiService detailTransaksiService;
+
+        @Autowired
+        private TransaksiRepository transaksiRepository;
+
+        @Autowired
+        private BarangRepository barangRepository;
+
+        private final List<String> barangIds = new ArrayList<>();
+        private final List<String> kodeTransaksi = new ArrayList<>();
+
+        @BeforeEach
+        void setUp() {
+                for (int i = 1; i <= LINES; i++) {
+                        String id = String.format("X%03d", i);
+                        barangIds.add(id);
+                        barangRepository.save(new Barang(id, "Bench " + i, Short.MAX_VALUE, 1000.0, 5.0, 0.0,
+                                        (byte) 101, "S001"));
+                }
+        }
+
+        @Test
+        void checkout_vsPerLineFlow() {
+                // pemanasan supaya JIT & pool koneksi tidak ikut terukur
+                runPerLine("W", 5);
+                runCheckout("V", 5);
+
+                long perLineNanos = runPerLine("Y", ROUNDS);
+                long checkoutNanos = runCheckout("Z", ROUNDS);
+
+                System.out.printf("[checkout-benchmark] %d baris x %d transaksi%n", LINES, ROUNDS);
+                System.out.printf("  per-baris : %8.2f ms/transaksi%n", perLineNanos / 1e6 / ROUNDS);
+                System.out.printf("  checkout  : %8.2f ms/transaksi%n", checkoutNanos / 1e6 / ROUNDS);
+                System.out.printf("  speedup   : %8.2fx%n", (double) perLineNanos / checkoutNanos);
+
+                // stok berkurang hanya lewat checkout (alur lama tidak menyentuh stok)
+                Barang b = barangRepository.findById(barangIds.get(0)).orElseThrow();
+                assertThat(b.getStok()).isEqualTo((short) (Short.MAX_VALUE - (5 + ROUNDS)));
+        }
+
+        private long runPerLine(String prefix, int rounds) {
+                long start = System.nanoTime();
+                for (int r = 0; r < rounds; r++) {
+                        String kode = String.format("%s%03d", prefix, r);
+                        kodeTransaksi.add(kode);
+                        transaksiService.save(new Transaksi(kode, LocalDateTime.now(), "P001", "K001"));
+                        for (String idBarang : barangIds) {
+                                detailTransaksiService.save(new DetailTransaksi(kode, idBarang, (short) 1));
+                        }
+                }
+                return System.nanoTime() - start;
+        }
+
+        private long runCheckout(String prefix, int rounds) {
+                long start = System.nanoTime();
+                for (int r = 0; r < rounds; r++) {
+                        String kode = String.format("%s%03d", prefix, r);
+                        kodeTransaksi.add(kode);
+                        List<CheckoutRequest.Item> items = new ArrayList<>();
+                        for (String idBarang : barangIds) {
+                                items.add(new CheckoutRequest.Item(idBarang, (short) 1));
+                        }
+                        transaksiService.checkout(new CheckoutRequest(kode, null, "P001", "K001", items));
+                }
+                return System.nanoTime() - start;
+        }
+
+        @AfterEach
+        void tearDown() {
+                // detail ikut terhapus lewat ON DELETE CASCADE
+                transaksiRepository.deleteAllById(kodeTransaksi);
+                barangRepository.deleteAllById(barangIds);
+        }
+}
@@ -0,0 +1,120 @@
+package ui.ft.ccit.faculty.transaksi.transaksi;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import ui.ft.ccit.faculty.transaksi.DataNotFoundException;
+import ui.ft.ccit.faculty.transaksi.InvalidDataException;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.Invoice;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.Transaksi;
+import ui.ft.ccit.faculty.transaksi.transaksi.model.TransaksiRepository;
+import ui.ft.ccit.faculty.transaksi.transaksi.view.TransaksiService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Total nota dari data seed. J002 = 2 x B001 (harga 3500, laba 5%, diskon 10%):
+//   harga jual 3500 x 1.05 = 3675, subtotal 7350, diskon 735, total 6615
+@SpringBootTest
+@ActiveProfiles("local")
+class InvoiceTest {
+
+        @Autowired
+        private TransaksiService transaksiService;
+
+        @Autowired
+        private TransaksiRepository transaksiRepository;
+
+        @Autowired
+        private WebApplicationContext context;
+
+        @Test
+        void totalDihitungDariHargaJualDanDiskon() {
+                Invoice invoice = transaksiService.getInvoice("J002");
+
+                assertThat(invoice.getIdPelanggan()).isEqualTo("P002");
+                assertThat(invoice.getJumlahBaris()).isEqualTo(1);
+                assertThat(invoice.getJumlahBarang()).isEqualTo(2);
+                assertThat(invoice.getSubtotal()).isCloseTo(7350.0, within(0.001));
+                assertThat(invoice.getTotalDiskon()).isCloseTo(735.0, within(0.001));
+                assertThat(invoice.getTotal()).isCloseTo(6615.0, within(0.001));
+        }
+
+        @Test
+        void transaksiTanpaDetailBernilaiNol() {
+                transaksiRepository.save(new Transaksi("V001", LocalDateTime.of(2024, 1, 2, 10, 0), "P001", "K001"));
+
+                Invoice invoice = transaksiService.getInvoice("V001");
+
+                assertThat(invoice.getJumlahBaris()).isZero();
+                assertThat(invoice.getJumlahBarang()).isZero();
+                assertThat(invoice.getSubtotal()).isZero();
+                assertThat(invoice.getTotalDiskon()).isZero();
+                assertThat(invoice.getTotal()).isZero();
+        }
+
+        @Test
+        void kodeTidakAdaDiLewatiDanUrutanMengikutiRequest() {
+                List<Invoice> invoices = transaksiService.getInvoices(List.of("J003", "X999", "J001", " J003 ", ""));
+
+                assertThat(invoices).extracting(Invoice::getKodeTransaksi).containsExactly("J003", "J001");
+                assertThatThrownBy(() -> transaksiService.getInvoice("X999"))
+                                .isInstanceOf(DataNotFoundException.class);
+        }
+
+        @Test
+        void maksimal1000Kode() {
+                List<String> kode = new ArrayList<>();
+                IntStream.rangeClosed(1, 1001).forEach(i -> kode.add(String.format("Z%04d", i)));
+
+                assertThatThrownBy(() -> transaksiService.getInvoices(kode))
+                                .isInstanceOf(InvalidDataException.class);
+                assertThat(transaksiService.getInvoices(kode.subList(0, 1000))).isEmpty();
+                assertThatThrownBy(() -> transaksiService.getInvoices(List.of(" ")))
+                                .isInstanceOf(InvalidDataException.class);
+        }
+
+        @Test
+        void endpointInvoiceBanyakKode() throws Exception {
+                MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+                mockMvc.perform(get("/api/transaksi/invoice").param("kode", "J002,X999,J001"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$", hasSize(2)))
+                                .andExpect(jsonPath("$[0].kodeTransaksi").value("J002"))
+                                .andExpect(jsonPath("$[0].total").value(closeTo(6615.0, 0.001)))
+                                .andExpect(jsonPath("$[1].kodeTransaksi").value("J001"));
+
+                mockMvc.perform(get("/api/transaksi/J002/invoice"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.subtotal").value(closeTo(7350.0, 0.001)));
+                mockMvc.perform(get("/api/transaksi/X999/invoice"))
+                                .andExpect(status().isNotFound());
+                mockMvc.perform(get("/api/transaksi/invoice").param("kode", ""))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @AfterEach
+        void tearDown() {
+                if (transaksiRepository.existsById("V001")) {
+                        transaksiRepository.deleteById("V001");
+                }
+        }
+}